@@ -1,5 +1,8 @@
 package com.ecommerce.project.config;
 
+import java.util.List;
+import java.util.Map;
+
 //Bu sınıf,uygulama genelinde kullanılacak sabit değerleri gösterir(constants)
 
 
@@ -18,4 +21,19 @@ public class AppConstants {
 
     // Sıralamanın hangi yönde yapılacağını belirler. "asc" değeri, artan (ascending) sırayı temsil eder.
     public static final String SORT_DIR = "asc";
+
+    // Ürün görsellerinin sunulduğu adres. Orijinal: /images/{dosya}, küçük resim: /images/thumbs/{boyut}/{dosya}
+    public static final String IMAGE_BASE_URL = "/images/";
+
+    // Yüklenen her görsel için üretilen küçük resimlerin (thumbnail) en uzun kenar boyutları (piksel).
+    public static final List<Integer> THUMBNAIL_SIZES = List.of(200, 600);
+
+    // Yüklenmesine ve sunulmasına izin verilen görsel uzantıları ve içerik tipleri. Sadece raster biçimler kabul edilir;
+    // SVG veya HTML gibi betik çalıştırabilen dosyalar aynı kökenden sunulursa depolanmış XSS'e yol açar.
+    public static final Map<String, String> IMAGE_CONTENT_TYPES = Map.of(
+            ".jpg", "image/jpeg",
+            ".jpeg", "image/jpeg",
+            ".png", "image/png",
+            ".gif", "image/gif",
+            ".webp", "image/webp");
 }
@@ -0,0 +1,70 @@
+package com.ecommerce.project.config;
+
+import com.ecommerce.project.payload.ExecutorStatsDTO;
+import com.ecommerce.project.security.services.PasswordHashingExecutor;
+import com.ecommerce.project.security.services.PrincipalCache;
+import com.ecommerce.project.service.CategoryCatalogCache;
+import com.ecommerce.project.service.ProductPageCache;
+import com.ecommerce.project.service.ThumbnailGenerator;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+// /api/admin/stats altındaki önbellek ve iş havuzu sayaçlarını Prometheus'a da yayınlar.
+// Önbellekler Micrometer'ın önbellek adlandırmasını kullanır (cache.gets{result=hit|miss}, cache.size, cache.evictions),
+// böylece Hibernate ikinci seviye önbellek metrikleriyle aynı panolarda gösterilebilir.
+// Değerler kaydedilmez; her okumada (scrape) mevcut sayaçlardan hesaplanır.
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder applicationCacheMetrics(PrincipalCache principalCache, CategoryCatalogCache categoryCatalogCache,
+                                               ProductPageCache productPageCache) {
+        return registry -> {
+            bindCache(registry, "principal", principalCache, PrincipalCache::size, PrincipalCache::getHitCount,
+                    PrincipalCache::getMissCount, PrincipalCache::getEvictionCount);
+            bindCache(registry, "category", categoryCatalogCache, CategoryCatalogCache::size, CategoryCatalogCache::getHitCount,
+                    CategoryCatalogCache::getMissCount, CategoryCatalogCache::getInvalidationCount);
+            bindCache(registry, "product-page", productPageCache, ProductPageCache::size, ProductPageCache::getHitCount,
+                    ProductPageCache::getMissCount, ProductPageCache::getEvictionCount);
+            FunctionCounter.builder("cache.loads", productPageCache, ProductPageCache::getLoadCount)
+                    .tag("cache", "product-page").register(registry);
+            FunctionCounter.builder("cache.loads", categoryCatalogCache, CategoryCatalogCache::getRebuildCount)
+                    .tag("cache", "category").register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder applicationExecutorMetrics(PasswordHashingExecutor passwordHashingExecutor,
+                                                  ThumbnailGenerator thumbnailGenerator) {
+        return registry -> {
+            bindExecutor(registry, "password-hashing", passwordHashingExecutor, PasswordHashingExecutor::stats);
+            bindExecutor(registry, "thumbnails", thumbnailGenerator, ThumbnailGenerator::stats);
+        };
+    }
+
+    private static <T> void bindCache(MeterRegistry registry, String name, T cache, ToDoubleFunction<T> size,
+                                      ToDoubleFunction<T> hits, ToDoubleFunction<T> misses, ToDoubleFunction<T> evictions) {
+        Gauge.builder("cache.size", cache, size).tag("cache", name).register(registry);
+        FunctionCounter.builder("cache.gets", cache, hits).tag("cache", name).tag("result", "hit").register(registry);
+        FunctionCounter.builder("cache.gets", cache, misses).tag("cache", name).tag("result", "miss").register(registry);
+        FunctionCounter.builder("cache.evictions", cache, evictions).tag("cache", name).register(registry);
+    }
+
+    // Micrometer ölçülen nesneyi zayıf referansla tutar; bu yüzden lambda değil, Spring'in tuttuğu bean verilir.
+    private static <T> void bindExecutor(MeterRegistry registry, String name, T executor, Function<T, ExecutorStatsDTO> stats) {
+        Gauge.builder("executor.pool.size", executor, e -> stats.apply(e).getPoolSize()).tag("name", name).register(registry);
+        Gauge.builder("executor.active", executor, e -> stats.apply(e).getActiveCount()).tag("name", name).register(registry);
+        Gauge.builder("executor.queued", executor, e -> stats.apply(e).getQueueDepth()).tag("name", name).register(registry);
+        Gauge.builder("executor.queue.capacity", executor, e -> stats.apply(e).getQueueCapacity()).tag("name", name).register(registry);
+        FunctionCounter.builder("executor.completed", executor, e -> stats.apply(e).getCompleted()).tag("name", name).register(registry);
+        FunctionCounter.builder("executor.rejected", executor, e -> stats.apply(e).getRejected()).tag("name", name).register(registry);
+        FunctionCounter.builder("executor.timed.out", executor, e -> stats.apply(e).getTimedOut()).tag("name", name).register(registry);
+    }
+}
@@ -0,0 +1,51 @@
+package com.ecommerce.project.config;
+
+import com.ecommerce.project.model.OrderItem;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// order_items tablosu IDENTITY'den sıraya (sequence) geçmeden önce oluşturulmuş bir MySQL veritabanında
+// order_items_seq tablosu 1 değeriyle başlar ve yeni sipariş satırları mevcut ID'lerle çakışır.
+// Uygulama açılırken, istek kabul edilmeden önce tablo değeri MAX(order_item_id) + allocationSize'a çekilir.
+// Hibernate'in pooled optimizasyonu okuduğu değeri bloğun en büyük ID'si olarak kullanır; bu yüzden +1 yetmez.
+// Değer sadece artırılır. Gerçek sıra destekleyen veritabanlarında (H2 gibi) bu tablo yoktur ve bir şey yapılmaz.
+@Component
+@DependsOn("entityManagerFactory") // Tablolar Hibernate (ddl-auto) tarafından oluşturulduktan sonra çalışır.
+public class OrderItemSequenceInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderItemSequenceInitializer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public OrderItemSequenceInitializer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void seed() {
+        Long current;
+        try {
+            current = transactionTemplate.execute(status ->
+                    jdbcTemplate.queryForObject("SELECT MAX(next_val) FROM order_items_seq", Long.class));
+        } catch (DataAccessException e) {
+            logger.debug("order_items_seq is not a table, nothing to seed: {}", e.getMessage());
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(order_item_id), 0) FROM order_items", Long.class);
+            long next = maxId + OrderItem.ID_ALLOCATION_SIZE;
+            if (jdbcTemplate.update("UPDATE order_items_seq SET next_val = ? WHERE next_val < ?", next, next) > 0) {
+                logger.info("Moved order_items_seq from {} to {} above existing order item ids", current, next);
+            }
+        });
+    }
+}
@@ -0,0 +1,91 @@
+package com.ecommerce.project.config;
+
+import com.ecommerce.project.model.Product;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+// products.normalized_name kolonu eklenmeden önce oluşturulmuş bir veritabanında eski ürünlerin anahtarı boştur ve
+// aynı isim kontrolü bu ürünleri görmez. Uygulama açılırken, istek kabul edilmeden önce boş anahtarlar
+// Product.normalizeName ile doldurulur. Satırlar ID sırasına göre parçalar halinde işlenir.
+// Aynı kategoride sadece büyük/küçük harf farkı olan eski ürünlerden ilki anahtarı alır; diğerleri benzersiz kısıtı
+// ihlal edeceği için boş bırakılır ve uyarı olarak yazılır. Bu ürünler yine de ilkiyle aynı isimde yeni ürün eklenmesini engeller.
+@Component
+@DependsOn("entityManagerFactory") // Kolon Hibernate (ddl-auto) tarafından eklendikten sonra çalışır.
+public class ProductNormalizedNameInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductNormalizedNameInitializer.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public ProductNormalizedNameInitializer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Satırın ID'si ve adı.
+    private record Row(long productId, String productName) {
+    }
+
+    @PostConstruct
+    public void backfill() {
+        long lastId = 0;
+        long updated = 0;
+        long skipped = 0;
+        while (true) {
+            long afterId = lastId;
+            List<Row> rows = transactionTemplate.execute(status -> jdbcTemplate.query(
+                    "SELECT product_id, product_name FROM products " +
+                            "WHERE normalized_name IS NULL AND product_name IS NOT NULL AND product_id > ? " +
+                            "ORDER BY product_id LIMIT " + BATCH_SIZE,
+                    (rs, rowNum) -> new Row(rs.getLong(1), rs.getString(2)), afterId));
+            if (rows == null || rows.isEmpty()) {
+                break;
+            }
+            lastId = rows.get(rows.size() - 1).productId();
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                        "UPDATE products SET normalized_name = ? WHERE product_id = ?",
+                        rows.stream().map(row -> new Object[] { Product.normalizeName(row.productName()), row.productId() })
+                                .toList()));
+                updated += rows.size();
+            } catch (DataIntegrityViolationException e) {
+                // Parçada çakışan bir isim var; satırlar tek tek yazılır ve sadece çakışanlar atlanır.
+                for (Row row : rows) {
+                    if (updateOne(row)) {
+                        updated++;
+                    } else {
+                        skipped++;
+                    }
+                }
+            }
+        }
+        if (updated > 0 || skipped > 0) {
+            logger.info("Filled normalized_name for {} products, skipped {} duplicate names", updated, skipped);
+        }
+    }
+
+    private boolean updateOne(Row row) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+                    "UPDATE products SET normalized_name = ? WHERE product_id = ?",
+                    Product.normalizeName(row.productName()), row.productId()));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Product {} ({}) has the same name as another product in its category; normalized_name left empty",
+                    row.productId(), row.productName());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.ecommerce.project.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.UUID;
+
+@Configuration
+//Hibernate ikinci seviye önbelleği için CacheManager tanımlar.
+//Varsayılan CacheManager JVM genelinde paylaşılır; aynı JVM'de farklı veritabanlarına bağlanan iki uygulama bağlamı
+//(örneğin testlerde) birbirinin önbelleğini görürdü. Bu yüzden her bağlam kendi CacheManager'ını kullanır.
+//Bölge ayarları yine classpath'teki application.conf dosyasından okunur.
+public class SecondLevelCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        return Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("ecom-hibernate:" + UUID.randomUUID()), getClass().getClassLoader());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
@@ -0,0 +1,41 @@
+package com.ecommerce.project.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+// service paketindeki tüm *ServiceImpl sınıflarının public metotları için süre ölçer: service.method{class, method, exception}.
+// Yavaş bir uç noktanın süresinin hangi servis çağrısında geçtiğini gösterir. Sınıf içinden yapılan çağrılar
+// (this.metot()) proxy'den geçmediği için ayrıca ölçülmez.
+// Yüzdelik histogram varsayılan olarak kapalıdır;
+// management.metrics.distribution.percentiles-histogram.service.method=true ile açılabilir.
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Around("execution(public * com.ecommerce.project.service..*ServiceImpl.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("service.method")
+                    .description("Execution time of service implementation methods")
+                    .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.ecommerce.project.config;
+
+import org.hibernate.BaseSessionEventListener;
+
+// Bir HTTP isteği boyunca hazırlanan (prepare) SQL ifadelerini sayar; sonuç SqlStatementMetricsFilter tarafından
+// http.server.requests.sql metriğine yazılır. Böylece N+1 sorgu gibi gerilemeler uç nokta bazında görülebilir.
+// Hibernate her oturum (Session) için bu sınıftan bir örnek oluşturur (hibernate.session.events.auto). Bir istekte
+// birden fazla oturum açılabildiği için sayaç oturumda değil, isteği işleyen thread'de tutulur.
+// Hibernate istatistiklerindeki (Statistics) sayaçlar tüm uygulama için ortaktır; eşzamanlı istekleri ayıramaz.
+public class SqlStatementCounter extends BaseSessionEventListener {
+    private static final long serialVersionUID = 1L;
+
+    private static final ThreadLocal<long[]> STATEMENTS = new ThreadLocal<>();
+
+    @Override
+    public void jdbcPrepareStatementStart() {
+        long[] statements = STATEMENTS.get();
+        // İstek dışındaki thread'ler (zamanlanmış görevler, iş havuzları) sayılmaz.
+        if (statements != null) {
+            statements[0]++;
+        }
+    }
+
+    public static void start() {
+        STATEMENTS.set(new long[1]);
+    }
+
+    // Sayımı bitirir ve o ana kadar hazırlanan ifade sayısını döner.
+    public static long stop() {
+        long[] statements = STATEMENTS.get();
+        STATEMENTS.remove();
+        return statements == null ? 0 : statements[0];
+    }
+}
@@ -0,0 +1,57 @@
+package com.ecommerce.project.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Her istekte çalışan SQL ifadesi sayısını uç nokta (uri şablonu) bazında kaydeder: http.server.requests.sql.
+// Güvenlik filtrelerinden önce başlar; kimlik doğrulama sırasında kullanıcı yüklemek için çalışan sorgular da sayılır.
+// uri etiketi http.server.requests metriğindekiyle aynıdır (örn. /api/public/categories/{categoryId}/products).
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+
+    // Prometheus histogram kovaları (le); sorgu sayıları için yüzdelik histogramdan daha az seri üretir.
+    private static final double[] BUCKETS = { 1, 2, 3, 5, 10, 20, 50, 100 };
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long statements = SqlStatementCounter.stop();
+            DistributionSummary.builder("http.server.requests.sql")
+                    .description("SQL statements prepared per HTTP request")
+                    .baseUnit("statements")
+                    .serviceLevelObjectives(BUCKETS)
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri(request, response))
+                    .register(meterRegistry)
+                    .record(statements);
+        }
+    }
+
+    private static String uri(HttpServletRequest request, HttpServletResponse response) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            return pattern.toString();
+        }
+        return response.getStatus() == HttpServletResponse.SC_NOT_FOUND ? "NOT_FOUND" : "UNKNOWN";
+    }
+}
@@ -1,6 +1,5 @@
 package com.ecommerce.project.controller;
 
-import com.ecommerce.project.model.User;
 import com.ecommerce.project.payload.AddressDTO;
 import com.ecommerce.project.service.AddressService;
 import com.ecommerce.project.util.AuthUtil;
@@ -24,10 +23,10 @@ public class AddressController {
     // Yeni bir adres yaratır.
     @PostMapping("/addresses")
     public ResponseEntity<AddressDTO> createAddress(@Valid @RequestBody AddressDTO addressDTO) {
-        // Oturum açmış kullanıcıyı alır.
-        User user = authUtil.loggedInUser();
+        // Oturum açmış kullanıcının ID'sini istek boyunca tutulan kimlik bilgisinden alır.
+        Long userId = authUtil.currentUser().getUserId();
         // Adresi oluşturur ve kullanıcıya bağlar.
-        AddressDTO savedAddressDTO = addressService.createAddress(addressDTO, user);
+        AddressDTO savedAddressDTO = addressService.createAddress(addressDTO, userId);
         // Adresin başarılı bir şekilde yaratıldığını bildirir ve 201 CREATED durumu döner.
         return new ResponseEntity<>(savedAddressDTO, HttpStatus.CREATED);
     }
@@ -52,10 +51,10 @@ public class AddressController {
     // Oturum açmış kullanıcının adreslerini getirir.
     @GetMapping("/users/addresses")
     public ResponseEntity<List<AddressDTO>> getUserAddresses() {
-        // Oturum açmış kullanıcıyı alır.
-        User user = authUtil.loggedInUser();
+        // Oturum açmış kullanıcının ID'sini istek boyunca tutulan kimlik bilgisinden alır.
+        Long userId = authUtil.currentUser().getUserId();
         // Kullanıcının adres listesini alır.
-        List<AddressDTO> addressList = addressService.getUserAddresses(user);
+        List<AddressDTO> addressList = addressService.getUserAddresses(userId);
         // Adres listesiyle birlikte 200 OK yanıtını döner.
         return new ResponseEntity<>(addressList, HttpStatus.OK);
     }
@@ -3,12 +3,15 @@ package com.ecommerce.project.controller;
 import com.ecommerce.project.config.AppConstants;
 import com.ecommerce.project.payload.CategoryDTO;
 import com.ecommerce.project.payload.CategoryResponse;
+import com.ecommerce.project.service.CatalogVersion;
 import com.ecommerce.project.service.CategoryService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 // Bu sınıf, REST API isteğini işleyen bir kontrolcü (controller) sınıfıdır.
 @RestController
@@ -18,19 +21,34 @@ public class CategoryController {
     @Autowired
     private CategoryService categoryService; // Kategori işlemlerini gerçekleştiren servis sınıfının bir örneği.
 
+    @Autowired
+    private CatalogVersion catalogVersion; // Kategori listesinin ETag değeri; kategori değişmedikçe aynı kalır.
+
     // Tüm kategorileri listeleyen GET isteği işleyici metod.
     @GetMapping("/public/categories")
     public ResponseEntity<CategoryResponse> getAllCategories(
             @RequestParam(name = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER, required = false) Integer pageNumber,
             @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
             @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_CATEGORIES_BY, required = false) String sortBy,
-            @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder) {
+            @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder,
+            @RequestParam(name = "cursor", required = false) String cursor, // Gönderilirse (ilk sayfa için boş) anahtar tabanlı sayfalama kullanılır.
+            @RequestParam(name = "includeTotal", defaultValue = "false", required = false) boolean includeTotal,
+            WebRequest webRequest) {
+
+        // İstemcideki kopya güncelse (If-None-Match) 304 Not Modified döner; liste hiç oluşturulmaz.
+        String eTag = catalogVersion.categoriesETag();
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
 
         // İstemciden gelen parametrelere göre kategorileri getiren servis metodunu çağırır.
-        CategoryResponse categoryResponse = categoryService.getAllCategories(pageNumber, pageSize, sortBy, sortOrder);
+        CategoryResponse categoryResponse = cursor != null
+                ? categoryService.getAllCategoriesByCursor(cursor, pageSize, sortBy, sortOrder, includeTotal)
+                : categoryService.getAllCategories(pageNumber, pageSize, sortBy, sortOrder);
 
-        // Servisten dönen kategori verisini ve HTTP durum kodunu içeren yanıtı oluşturur.
-        return new ResponseEntity<>(categoryResponse, HttpStatus.OK); // HTTP 200 OK ile yanıt verir.
+        // Servisten dönen kategori verisini, ETag'i ve HTTP durum kodunu içeren yanıtı oluşturur.
+        // no-cache: istemci yanıtı saklayabilir ama her kullanımda ETag ile doğrulatır.
+        return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache()).body(categoryResponse); // HTTP 200 OK ile yanıt verir.
     }
 
     // Yeni bir kategori oluşturmak için POST isteği işleyici metod.
@@ -0,0 +1,187 @@
+package com.ecommerce.project.controller;
+
+import com.ecommerce.project.config.AppConstants;
+import com.ecommerce.project.service.ThumbnailGenerator;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.regex.Pattern;
+
+// project.image klasöründeki ürün görsellerini ve küçük resimlerini sunar.
+// Dosya içeriği uygulama belleğine okunmaz: Tomcat'in sendfile desteği varsa dosya çekirdek tarafından doğrudan
+// sokete aktarılır (sıfır kopya); yoksa FileChannel.transferTo ile yanıta aktarılır.
+// İçerik özetiyle adlandırılmış görseller (bkz. FileServiceImpl) hiç değişmez; bu yüzden bir yıl süreyle "immutable"
+// olarak önbelleğe alınabilir ve ETag olarak özetin kendisi kullanılır. Eski (özetsiz) adlı görseller bir gün önbelleğe alınır.
+// Tek aralıklı Range istekleri (206) desteklenir; birden fazla aralık istenirse dosyanın tamamı gönderilir.
+// Sadece AppConstants.IMAGE_CONTENT_TYPES içindeki raster biçimler sunulur; tarayıcının içeriği farklı bir tip
+// (örneğin HTML) olarak yorumlamaması için X-Content-Type-Options: nosniff gönderilir.
+@RestController
+public class ImageController {
+
+    // Klasör dışına çıkmayı (../) engellemek için sadece düz dosya adlarına izin verilir.
+    private static final Pattern FILE_NAME = Pattern.compile("[A-Za-z0-9_-][A-Za-z0-9._-]*");
+
+    private static final Pattern CONTENT_HASH_NAME = Pattern.compile("[0-9a-f]{64}\\.[a-z0-9]+");
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final Path imageDir;
+
+    public ImageController(@Value("${project.image}") String path) {
+        this.imageDir = Paths.get(path).toAbsolutePath().normalize();
+    }
+
+    @GetMapping("/images/{fileName:.+}")
+    public void getImage(@PathVariable String fileName, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!FILE_NAME.matcher(fileName).matches()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        serve(imageDir.resolve(fileName), fileName, true, request, response);
+    }
+
+    // Küçük resim henüz üretilmediyse (veya kuyruk dolu olduğu için atlandıysa) orijinal görsel kısa süreli önbellekle sunulur.
+    @GetMapping("/images/thumbs/{size}/{fileName:.+}")
+    public void getThumbnail(@PathVariable int size, @PathVariable String fileName,
+                             HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!AppConstants.THUMBNAIL_SIZES.contains(size) || !FILE_NAME.matcher(fileName).matches()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        Path thumbnail = ThumbnailGenerator.thumbnailPath(imageDir, size, fileName);
+        if (Files.isRegularFile(thumbnail)) {
+            serve(thumbnail, fileName, true, request, response);
+        } else {
+            serve(imageDir.resolve(fileName), fileName, false, request, response);
+        }
+    }
+
+    private void serve(Path file, String fileName, boolean cacheable, HttpServletRequest request,
+                       HttpServletResponse response) throws IOException {
+        String contentType = contentType(fileName);
+        if (contentType == null || !Files.isRegularFile(file)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        long length = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        boolean contentHashed = CONTENT_HASH_NAME.matcher(fileName).matches();
+        String eTag = contentHashed ? fileName.substring(0, fileName.indexOf('.')) : "W/\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+        if (contentHashed && !cacheable) {
+            // Küçük resim yerine sunulan orijinalin ETag'i küçük resminkinden farklı olmalıdır; aksi halde küçük resim
+            // üretildikten sonraki doğrulama 304 alır ve tarayıcı orijinali bir yıllık önbellek süresiyle saklamaya devam eder.
+            eTag = eTag + "-original";
+        }
+
+        if (!cacheable) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=60");
+        } else if (contentHashed) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable");
+        } else {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=86400");
+        }
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        // If-None-Match / If-Modified-Since eşleşirse 304 ayarlanır ve gövde gönderilmez.
+        if (new ServletWebRequest(request, response).checkNotModified(eTag, lastModified)) {
+            return;
+        }
+        response.setContentType(contentType);
+
+        long start = 0;
+        long end = length - 1;
+        HttpRange range = range(request, eTag, lastModified);
+        if (range != null) {
+            if (length == 0 || range.getRangeStart(length) >= length) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            start = range.getRangeStart(length);
+            end = range.getRangeEnd(length);
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if (request.getMethod().equals("HEAD") || count <= 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Gövde Tomcat tarafından istek bittikten sonra sendfile ile yazılır.
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            OutputStream out = response.getOutputStream();
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = start;
+            while (position <= end) {
+                position += channel.transferTo(position, end + 1 - position, target);
+            }
+            out.flush();
+        }
+    }
+
+    // Uzantı izin verilen görsel tiplerinden biri değilse null döner.
+    private static String contentType(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot < 0 ? null : AppConstants.IMAGE_CONTENT_TYPES.get(fileName.substring(dot).toLowerCase());
+    }
+
+    // Geçerli tek bir bayt aralığı istendiyse onu döner. If-Range başlığı güncel sürümle eşleşmiyorsa
+    // (dosya değişmişse) aralık yok sayılır ve dosyanın tamamı gönderilir.
+    private static HttpRange range(HttpServletRequest request, String eTag, long lastModified) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null) {
+            // If-Range ya bir ETag ya da bir tarih içerir; zayıf (W/) ETag'ler aralık isteklerinde geçerli sayılmaz.
+            if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+                if (eTag.startsWith("W/") || !ifRange.equals("\"" + eTag + "\"")) {
+                    return null;
+                }
+            } else {
+                try {
+                    long ifRangeDate = request.getDateHeader(HttpHeaders.IF_RANGE);
+                    if (ifRangeDate == -1 || lastModified / 1000 > ifRangeDate / 1000) {
+                        return null;
+                    }
+                } catch (IllegalArgumentException e) {
+                    return null;
+                }
+            }
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(header);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
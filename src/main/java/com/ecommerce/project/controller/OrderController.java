@@ -2,6 +2,7 @@ package com.ecommerce.project.controller;
 
 import com.ecommerce.project.payload.OrderDTO;
 import com.ecommerce.project.payload.OrderRequestDTO;
+import com.ecommerce.project.service.IdempotencyStore;
 import com.ecommerce.project.service.OrderService;
 import com.ecommerce.project.util.AuthUtil;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +10,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.function.Supplier;
+
 @RestController
 @RequestMapping("/api")
 public class OrderController {
@@ -19,10 +22,16 @@ public class OrderController {
     @Autowired
     private AuthUtil authUtil;
 
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    // İstemci Idempotency-Key başlığı gönderirse, zaman aşımı sonrası tekrar denemeler yeni sipariş oluşturmaz;
+    // aynı anahtarla gelen istek ilk siparişin sonucunu döner (Idempotent-Replayed: true).
     @PostMapping("/order/users/payments/{paymentMethod}")
-    public ResponseEntity<OrderDTO> orderProducts(@PathVariable String paymentMethod, @RequestBody OrderRequestDTO orderRequestDTO) {
+    public ResponseEntity<OrderDTO> orderProducts(@PathVariable String paymentMethod, @RequestBody OrderRequestDTO orderRequestDTO,
+                                                  @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey) {
         String emailId = authUtil.loggedInEmail();
-        OrderDTO order = orderService.placeOrder(
+        Supplier<OrderDTO> placeOrder = () -> orderService.placeOrder(
                 emailId,
                 orderRequestDTO.getAddressId(),
                 paymentMethod,
@@ -31,6 +40,16 @@ public class OrderController {
                 orderRequestDTO.getPgStatus(),
                 orderRequestDTO.getPgResponseMessage()
         );
-        return new ResponseEntity<>(order, HttpStatus.CREATED);
+        if (idempotencyKey == null) {
+            return new ResponseEntity<>(placeOrder.get(), HttpStatus.CREATED);
+        }
+
+        IdempotencyStore.Result<OrderDTO> result = idempotencyStore.execute(authUtil.loggedInUserId(), idempotencyKey,
+                IdempotencyStore.fingerprint(paymentMethod, orderRequestDTO.getAddressId(), orderRequestDTO.getPgName(),
+                        orderRequestDTO.getPgPaymentId(), orderRequestDTO.getPgStatus(), orderRequestDTO.getPgResponseMessage()),
+                placeOrder);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header("Idempotent-Replayed", String.valueOf(result.replayed()))
+                .body(result.value());
     }
 }
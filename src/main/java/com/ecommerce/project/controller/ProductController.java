@@ -2,13 +2,23 @@ package com.ecommerce.project.controller;
 
 import com.ecommerce.project.config.AppConstants;
 import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.payload.ProductImportResultDTO;
 import com.ecommerce.project.payload.ProductResponse;
+import com.ecommerce.project.service.CatalogVersion;
+import com.ecommerce.project.service.ProductImportService;
+import com.ecommerce.project.service.ProductPageCache;
 import com.ecommerce.project.service.ProductService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -21,6 +31,17 @@ public class ProductController {
     @Autowired
     ProductService productService;
 
+    // Katalog listelerinin ETag değerleri; ürün veya kategori değişmedikçe aynı kalır.
+    @Autowired
+    CatalogVersion catalogVersion;
+
+    // Sık istenen ürün sayfalarının JSON halini tutan önbellek.
+    @Autowired
+    ProductPageCache productPageCache;
+
+    @Autowired
+    ProductImportService productImportService;
+
     @PostMapping("/admin/categories/{categoryId}/product")
     public ResponseEntity<ProductDTO> addProduct(@Valid @RequestBody ProductDTO productDTO, //gelen productDTO'nun belirtilen kurallara uygun olup olmadığını kontrol eder.
                                                  @PathVariable Long categoryId){ // @PathVariable, URL'deki {categoryId} değerini alır.
@@ -30,28 +51,53 @@ public class ProductController {
     }
 
     @GetMapping("/public/products")
-    public ResponseEntity<ProductResponse> getAllProducts(
+    public ResponseEntity<byte[]> getAllProducts(
             // Sayfa numarası isteğe bağlıdır ve AppConstants üzerinden varsayılan değeri alır.
             @RequestParam(name = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER, required = false) Integer pageNumber,
             @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
             @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_PRODUCTS_BY, required = false) String sortBy,
-            @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder
+            @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder,
+            // cursor parametresi gönderilirse (ilk sayfa için boş) OFFSET yerine anahtar tabanlı sayfalama kullanılır.
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "includeTotal", defaultValue = "false", required = false) boolean includeTotal,
+            WebRequest webRequest
     ){
-        // ProductService'den tüm ürünleri alır.
-        ProductResponse productResponse = productService.getAllProducts(pageNumber, pageSize, sortBy, sortOrder);
+        // İstemcideki kopya güncelse (If-None-Match) 304 Not Modified döner; veritabanına gidilmez.
+        String eTag = catalogVersion.productsETag();
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
 
-        // HTTP yanıtı olarak ürün listesi ve 200 OK durumu döner.
-        return new ResponseEntity<>(productResponse,HttpStatus.OK);
+        // ProductService'den tüm ürünleri alır. Sayfa numarasıyla gelen istekler önbellekten (ProductPageCache) karşılanır.
+        byte[] body = cursor != null
+                ? productPageCache.serialize(productService.getAllProductsByCursor(cursor, pageSize, sortBy, sortOrder, includeTotal))
+                : productPageCache.get(ProductPageCache.allProductsKey(pageNumber, pageSize, sortBy, sortOrder), eTag,
+                        () -> productService.getAllProducts(pageNumber, pageSize, sortBy, sortOrder));
+
+        // HTTP yanıtı olarak ürün listesi ve 200 OK durumu döner. no-cache: istemci saklar ama her seferinde ETag ile doğrular.
+        return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @GetMapping("/public/categories/{categoryId}/products")
-    public ResponseEntity<ProductResponse> getProductsByCategory(@PathVariable Long categoryId,// URL'deki kategori ID'sini alır.
+    public ResponseEntity<byte[]> getProductsByCategory(@PathVariable Long categoryId,// URL'deki kategori ID'sini alır.
                                                                  @RequestParam(name = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER, required = false) Integer pageNumber,
                                                                  @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
                                                                  @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_PRODUCTS_BY, required = false) String sortBy,
-                                                                 @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder){
-        ProductResponse productResponse = productService.searchByCategory(categoryId, pageNumber, pageSize, sortBy, sortOrder);
-        return new ResponseEntity<>(productResponse, HttpStatus.OK);
+                                                                 @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder,
+                                                                 @RequestParam(name = "cursor", required = false) String cursor,
+                                                                 @RequestParam(name = "includeTotal", defaultValue = "false", required = false) boolean includeTotal,
+                                                                 WebRequest webRequest){
+        String eTag = catalogVersion.categoryProductsETag(categoryId);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        byte[] body = cursor != null
+                ? productPageCache.serialize(productService.searchByCategoryByCursor(categoryId, cursor, pageSize, sortBy, sortOrder, includeTotal))
+                : productPageCache.get(ProductPageCache.categoryProductsKey(categoryId, pageNumber, pageSize, sortBy, sortOrder), eTag,
+                        () -> productService.searchByCategory(categoryId, pageNumber, pageSize, sortBy, sortOrder));
+        return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @GetMapping("/public/products/keyword/{keyword}")
@@ -66,6 +112,27 @@ public class ProductController {
         return new ResponseEntity<>(productResponse, HttpStatus.FOUND);
     }
 
+    // Ürün akışı (feed) tüketicileri için tüm katalog sayfalama olmadan, her satırda bir ürün olacak şekilde (NDJSON) akıtılır.
+    // Ürünler veritabanından okundukça yanıta yazılır; bellek kullanımı katalog boyutundan bağımsızdır.
+    @GetMapping(value = "/admin/products/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportProducts(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=products.ndjson");
+        productService.exportProducts(response.getOutputStream());
+    }
+
+    // Tedarikçi kataloğunu toplu olarak içe aktarır. İstek gövdesi CSV (text/csv, ilk satır sütun başlıkları) veya
+    // NDJSON (application/x-ndjson) olabilir; gövde multipart olarak değil, doğrudan okunarak işlenir.
+    @PostMapping(value = "/admin/products/import", consumes = { "text/csv", MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<ProductImportResultDTO> importProducts(HttpServletRequest request) throws IOException {
+        ProductImportService.Format format = MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(request.getContentType()))
+                ? ProductImportService.Format.NDJSON
+                : ProductImportService.Format.CSV;
+        ProductImportResultDTO result = productImportService.importProducts(request.getInputStream(), format);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
     // Bir ürünü güncellemek için PUT isteği yapılır.
     @PutMapping("/admin/products/{productId}")
     public ResponseEntity<ProductDTO> updateProduct(@Valid @RequestBody ProductDTO productDTO,
@@ -0,0 +1,85 @@
+package com.ecommerce.project.controller;
+
+import com.ecommerce.project.payload.CacheStatsDTO;
+import com.ecommerce.project.payload.ExecutorStatsDTO;
+import com.ecommerce.project.security.services.PasswordHashingExecutor;
+import com.ecommerce.project.security.services.PrincipalCache;
+import com.ecommerce.project.service.CategoryCatalogCache;
+import com.ecommerce.project.service.ProductPageCache;
+import com.ecommerce.project.service.ThumbnailGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+// Önbellek ve performans sayaçlarını yöneticilere sunan kontrolcü.
+@RestController
+@RequestMapping("/api/admin/stats")
+public class StatsController {
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Autowired
+    private CategoryCatalogCache categoryCatalogCache;
+
+    @Autowired
+    private ProductPageCache productPageCache;
+
+    @Autowired
+    private ThumbnailGenerator thumbnailGenerator;
+
+    // Kimlik doğrulama filtresindeki kullanıcı önbelleğinin isabet/ıskalama sayaçları.
+    @GetMapping("/principal-cache")
+    public ResponseEntity<CacheStatsDTO> getPrincipalCacheStats() {
+        long hits = principalCache.getHitCount();
+        long misses = principalCache.getMissCount();
+        CacheStatsDTO stats = new CacheStatsDTO("principal", principalCache.size(), hits, misses,
+                principalCache.getEvictionCount(), hitRatio(hits, misses), 0, 0);
+        return new ResponseEntity<>(stats, HttpStatus.OK);
+    }
+
+    // Kategori listesi önbelleği; evictions alanı değişiklik nedeniyle geçersiz kılma sayısıdır.
+    @GetMapping("/category-cache")
+    public ResponseEntity<CacheStatsDTO> getCategoryCacheStats() {
+        long hits = categoryCatalogCache.getHitCount();
+        long misses = categoryCatalogCache.getMissCount();
+        CacheStatsDTO stats = new CacheStatsDTO("category", categoryCatalogCache.size(), hits, misses,
+                categoryCatalogCache.getInvalidationCount(), hitRatio(hits, misses),
+                categoryCatalogCache.getRebuildCount(), categoryCatalogCache.getLastRebuildMillis());
+        return new ResponseEntity<>(stats, HttpStatus.OK);
+    }
+
+    // Ürün listeleme sayfaları önbelleği; rebuilds alanı veritabanından yüklenen sayfa sayısıdır.
+    // Iskalamalar, başka bir isteğin yüklemesini bekleyerek karşılananları da içerir.
+    @GetMapping("/product-page-cache")
+    public ResponseEntity<CacheStatsDTO> getProductPageCacheStats() {
+        long hits = productPageCache.getHitCount();
+        long misses = productPageCache.getMissCount();
+        CacheStatsDTO stats = new CacheStatsDTO("product-page", productPageCache.size(), hits, misses,
+                productPageCache.getEvictionCount(), hitRatio(hits, misses),
+                productPageCache.getLoadCount(), productPageCache.getLastLoadMillis());
+        return new ResponseEntity<>(stats, HttpStatus.OK);
+    }
+
+    // Giriş/kayıt sırasındaki BCrypt havuzunun kuyruk derinliği ve reddedilen istek sayısı.
+    @GetMapping("/password-hashing")
+    public ResponseEntity<ExecutorStatsDTO> getPasswordHashingStats() {
+        return new ResponseEntity<>(passwordHashingExecutor.stats(), HttpStatus.OK);
+    }
+
+    // Küçük resim üretim havuzunun kuyruk derinliği ve kuyruk dolu olduğu için atlanan görsel sayısı.
+    @GetMapping("/thumbnails")
+    public ResponseEntity<ExecutorStatsDTO> getThumbnailStats() {
+        return new ResponseEntity<>(thumbnailGenerator.stats(), HttpStatus.OK);
+    }
+
+    private static double hitRatio(long hits, long misses) {
+        return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+    }
+}
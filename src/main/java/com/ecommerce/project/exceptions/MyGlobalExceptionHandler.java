@@ -7,6 +7,7 @@ uygun bir HTTP durumu ve yanıt mesajı ile geri gönderilir
 * */
 
 import com.ecommerce.project.payload.APIResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -69,6 +70,16 @@ public class MyGlobalExceptionHandler {
         return new ResponseEntity<>(apiResponse, HttpStatus.BAD_REQUEST);
     }
 
+    //Bu metod, sunucu geçici olarak meşgul olduğunda (örneğin şifre doğrulama kuyruğu dolduğunda) devreye girer.
+    //SERVICE_UNAVAILABLE, 503 anlamına gelir; Retry-After başlığı istemciye ne zaman tekrar deneyeceğini söyler.
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<APIResponse> myServiceUnavailableException(ServiceUnavailableException e) {
+        APIResponse apiResponse = new APIResponse(e.getMessage(),false);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(apiResponse);
+    }
+
 /*
 @ExceptionHandler: Bu özel metodlar, uygulamanızda belirli türde hatalar meydana geldiğinde ne yapılacağını belirtir.
 
@@ -0,0 +1,18 @@
+package com.ecommerce.project.exceptions;
+
+//Sunucu geçici olarak isteği karşılayamadığında (örneğin iş kuyruğu dolu olduğunda) kullanılır
+public class ServiceUnavailableException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    //İstemcinin kaç saniye sonra tekrar denemesi gerektiği (Retry-After başlığı)
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
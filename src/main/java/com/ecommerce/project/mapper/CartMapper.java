@@ -0,0 +1,33 @@
+package com.ecommerce.project.mapper;
+
+import com.ecommerce.project.model.Cart;
+import com.ecommerce.project.model.CartItem;
+import com.ecommerce.project.payload.CartDTO;
+import com.ecommerce.project.payload.ProductDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Cart -> CartDTO dönüşümü. Sepetteki her satır, sepetteki miktarı ile birlikte ProductDTO olarak döner.
+@Component
+public class CartMapper {
+
+    @Autowired
+    private ProductMapper productMapper;
+
+    public CartDTO toDTO(Cart cart) {
+        List<CartItem> cartItems = cart.getCartItems();
+        List<ProductDTO> products = new ArrayList<>(cartItems.size());
+        for (CartItem cartItem : cartItems) {
+            products.add(productMapper.toDTO(cartItem));
+        }
+
+        CartDTO cartDTO = new CartDTO();
+        cartDTO.setCartId(cart.getCartId());
+        cartDTO.setTotalPrice(cart.getTotalPrice());
+        cartDTO.setProducts(products);
+        return cartDTO;
+    }
+}
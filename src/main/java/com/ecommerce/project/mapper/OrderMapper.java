@@ -0,0 +1,58 @@
+package com.ecommerce.project.mapper;
+
+import com.ecommerce.project.model.Order;
+import com.ecommerce.project.model.OrderItem;
+import com.ecommerce.project.model.Payment;
+import com.ecommerce.project.payload.OrderDTO;
+import com.ecommerce.project.payload.OrderItemDTO;
+import com.ecommerce.project.payload.PaymentDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Order -> OrderDTO ve OrderItem -> OrderItemDTO dönüşümleri.
+@Component
+public class OrderMapper {
+
+    @Autowired
+    private ProductMapper productMapper;
+
+    public OrderDTO toDTO(Order order) {
+        List<OrderItemDTO> orderItems = new ArrayList<>(order.getOrderItems().size());
+        for (OrderItem orderItem : order.getOrderItems()) {
+            orderItems.add(toDTO(orderItem));
+        }
+
+        OrderDTO orderDTO = new OrderDTO();
+        orderDTO.setOrderId(order.getOrderId());
+        orderDTO.setEmail(order.getEmail());
+        orderDTO.setOrderItems(orderItems);
+        orderDTO.setOrderDate(order.getOrderDate());
+        orderDTO.setPayment(order.getPayment() != null ? toDTO(order.getPayment()) : null);
+        orderDTO.setTotalAmount(order.getTotalAmount());
+        orderDTO.setOrderStatus(order.getOrderStatus());
+        orderDTO.setAddressId(order.getAddress() != null ? order.getAddress().getAddressId() : null);
+        return orderDTO;
+    }
+
+    public OrderItemDTO toDTO(OrderItem orderItem) {
+        return new OrderItemDTO(
+                orderItem.getOrderItemId(),
+                orderItem.getProduct() != null ? productMapper.toDTO(orderItem.getProduct()) : null,
+                orderItem.getQuantity(),
+                orderItem.getDiscount(),
+                orderItem.getOrderedProductPrice());
+    }
+
+    public PaymentDTO toDTO(Payment payment) {
+        return new PaymentDTO(
+                payment.getPaymentId(),
+                payment.getPaymentMethod(),
+                payment.getPgPaymentId(),
+                payment.getPgStatus(),
+                payment.getPgResponseMessage(),
+                payment.getPgName());
+    }
+}
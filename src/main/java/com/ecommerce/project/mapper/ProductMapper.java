@@ -0,0 +1,45 @@
+package com.ecommerce.project.mapper;
+
+import com.ecommerce.project.model.CartItem;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.ProductDTO;
+import org.springframework.stereotype.Component;
+
+// Product <-> ProductDTO dönüşümleri. ModelMapper'ın yansıma (reflection) tabanlı eşlemesi yerine
+// alanlar elle kopyalanır; sıcak yollarda (50 ürünlük katalog sayfaları, sepetler) CPU maliyetini düşürür.
+@Component
+public class ProductMapper {
+
+    public ProductDTO toDTO(Product product) {
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setProductId(product.getProductId());
+        productDTO.setProductName(product.getProductName());
+        productDTO.setImage(product.getImage());
+        productDTO.setDescription(product.getDescription());
+        productDTO.setQuantity(product.getQuantity());
+        productDTO.setPrice(product.getPrice());
+        productDTO.setDiscount(product.getDiscount());
+        productDTO.setSpecialPrice(product.getSpecialPrice());
+        return productDTO;
+    }
+
+    // Sepet satırındaki ürün; miktar olarak stok yerine sepetteki miktar gösterilir.
+    public ProductDTO toDTO(CartItem cartItem) {
+        ProductDTO productDTO = toDTO(cartItem.getProduct());
+        productDTO.setQuantity(cartItem.getQuantity());
+        return productDTO;
+    }
+
+    public Product toEntity(ProductDTO productDTO) {
+        Product product = new Product();
+        product.setProductId(productDTO.getProductId());
+        product.setProductName(productDTO.getProductName());
+        product.setImage(productDTO.getImage());
+        product.setDescription(productDTO.getDescription());
+        product.setQuantity(productDTO.getQuantity());
+        product.setPrice(productDTO.getPrice());
+        product.setDiscount(productDTO.getDiscount());
+        product.setSpecialPrice(productDTO.getSpecialPrice());
+        return product;
+    }
+}
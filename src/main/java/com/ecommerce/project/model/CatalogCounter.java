@@ -0,0 +1,23 @@
+package com.ecommerce.project.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Katalog ETag'lerinin sürüm sayacı (bkz. CatalogVersion). Sayaçlar veritabanında tutulduğu için tüm sunucular
+// aynı sürümü görür ve uygulama yeniden başlasa da sürüm geri gitmez.
+// Adlar: categories, products, stock, category:{categoryId}
+@Entity
+@Table(name = "catalog_versions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogCounter {
+
+    @Id
+    @Column(length = 40)
+    private String name;
+
+    private long version;
+}
@@ -7,6 +7,8 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
@@ -14,6 +16,7 @@ import java.util.List;
 @Data //getter,setter,toString,equals,hashCode
 @NoArgsConstructor //Parametresiz constructor
 @AllArgsConstructor // Parametreli constructor
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "category") // İkinci seviye önbellekte tutulur
 
 public class Category {
 
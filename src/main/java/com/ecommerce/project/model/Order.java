@@ -17,6 +17,14 @@ import java.util.List;
 @AllArgsConstructor
 public class Order {
 
+    // Sipariş durumları. Eşzamansız (async) siparişlerde durum ACCEPTED -> PROCESSING -> CONFIRMED/REJECTED/FAILED
+    // şeklinde ilerler; eşzamanlı siparişler ACCEPTED olarak kalır.
+    public static final String STATUS_ACCEPTED = "Order Accepted !";
+    public static final String STATUS_PROCESSING = "Order Processing";
+    public static final String STATUS_CONFIRMED = "Order Confirmed";
+    public static final String STATUS_REJECTED = "Order Rejected";
+    public static final String STATUS_FAILED = "Order Failed";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long orderId;
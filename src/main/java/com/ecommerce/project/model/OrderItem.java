@@ -12,8 +12,15 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 public class OrderItem {
 
+    // IDENTITY yerine sıra (sequence) kullanılır: Hibernate, IDENTITY ile eklemeleri JDBC batch olarak gönderemez.
+    // allocationSize = 50 ile ID'ler 50'şerlik bloklar halinde alınır ve sipariş satırları tek batch ile eklenir.
+    // MySQL'de sıra, order_items_seq tablosu ile taklit edilir. Mevcut bir veritabanında Hibernate bu tabloyu 1 değeriyle
+    // oluşturur; OrderItemSequenceInitializer açılışta değeri mevcut ID'lerin üzerine taşır.
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long orderItemId;
 
     @ManyToOne
@@ -0,0 +1,53 @@
+package com.ecommerce.project.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Kabul edilen bir siparişin arka planda yapılacak işlerini (stok düşme, sipariş satırları) tutan giden kutusu kaydı.
+// Sipariş ile aynı işlemde (transaction) yazılır; sipariş kaydedildiyse bu kayıt da vardır ve uygulama
+// yeniden başlasa bile işlenir. Ayrı bir mesaj kuyruğu (broker) gerekmez.
+@Entity
+@Table(name = "order_outbox", indexes = @Index(name = "idx_order_outbox_status_next", columnList = "status, next_attempt_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long outboxId;
+
+    @Column(nullable = false)
+    private Long orderId;
+
+    // Sepetin sipariş anındaki satırları (JSON).
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OutboxStatus status;
+
+    private int attempts;
+
+    private LocalDateTime createdAt;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    // Kaydın bir işçi tarafından alındığı zaman; uzun süre PROCESSING kalan kayıtlar yeniden kuyruğa alınır.
+    private LocalDateTime claimedAt;
+
+    // Her alımda yenilenen belirteç. Kayıt takılı sanılıp başka bir işçiye verildiyse eski işçinin belirteci artık
+    // eşleşmez; eski işçi kaydı sonuçlandıramaz ve yaptığı işler (stok düşme, sipariş satırları) geri alınır.
+    @Column(length = 36)
+    private String claimToken;
+
+    @Column(length = 1000)
+    private String lastError;
+}
@@ -0,0 +1,9 @@
+package com.ecommerce.project.model;
+
+// Sipariş giden kutusu (outbox) kaydının durumu.
+public enum OutboxStatus {
+    PENDING,    // İşlenmeyi bekliyor (veya yeniden denenecek)
+    PROCESSING, // Bir işçi (worker) tarafından alındı
+    DONE,       // İşlendi (sipariş onaylandı ya da reddedildi)
+    FAILED      // Deneme hakkı bitti
+}
@@ -3,19 +3,31 @@ package com.ecommerce.project.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 @Entity
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "products")
+// Aynı kategoride aynı isimli ürün olamaz. Kontrol (category_id, normalized_name) benzersiz indeksi üzerinden yapılır;
+// aynı anda eklenen iki ürünü de veritabanı reddeder.
+@Table(name = "products", uniqueConstraints = @UniqueConstraint(name = "uk_products_category_normalized_name",
+        columnNames = {"category_id", "normalized_name"}))
+// Ürünler ikinci seviye önbellekte tutulur; sepet ve sipariş akışındaki findById çağrıları veritabanına gitmez.
+// Stok düşme gibi toplu güncellemeler sadece etkilenen ürünlerin girdilerini siler (bkz. InventoryServiceImpl).
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product")
 @ToString
 public class Product {
 
@@ -26,6 +38,13 @@ public class Product {
     @NotBlank
     @Size(min = 3, message = "Product name must contain atleast 3 characters")
     private String productName;
+
+    // Aynı isim kontrolünde kullanılan anahtar: ürün adının dil bağımsız büyük harfli hali, productName ile birlikte atanır.
+    // Bu kolon eklenmeden önce oluşturulmuş satırlar açılışta doldurulur (bkz. ProductNormalizedNameInitializer).
+    @Setter(AccessLevel.NONE)
+    @Column(name = "normalized_name")
+    private String normalizedName;
+
     private String image;
 
     @NotBlank
@@ -36,14 +55,34 @@ public class Product {
     private double discount;
     private double specialPrice;
 
-    @ManyToOne
+    // Kategori ve satıcı tembel (LAZY) yüklenir; sepet ve sipariş satırlarıyla birlikte yüklenen ürünler
+    // için her farklı kategori/satıcı başına ek sorgu atılmaz.
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
     private Category category;
 
-    @ManyToOne
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "seller_id")
     private User user;
 
-    @OneToMany(mappedBy = "product", cascade = {CascadeType.PERSIST, CascadeType.MERGE}, fetch = FetchType.EAGER)
+    // Ürünün bulunduğu sepet satırları. Popüler ürünler binlerce sepette olabildiği için
+    // tembel (LAZY) yüklenir; katalog sorguları bu listeyi hiç yüklemez.
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @OneToMany(mappedBy = "product", cascade = {CascadeType.PERSIST, CascadeType.MERGE}, fetch = FetchType.LAZY)
     private List<CartItem> products = new ArrayList<>();
+
+    public void setProductName(String productName) {
+        this.productName = productName;
+        this.normalizedName = normalizeName(productName);
+    }
+
+    // Büyük/küçük harf farkı olan isimler aynı ürün sayılır; sonuç sunucunun diline (Locale) bağlı değildir.
+    public static String normalizeName(String productName) {
+        return productName == null ? null : productName.toUpperCase(Locale.ROOT);
+    }
 }
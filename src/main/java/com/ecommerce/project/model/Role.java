@@ -6,12 +6,17 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
 
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
 @Data
 @Table(name = "roles")
+@Immutable // Roller sadece eklenir; Hibernate güncelleme yapmaz ve kirli kontrolü (dirty checking) atlar
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "role") // Roller değişmez; salt okunur önbellekte tutulur
 public class Role {
     @Id // Bu alanın tablodaki birincil anahtar (primary key) olduğunu belirtir.
     @GeneratedValue(strategy = GenerationType.IDENTITY) // Birincil anahtarın otomatik olarak artan bir değer ile oluşturulacağını belirtir.
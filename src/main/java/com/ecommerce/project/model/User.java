@@ -1,5 +1,6 @@
 package com.ecommerce.project.model;
 
+import com.ecommerce.project.security.services.PrincipalCacheEvictionListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -12,6 +13,7 @@ import java.util.List;
 import java.util.Set;
 
 @Entity
+@EntityListeners(PrincipalCacheEvictionListener.class) // Şifre veya kullanıcı bilgisi değişince önbellekteki kullanıcı silinir.
 @Data
 @NoArgsConstructor
 @Table(name = "users", uniqueConstraints = {
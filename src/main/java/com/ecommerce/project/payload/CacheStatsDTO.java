@@ -0,0 +1,21 @@
+package com.ecommerce.project.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Bellek içi önbelleklerin boyutlandırılması için isabet/ıskalama sayaçları.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsDTO {
+    private String name;
+    private int size;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private double hitRatio;
+    // Yeniden yüklenen önbellekler için: yükleme sayısı ve son yüklemenin süresi. Diğerlerinde 0'dır.
+    private long rebuilds;
+    private long lastRebuildMillis;
+}
@@ -16,4 +16,6 @@ public class CategoryResponse {
     private Long totalElements;
     private Integer totalPages;
     private boolean lastPage;
+    // Anahtar tabanlı sayfalamada bir sonraki sayfayı getirmek için kullanılan opak imleç. Son sayfada null olur.
+    private String nextCursor;
 }
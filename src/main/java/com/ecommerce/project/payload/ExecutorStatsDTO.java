@@ -0,0 +1,20 @@
+package com.ecommerce.project.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Sınırlı iş havuzlarının (thread pool) doluluk ve reddetme sayaçları.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExecutorStatsDTO {
+    private String name;
+    private int poolSize;
+    private int activeCount;
+    private int queueDepth;
+    private int queueCapacity;
+    private long completed;
+    private long rejected;
+    private long timedOut;
+}
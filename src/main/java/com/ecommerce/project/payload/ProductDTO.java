@@ -1,9 +1,14 @@
 package com.ecommerce.project.payload;
 
+import com.ecommerce.project.config.AppConstants;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -16,4 +21,19 @@ public class ProductDTO {
     private double price;
     private double discount;
     private double specialPrice;
+
+    // Görselin boyutlara göre adresleri: "original" ve her küçük resim boyutu (örn. "200").
+    // image alanından türetilir; bu sayede sorgu projeksiyonları ve önbellekteki yanıtlar da adresleri içerir.
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public Map<String, String> getImageUrls() {
+        if (image == null) {
+            return Map.of();
+        }
+        Map<String, String> urls = new LinkedHashMap<>();
+        urls.put("original", AppConstants.IMAGE_BASE_URL + image);
+        for (Integer size : AppConstants.THUMBNAIL_SIZES) {
+            urls.put(String.valueOf(size), AppConstants.IMAGE_BASE_URL + "thumbs/" + size + "/" + image);
+        }
+        return urls;
+    }
 }
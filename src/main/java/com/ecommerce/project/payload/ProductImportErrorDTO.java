@@ -0,0 +1,15 @@
+package com.ecommerce.project.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// İçe aktarılamayan bir satır: dosyadaki satır numarası, ürün adı (okunabildiyse) ve neden.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportErrorDTO {
+    private long line;
+    private String productName;
+    private String message;
+}
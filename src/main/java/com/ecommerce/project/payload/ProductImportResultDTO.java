@@ -0,0 +1,22 @@
+package com.ecommerce.project.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Toplu ürün içe aktarma sonucu: okunan, eklenen ve atlanan satır sayıları, hız ve satır hataları.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportResultDTO {
+    private long rowsRead;
+    private long imported;
+    private long failed;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    // Sadece ilk hatalar listelenir (spring.app.import.maxReportedErrors); failed alanı tüm hataları sayar.
+    private List<ProductImportErrorDTO> errors = new ArrayList<>();
+}
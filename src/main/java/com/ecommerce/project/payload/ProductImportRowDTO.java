@@ -0,0 +1,19 @@
+package com.ecommerce.project.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// İçe aktarma dosyasındaki bir ürün satırı (CSV sütunları veya NDJSON alanları).
+// specialPrice gönderilmez; price ve discount üzerinden hesaplanır.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportRowDTO {
+    private Long categoryId;
+    private String productName;
+    private String description;
+    private Integer quantity;
+    private Double price;
+    private Double discount;
+}
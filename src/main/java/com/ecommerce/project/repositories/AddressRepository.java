@@ -3,5 +3,10 @@ package com.ecommerce.project.repositories;
 import com.ecommerce.project.model.Address;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+
 public interface AddressRepository extends JpaRepository<Address, Long> {
+
+    // Kullanıcının adresleri; kullanıcı satırı yüklenmeden user_id ile sorgulanır.
+    List<Address> findByUserUserId(Long userId);
 }
@@ -12,4 +12,13 @@ public interface CartItemRepository extends JpaRepository<CartItem, Long> {
     @Modifying
     @Query("DELETE FROM CartItem ci WHERE ci.cart.id = ?1 AND ci.product.id = ?2")
     void deleteCartItemByProductIdAndCartId(Long cartId, Long productId);
+
+    // Sepetteki tüm satırları tek DELETE ile siler.
+    @Modifying
+    @Query("DELETE FROM CartItem ci WHERE ci.cart.id = ?1")
+    int deleteAllByCartId(Long cartId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE CartItem ci SET ci.productPrice = ?2 WHERE ci.product.id = ?1")
+    int updateProductPriceInCartItems(Long productId, double newPrice);
 }
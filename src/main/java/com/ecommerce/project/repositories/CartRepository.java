@@ -2,6 +2,7 @@ package com.ecommerce.project.repositories;
 
 import com.ecommerce.project.model.Cart;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
@@ -10,9 +11,27 @@ public interface CartRepository extends JpaRepository<Cart, Long> {
     @Query("SELECT c FROM Cart c WHERE c.user.email = ?1")
     Cart findCartByEmail(String email);
 
+    // Ödeme (checkout) için sepet, satırları ve ürünleri ile birlikte tek sorguda yüklenir.
+    @Query("SELECT DISTINCT c FROM Cart c LEFT JOIN FETCH c.cartItems ci LEFT JOIN FETCH ci.product WHERE c.user.email = ?1")
+    Cart findCartWithItemsByEmail(String email);
+
+    // Sepeti boşaltırken toplam tek ifadeyle sıfırlanır.
+    @Modifying
+    @Query("UPDATE Cart c SET c.totalPrice = 0 WHERE c.id = ?1")
+    int resetTotalPrice(Long cartId);
+
     @Query("SELECT c FROM Cart c WHERE c.user.email = ?1 AND c.id = ?2")
     Cart findCartByEmailAndCartId(String emailId, Long cartId);
 
     @Query("SELECT c FROM Cart c JOIN FETCH c.cartItems ci JOIN FETCH ci.product p WHERE p.id = ?1")
     List<Cart> findCartsByProductId(Long productId);
+
+    // Ürünü içeren tüm sepetlerin toplamını tek ifadede yeniden hesaplar:
+    // toplam - (eski fiyat * miktar) + (yeni fiyat * miktar). Satır fiyatları güncellenmeden önce çalışmalıdır.
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Cart c SET c.totalPrice = " +
+            "(SELECT c.totalPrice - (ci.productPrice * ci.quantity) + (CAST(?2 AS Double) * ci.quantity) " +
+            "FROM CartItem ci WHERE ci.cart = c AND ci.product.id = ?1) " +
+            "WHERE c.id IN (SELECT ci2.cart.id FROM CartItem ci2 WHERE ci2.product.id = ?1)")
+    int repriceCartTotalsForProduct(Long productId, double newPrice);
 }
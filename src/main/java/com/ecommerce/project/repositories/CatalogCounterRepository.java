@@ -0,0 +1,14 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.model.CatalogCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface CatalogCounterRepository extends JpaRepository<CatalogCounter, String> {
+
+    // Sayacı veritabanında verilen miktar kadar artırır; sayaç henüz yoksa 0 döner.
+    @Modifying
+    @Query("UPDATE CatalogCounter c SET c.version = c.version + ?2 WHERE c.name = ?1")
+    int increment(String name, long delta);
+}
@@ -0,0 +1,34 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.model.OrderOutbox;
+import com.ecommerce.project.model.OutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OrderOutboxRepository extends JpaRepository<OrderOutbox, Long> {
+
+    @Query("SELECT o.outboxId FROM OrderOutbox o WHERE o.status = ?1 AND o.nextAttemptAt <= ?2 ORDER BY o.outboxId")
+    List<Long> findDueIds(OutboxStatus status, LocalDateTime now, Pageable limit);
+
+    // Kaydı koşullu olarak alır; aynı kaydı iki işçi aynı anda alamaz. Alındıysa 1 döner.
+    @Modifying
+    @Query("UPDATE OrderOutbox o SET o.status = ?3, o.claimedAt = ?4, o.claimToken = ?5 WHERE o.outboxId = ?1 AND o.status = ?2")
+    int claim(Long outboxId, OutboxStatus from, OutboxStatus to, LocalDateTime now, String claimToken);
+
+    // Alınmış kaydı sonuçlandırır; sadece kayıt hâlâ PROCESSING durumundaysa ve belirteç bu işçiye aitse 1 döner.
+    @Modifying
+    @Query("UPDATE OrderOutbox o SET o.status = ?4, o.attempts = ?5, o.nextAttemptAt = ?6, o.lastError = ?7 "
+            + "WHERE o.outboxId = ?1 AND o.status = ?2 AND o.claimToken = ?3")
+    int completeClaim(Long outboxId, OutboxStatus claimed, String claimToken, OutboxStatus to, int attempts,
+                      LocalDateTime nextAttemptAt, String lastError);
+
+    // Çöken veya kapanan bir işçide kalmış kayıtları yeniden bekleyen duruma alır.
+    @Modifying
+    @Query("UPDATE OrderOutbox o SET o.status = ?2 WHERE o.status = ?1 AND o.claimedAt < ?3")
+    int releaseStale(OutboxStatus from, OutboxStatus to, LocalDateTime claimedBefore);
+}
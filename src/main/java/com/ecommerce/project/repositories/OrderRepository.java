@@ -2,6 +2,8 @@ package com.ecommerce.project.repositories;
 
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.ecommerce.project.model.Order;
@@ -9,4 +11,7 @@ import com.ecommerce.project.model.Order;
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
-}
\ No newline at end of file
+    @Modifying
+    @Query("UPDATE Order o SET o.orderStatus = ?2 WHERE o.orderId = ?1")
+    int updateOrderStatus(Long orderId, String orderStatus);
+}
@@ -2,14 +2,50 @@ package com.ecommerce.project.repositories;
 
 import com.ecommerce.project.model.Category;
 import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.ProductDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
     Page<Product> findByCategoryOrderByPriceAsc(Category category, Pageable pageDetails);
 
+    // Kategoride aynı isimli ürün var mı? İsim Product.normalizeName ile verilir; (category_id, normalized_name)
+    // benzersiz indeksinde tek bir anahtar aranır, ürünler yüklenmez.
+    boolean existsByCategoryAndNormalizedName(Category category, String normalizedName);
+
+    // Katalog sayfaları için salt okunur projeksiyon: sadece DTO alanları seçilir,
+    // Product varlığı ve ilişkileri (kategori, satıcı, sepet satırları) hiç yüklenmez.
+    @Query(value = "SELECT new com.ecommerce.project.payload.ProductDTO(p.productId, p.productName, p.image, " +
+            "p.description, p.quantity, p.price, p.discount, p.specialPrice) FROM Product p",
+            countQuery = "SELECT COUNT(p) FROM Product p")
+    Page<ProductDTO> findAllProductDTOs(Pageable pageDetails);
+
+    @Query(value = "SELECT new com.ecommerce.project.payload.ProductDTO(p.productId, p.productName, p.image, " +
+            "p.description, p.quantity, p.price, p.discount, p.specialPrice) FROM Product p " +
+            "WHERE p.category = ?1 ORDER BY p.price ASC",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.category = ?1")
+    Page<ProductDTO> findProductDTOsByCategory(Category category, Pageable pageDetails);
+
     Page<Product> findByProductNameLikeIgnoreCase(String keyword, Pageable pageDetails);
+
+    Page<Product> findByProductIdIn(Collection<Long> productIds, Pageable pageDetails);
+
+    List<Product> findByProductIdIn(Collection<Long> productIds, Sort sort);
+
+    // Arama indeksini oluşturmak için sadece gerekli alanlar ID sırasına göre çekilir.
+    @Query("SELECT p.productId, p.productName, p.description FROM Product p ORDER BY p.productId")
+    List<Object[]> findAllSearchableFields();
+
+    // Toplu içe aktarmada aynı isimli ürün kontrolü için kategorideki ürün adları.
+    @Query("SELECT p.productName FROM Product p WHERE p.category.categoryId = ?1")
+    List<String> findProductNamesByCategoryId(Long categoryId);
 }
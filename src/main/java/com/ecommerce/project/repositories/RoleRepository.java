@@ -2,10 +2,15 @@ package com.ecommerce.project.repositories;
 
 import com.ecommerce.project.model.AppRole;
 import com.ecommerce.project.model.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 
 public interface RoleRepository extends JpaRepository<Role, Long> {
+    // Kayıt sırasında her istekte çağrılır; sonuç sorgu önbelleğinde, rol ise ikinci seviye önbellekte tutulur.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Role> findByRoleName(AppRole appRole);
 }
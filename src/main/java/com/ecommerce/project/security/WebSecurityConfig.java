@@ -6,6 +6,7 @@ import com.ecommerce.project.model.User;
 import com.ecommerce.project.repositories.RoleRepository;
 import com.ecommerce.project.repositories.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -23,6 +24,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 
 import com.ecommerce.project.security.jwt.AuthEntryPointJwt;
 import com.ecommerce.project.security.jwt.AuthTokenFilter;
+import com.ecommerce.project.security.services.PrincipalCache;
 import com.ecommerce.project.security.services.UserDetailsServiceImpl;
 
 import java.util.Set;
@@ -56,6 +58,9 @@ public class WebSecurityConfig {
         // Şifreleri şifrelemek ve karşılaştırmak için passwordEncoder kullanılır.
         authProvider.setPasswordEncoder(passwordEncoder());
 
+        // Eski (düşük maliyetli) şifreler başarılı girişte yeni maliyetle tekrar şifrelenip kaydedilir.
+        authProvider.setUserDetailsPasswordService(userDetailsService);
+
         return authProvider;
     }
 
@@ -65,10 +70,18 @@ public class WebSecurityConfig {
         return authConfig.getAuthenticationManager();
     }
 
+    // BCrypt maliyet faktörü (4-31). Her artış doğrulama süresini iki katına çıkarır.
+    @Value("${spring.app.auth.bcryptStrength:10}")
+    private int bcryptStrength;
+
+    // Actuator uç noktalarının sunulduğu ayrı port; tanımlı değilse (-1) uç noktalar uygulama portundadır.
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     // BCrypt şifreleyici kullanarak şifrelerin şifrelenmesini sağlar.
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     // HTTP güvenlik ayarlarını yapar. SecurityFilterChain ile güvenlik politikaları belirlenir.
@@ -86,6 +99,9 @@ public class WebSecurityConfig {
                                 .requestMatchers("/swagger-ui/**").permitAll()  // Swagger UI erişime açık.
                                 .requestMatchers("/api/test/**").permitAll()  // Test API'lerine erişime izin verilir.
                                 .requestMatchers("/images/**").permitAll()  // Görsellerin herkes tarafından erişilebilir olmasını sağlar.
+                                .requestMatchers(request -> managementPort > 0 && request.getLocalPort() == managementPort).permitAll()  // Ayrı yönetim portu (Prometheus toplayıcısı) dışarıya açılmaz, kimlik doğrulaması istenmez.
+                                .requestMatchers("/actuator/health").permitAll()  // Sağlık kontrolü herkese açık.
+                                .requestMatchers("/actuator/**").hasRole("ADMIN")  // Uygulama portunda metrikleri sadece yöneticiler okuyabilir.
                                 .anyRequest().authenticated()  // Diğer tüm istekler kimlik doğrulaması gerektirir.
                 );
 
@@ -114,7 +130,8 @@ public class WebSecurityConfig {
 
     // Uygulama başlatıldığında çalışan bir veri yükleyici. Kullanıcı ve rol verilerini başlatır.
     @Bean
-    public CommandLineRunner initData(RoleRepository roleRepository, UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public CommandLineRunner initData(RoleRepository roleRepository, UserRepository userRepository, PasswordEncoder passwordEncoder,
+                                      PrincipalCache principalCache) {
         return args -> {
             // Kullanıcı rolü olup olmadığını kontrol eder, yoksa yeni rol oluşturur.
             Role userRole = roleRepository.findByRoleName(AppRole.ROLE_USER)
@@ -164,18 +181,21 @@ public class WebSecurityConfig {
             userRepository.findByUserName("user1").ifPresent(user -> {
                 user.setRoles(userRoles);  // Kullanıcıya sadece `ROLE_USER` atanır.
                 userRepository.save(user);  // Güncellenmiş kullanıcı veri tabanına kaydedilir.
+                principalCache.evict(user.getUserName());  // Roller değiştiği için önbellekteki kullanıcı bilgisi silinir.
             });
 
             // `seller1` adındaki satıcının rollerini günceller.
             userRepository.findByUserName("seller1").ifPresent(seller -> {
                 seller.setRoles(sellerRoles);  // Satıcıya sadece `ROLE_SELLER` atanır.
                 userRepository.save(seller);  // Güncellenmiş satıcı veri tabanına kaydedilir.
+                principalCache.evict(seller.getUserName());
             });
 
             // `admin` adındaki kullanıcının rollerini günceller.
             userRepository.findByUserName("admin").ifPresent(admin -> {
                 admin.setRoles(adminRoles);  // Yöneticiye tüm roller atanır (`ROLE_USER`, `ROLE_SELLER`, `ROLE_ADMIN`).
                 userRepository.save(admin);  // Güncellenmiş yönetici veri tabanına kaydedilir.
+                principalCache.evict(admin.getUserName());
             });
         };
     }
@@ -1,6 +1,8 @@
 package com.ecommerce.project.security.jwt;
 
+import com.ecommerce.project.security.services.PrincipalCache;
 import com.ecommerce.project.security.services.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -27,6 +29,9 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
     // Logger, sınıftaki olayları ve hataları loglamak için kullanılır.
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
@@ -42,14 +47,22 @@ public class AuthTokenFilter extends OncePerRequestFilter {
             // HTTP isteğinden JWT token'ını alır.
             String jwt = parseJwt(request);
 
-            // Eğer JWT token mevcut ve geçerliyse, kullanıcı doğrulama işlemleri yapılır.
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
+            // JWT token mevcutsa tek seferde doğrulanır ve içindeki bilgiler (claims) alınır.
+            Claims claims = jwt != null ? jwtUtils.parseJwtToken(jwt) : null;
 
-                // JWT'den kullanıcı adını alır.
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
+            // Eğer JWT token geçerliyse, kullanıcı doğrulama işlemleri yapılır.
+            if (claims != null) {
 
-                // Kullanıcı adını kullanarak veritabanından kullanıcı bilgilerini yükler.
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                // JWT'den kullanıcı adını alır.
+                String username = claims.getSubject();
+
+                // Kullanıcı bilgileri önce önbellekten alınır; yoksa veritabanından yüklenip önbelleğe konur.
+                long issuedAt = claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : 0L;
+                UserDetails userDetails = principalCache.get(username, issuedAt);
+                if (userDetails == null) {
+                    userDetails = userDetailsService.loadUserByUsername(username);
+                    principalCache.put(username, issuedAt, userDetails);
+                }
 
                 // Kullanıcının kimlik doğrulamasını temsil eden bir nesne oluşturur.
                 UsernamePasswordAuthenticationToken authentication =
@@ -4,6 +4,7 @@ import com.ecommerce.project.security.services.UserDetailsImpl;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
@@ -15,7 +16,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.util.WebUtils;
 
 import javax.crypto.SecretKey;
-import java.security.Key;
 import java.util.Date;
 
 @Component
@@ -36,6 +36,18 @@ public class JwtUtils {
     @Value("${spring.ecom.app.jwtCookieName}")
     private String jwtCookie;
 
+    // İmzalama anahtarı ve ayrıştırıcı (parser) bir kez oluşturulup tüm isteklerde yeniden kullanılır.
+    // Her çağrıda jwtSecret'i base64 ile çözmek ve yeni bir parser kurmak gereksiz maliyettir.
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    public void init() {
+        // jwtSecret'i base64 ile çözer ve HMACSHA ile bir anahtar oluşturur
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        jwtParser = Jwts.parser().verifyWith(signingKey).build();
+    }
+
     // JWT token'ını cookie'den alan metod
     public String getJwtFromCookies(HttpServletRequest request) {
         // İstekten ilgili JWT cookie'sini bulur
@@ -80,31 +92,26 @@ public class JwtUtils {
                 .subject(username) // Kullanıcı adı (subject) JWT'nin payload'ına eklenir
                 .issuedAt(new Date()) // Token'ın oluşturulma zamanı
                 .expiration(new Date((new Date()).getTime() + jwtExpirationMs)) // Token'ın geçerlilik süresi eklenir
-                .signWith(key()) // Token'ı gizli anahtar ile imzalar
+                .signWith(signingKey) // Token'ı gizli anahtar ile imzalar
                 .compact(); // JWT token'ı string hale getirir
     }
 
     // JWT token'ından kullanıcı adını alır
     public String getUserNameFromJwtToken(String token) {
-        // JWT token'ı doğrular ve içindeki bilgileri alır
-        return Jwts.parser()
-                .verifyWith((SecretKey) key()) // Gizli anahtarı kullanarak token'ı doğrular
-                .build().parseSignedClaims(token) // Token'ı ayrıştırır
-                .getPayload().getSubject(); // Token'ın içindeki kullanıcı adını (subject) döner
-    }
-
-    // Gizli anahtarı base64 ile şifreleyerek elde eden metod
-    private Key key() {
-        // jwtSecret'i base64 ile çözer ve HMACSHA ile bir anahtar oluşturur
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        // JWT token'ı doğrular ve içindeki kullanıcı adını (subject) döner
+        return jwtParser.parseSignedClaims(token).getPayload().getSubject();
     }
 
     // JWT token'ını doğrulayan metod
     public boolean validateJwtToken(String authToken) {
+        return parseJwtToken(authToken) != null;
+    }
+
+    // JWT token'ını tek seferde doğrular ve içindeki bilgileri (claims) döner.
+    // Token geçersizse hata loglanır ve null döner. Filtre token'ı bu metodla bir kez ayrıştırır.
+    public Claims parseJwtToken(String authToken) {
         try {
-            // JWT token'ı doğrular
-            Jwts.parser().verifyWith((SecretKey) key()).build().parseSignedClaims(authToken);
-            return true;
+            return jwtParser.parseSignedClaims(authToken).getPayload();
         } catch (MalformedJwtException e) {
             // Token formatı geçersizse hata mesajı loglanır
             logger.error("Invalid JWT token: {}", e.getMessage());
@@ -118,6 +125,6 @@ public class JwtUtils {
             // Token'da gerekli bilgiler eksikse hata mesajı loglanır
             logger.error("JWT claims string is empty: {}", e.getMessage());
         }
-        return false; // Token geçersizse false döner
+        return null; // Token geçersizse null döner
     }
 }
@@ -0,0 +1,85 @@
+package com.ecommerce.project.security.services;
+
+import com.ecommerce.project.exceptions.ServiceUnavailableException;
+import com.ecommerce.project.payload.ExecutorStatsDTO;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+// BCrypt doğrulama ve şifreleme işlemleri için ayrılmış, boyutu sınırlı iş havuzu.
+// BCrypt bilerek yavaş ve işlemci yoğundur; giriş yoğunluğunda (örn. kampanya başlangıcı) tüm istek thread'leri
+// şifre doğrulamakla meşgul olup diğer uç noktaları aç bırakabilir. Bu havuz aynı anda en fazla `threads` doğrulama
+// çalıştırır ve en fazla `queueCapacity` isteği bekletir. Kuyruk doluysa istek beklemeden reddedilir (503 + Retry-After);
+// bekleme süresi timeoutMs'i aşarsa da istek reddedilir. Böylece şifre doğrulamayı bekleyen istek thread'i sayısı sınırlı kalır.
+@Component
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+
+    private final int queueCapacity;
+
+    private final long timeoutMs;
+
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+
+    public PasswordHashingExecutor(@Value("${spring.app.auth.hashing.threads:0}") int threads,
+                                   @Value("${spring.app.auth.hashing.queueCapacity:64}") int queueCapacity,
+                                   @Value("${spring.app.auth.hashing.timeoutMs:5000}") long timeoutMs) {
+        // threads verilmezse işlemci sayısı kadar thread kullanılır; BCrypt işlemci sınırlıdır, fazlası fayda getirmez.
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.queueCapacity = queueCapacity;
+        this.timeoutMs = timeoutMs;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("password-hashing-", 1).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // İşi havuzda çalıştırır ve sonucunu bekler. İşin fırlattığı RuntimeException (örn. BadCredentialsException)
+    // olduğu gibi çağırana iletilir. Havuz doluysa veya süre aşılırsa ServiceUnavailableException fırlatılır.
+    public <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw busy();
+        }
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.incrementAndGet();
+            throw busy();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public ExecutorStatsDTO stats() {
+        return new ExecutorStatsDTO("password-hashing", executor.getPoolSize(), executor.getActiveCount(),
+                executor.getQueue().size(), queueCapacity, executor.getCompletedTaskCount(),
+                rejected.get(), timedOut.get());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private ServiceUnavailableException busy() {
+        return new ServiceUnavailableException("Too many sign-in requests, please try again shortly",
+                Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMs)));
+    }
+}
@@ -0,0 +1,144 @@
+package com.ecommerce.project.security.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Doğrulanmış JWT'ler için kullanıcı bilgilerini (UserDetails) bellekte tutan önbellek.
+// Anahtar: kullanıcı adı + token'ın oluşturulma zamanı. Böylece her istekte users ve roles
+// tablolarına gidilmez; yeni giriş yapıldığında yeni token yeni bir kayıt oluşturur.
+// Kayıtlar TTL sonunda düşer, önbellek maksimum boyutu aşamaz.
+@Component
+public class PrincipalCache {
+
+    // Önbellekte tutulacak maksimum kayıt sayısı.
+    @Value("${spring.app.principalCache.maxSize:10000}")
+    private int maxSize;
+
+    // Bir kaydın önbellekte kalma süresi (milisaniye).
+    @Value("${spring.app.principalCache.ttlMs:300000}")
+    private long ttlMs;
+
+    // Kullanıcı adı -> (token oluşturulma zamanı -> kayıt). Kullanıcının tüm kayıtları tek adımda silinebilir.
+    // İç haritalar sadece dış haritanın compute* metotları içinde değiştirilir; okumalar kilitsizdir.
+    private final Map<String, Map<Long, Entry>> entries = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    // Önbelleği boyutlandırmak için sayaçlar.
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    // Önbellekte geçerli bir kayıt varsa döner, yoksa null döner.
+    public UserDetails get(String username, long issuedAt) {
+        Map<Long, Entry> tokens = entries.get(username);
+        Entry entry = tokens == null ? null : tokens.get(issuedAt);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (entry.expiresAt() < System.currentTimeMillis()) {
+            remove(username, issuedAt, entry);
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.principal();
+    }
+
+    public void put(String username, long issuedAt, UserDetails principal) {
+        if (size.get() >= maxSize) {
+            evictForSpace();
+        }
+        Entry entry = new Entry(principal, System.currentTimeMillis() + ttlMs);
+        entries.compute(username, (key, tokens) -> {
+            if (tokens == null) {
+                tokens = new ConcurrentHashMap<>();
+            }
+            if (tokens.put(issuedAt, entry) == null) {
+                size.incrementAndGet();
+            }
+            return tokens;
+        });
+    }
+
+    // Kullanıcının rolleri veya şifresi değiştiğinde tüm kayıtlarını siler.
+    public void evict(String username) {
+        Map<Long, Entry> tokens = entries.remove(username);
+        if (tokens != null) {
+            size.addAndGet(-tokens.size());
+            evictions.addAndGet(tokens.size());
+        }
+    }
+
+    public void clear() {
+        entries.keySet().forEach(username -> entries.computeIfPresent(username, (key, tokens) -> {
+            size.addAndGet(-tokens.size());
+            return null;
+        }));
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    // Önce süresi dolmuş kayıtlar silinir; yer açılmadıysa süresi en yakın olan %10'luk kısım atılır.
+    // Toplu silme, önbellek doluyken her yeni kayıtta tüm haritanın taranmasını önler.
+    private synchronized void evictForSpace() {
+        if (size.get() < maxSize) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<Candidate> candidates = new ArrayList<>();
+        entries.forEach((username, tokens) -> tokens.forEach((issuedAt, entry) -> {
+            if (entry.expiresAt() < now) {
+                remove(username, issuedAt, entry);
+            } else {
+                candidates.add(new Candidate(username, issuedAt, entry));
+            }
+        }));
+        if (size.get() >= maxSize) {
+            candidates.stream()
+                    .sorted(Comparator.comparingLong(candidate -> candidate.entry().expiresAt()))
+                    .limit(Math.max(1, maxSize / 10))
+                    .forEach(candidate -> remove(candidate.username(), candidate.issuedAt(), candidate.entry()));
+        }
+    }
+
+    // Kayıt hâlâ aynıysa siler; kullanıcının son kaydı silinirse iç harita da kaldırılır.
+    private void remove(String username, long issuedAt, Entry entry) {
+        entries.computeIfPresent(username, (key, tokens) -> {
+            if (tokens.remove(issuedAt, entry)) {
+                size.decrementAndGet();
+                evictions.incrementAndGet();
+            }
+            return tokens.isEmpty() ? null : tokens;
+        });
+    }
+
+    private record Candidate(String username, long issuedAt, Entry entry) {
+    }
+
+    private record Entry(UserDetails principal, long expiresAt) {
+    }
+}
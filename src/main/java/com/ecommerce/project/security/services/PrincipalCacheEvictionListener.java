@@ -0,0 +1,35 @@
+package com.ecommerce.project.security.services;
+
+import com.ecommerce.project.model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// User varlığı güncellendiğinde (örn. şifre) veya silindiğinde önbellekteki kullanıcı bilgilerini geçersiz kılar.
+// Hibernate bu sınıfı Spring üzerinden oluşturduğu için bağımlılıklar enjekte edilebilir.
+// @PostUpdate/@PostRemove işlem onaylanmadan (flush sırasında) çalışır; bu arada gelen bir istek kullanıcıyı
+// veritabanındaki eski haliyle tekrar önbelleğe koyabilir. Bu yüzden işlem onaylandıktan sonra bir kez daha silinir.
+// Sadece roller koleksiyonu değiştiğinde @PostUpdate tetiklenmeyebilir; rolleri değiştiren kod
+// ayrıca PrincipalCache.evict çağırmalıdır.
+public class PrincipalCacheEvictionListener {
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @PostUpdate
+    @PostRemove
+    public void evict(User user) {
+        String username = user.getUserName();
+        principalCache.evict(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    principalCache.evict(username);
+                }
+            });
+        }
+    }
+}
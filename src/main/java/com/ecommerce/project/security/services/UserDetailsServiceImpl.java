@@ -4,6 +4,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -13,7 +14,7 @@ import com.ecommerce.project.model.User;
 import com.ecommerce.project.repositories.UserRepository;
 
 @Service // Spring'e bu sınıfın bir servis olduğunu ve yönetilmesi gerektiğini belirtir.
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
     @Autowired
     UserRepository userRepository;
 
@@ -26,5 +27,15 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         return UserDetailsImpl.build(user);
     }
 
-
-}
\ No newline at end of file
+    // Girişte, kayıtlı şifre yapılandırılan BCrypt maliyetinden (spring.app.auth.bcryptStrength) düşük bir maliyetle
+    // şifrelenmişse DaoAuthenticationProvider şifreyi yeni maliyetle tekrar şifreler ve bu metodu çağırır.
+    // Böylece maliyet artırıldığında kullanıcılar bir sonraki girişlerinde fark etmeden yeni maliyete geçer.
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByUserName(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + userDetails.getUsername()));
+        user.setPassword(newPassword);
+        return UserDetailsImpl.build(userRepository.save(user));
+    }
+}
@@ -1,18 +1,17 @@
 package com.ecommerce.project.service;
 
-import com.ecommerce.project.model.User;
 import com.ecommerce.project.payload.AddressDTO;
 
 import java.util.List;
 
 public interface AddressService {
-    AddressDTO createAddress(AddressDTO addressDTO, User user);
+    AddressDTO createAddress(AddressDTO addressDTO, Long userId);
 
     List<AddressDTO> getAddresses();
 
     AddressDTO getAddressesById(Long addressId);
 
-    List<AddressDTO> getUserAddresses(User user);
+    List<AddressDTO> getUserAddresses(Long userId);
 
     AddressDTO updateAddress(Long addressId, AddressDTO addressDTO);
 
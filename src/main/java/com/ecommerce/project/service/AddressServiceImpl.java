@@ -1,12 +1,12 @@
 package com.ecommerce.project.service;
 
 import com.ecommerce.project.exceptions.ResourceNotFoundException;
+import com.ecommerce.project.mapper.AddressMapper;
 import com.ecommerce.project.model.Address;
 import com.ecommerce.project.model.User;
 import com.ecommerce.project.payload.AddressDTO;
 import com.ecommerce.project.repositories.AddressRepository;
 import com.ecommerce.project.repositories.UserRepository;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -19,9 +19,9 @@ public class AddressServiceImpl implements AddressService{
     @Autowired
     private AddressRepository addressRepository;
 
-    // ModelMapper, Entity ve DTO'lar arasında otomatik dönüşümler sağlar.
+    // AddressMapper, Entity ve DTO'lar arasında dönüşümleri sağlar.
     @Autowired
-    private ModelMapper modelMapper;
+    private AddressMapper addressMapper;
 
     // UserRepository, kullanıcıya ait veritabanı işlemleri için kullanılır.
     @Autowired
@@ -30,25 +30,18 @@ public class AddressServiceImpl implements AddressService{
 
     //Yeni bir adres ekle ve bu adresi kullanıcıya ekle
     @Override
-    public AddressDTO createAddress(AddressDTO addressDTO, User user) {
+    public AddressDTO createAddress(AddressDTO addressDTO, Long userId) {
         //AddressDTO nesnesini entity'ye dönüştür
-        Address address = modelMapper.map(addressDTO, Address.class);
+        Address address = addressMapper.toEntity(addressDTO);
 
-        //Adresin kullanıcı bilgisi
-        address.setUser(user);
-
-        //Kullanıcının mevcut adres listesini alır ve yeni adres ekler
-        List<Address> addressesList = user.getAddresses();
-        addressesList.add(address);
-
-        //Güncellenen adres listesini kullanıcıya atar
-        user.setAddresses(addressesList);
+        //Adresin kullanıcı bilgisi; ilişkiyi adres tuttuğu için kullanıcı ve adres listesi yüklenmez
+        address.setUser(userRepository.getReferenceById(userId));
 
         //Adresi db'ye kaydet
         Address savedAddress = addressRepository.save(address);
 
         //Kaydedilen adresi DTO'ya dönüştür ve postala usta
-        return modelMapper.map(savedAddress, AddressDTO.class);
+        return addressMapper.toDTO(savedAddress);
     }
 
     // Tüm adresleri getirir ve AddressDTO listesi olarak döner.
@@ -59,7 +52,7 @@ public class AddressServiceImpl implements AddressService{
 
         // Her bir adresi DTO'ya dönüştürür ve listeye ekler.
         return addresses.stream()
-                .map(address -> modelMapper.map(address, AddressDTO.class))
+                .map(addressMapper::toDTO)
                 .toList();
     }
 
@@ -71,18 +64,18 @@ public class AddressServiceImpl implements AddressService{
                 .orElseThrow(() -> new ResourceNotFoundException("Address", "addressId", addressId));
 
         // Bulunan adresi DTO'ya dönüştürür ve geri döner.
-        return modelMapper.map(address, AddressDTO.class);
+        return addressMapper.toDTO(address);
     }
 
     // Verilen kullanıcının sahip olduğu tüm adresleri getirir ve DTO listesi olarak döner.
     @Override
-    public List<AddressDTO> getUserAddresses(User user) {
+    public List<AddressDTO> getUserAddresses(Long userId) {
         // Kullanıcının adreslerini alır.
-        List<Address> addresses = user.getAddresses();
+        List<Address> addresses = addressRepository.findByUserUserId(userId);
 
         // Her bir adresi DTO'ya dönüştürür ve listeye ekler.
         return addresses.stream()
-                .map(address -> modelMapper.map(address, AddressDTO.class))
+                .map(addressMapper::toDTO)
                 .toList();
     }
 
@@ -113,7 +106,7 @@ public class AddressServiceImpl implements AddressService{
         userRepository.save(user);
 
         // Güncellenen adresi DTO'ya dönüştürür ve geri döner.
-        return modelMapper.map(updatedAddress, AddressDTO.class);
+        return addressMapper.toDTO(updatedAddress);
     }
 
     // Belirtilen ID'ye sahip adresi siler.
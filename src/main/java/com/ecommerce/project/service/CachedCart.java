@@ -0,0 +1,159 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.payload.CartDTO;
+import com.ecommerce.project.payload.ProductDTO;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Bellekte tutulan tek bir kullanıcı sepeti. Tüm okuma/yazmalar lock() altında yapılmalıdır.
+// Her değişiklik sürümü (version) artırır; veritabanına yazılan son sürüm flushedVersion'da tutulur.
+// ReentrantLock, sanal thread'lerde (virtual threads) synchronized'ın aksine taşıyıcı thread'i kilitlemez.
+final class CachedCart {
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Aynı sepetin aynı anda iki farklı işlemde veritabanına yazılmasını engeller.
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final String email;
+    private final Long cartId;
+
+    // Ürün ID -> sepet satırı, eklenme sırasıyla.
+    private final Map<Long, Line> lines = new LinkedHashMap<>();
+
+    private long version;
+    private long flushedVersion;
+    private volatile long lastAccess = System.currentTimeMillis();
+
+    // Bellekten çıkarılan sepete artık yazılmaz; elinde eski referans olan çağıran sepeti yeniden yüklemelidir.
+    private boolean evicted;
+
+    CachedCart(String email, Long cartId) {
+        this.email = email;
+        this.cartId = cartId;
+    }
+
+    void lock() {
+        lock.lock();
+    }
+
+    void unlock() {
+        lock.unlock();
+    }
+
+    ReentrantLock flushLock() {
+        return flushLock;
+    }
+
+    String getEmail() {
+        return email;
+    }
+
+    Long getCartId() {
+        return cartId;
+    }
+
+    long getLastAccess() {
+        return lastAccess;
+    }
+
+    void touch() {
+        lastAccess = System.currentTimeMillis();
+    }
+
+    boolean isEvicted() {
+        return evicted;
+    }
+
+    void markEvicted() {
+        evicted = true;
+    }
+
+    Line getLine(Long productId) {
+        return lines.get(productId);
+    }
+
+    void putLine(ProductDTO product, int quantity, double discount, double productPrice) {
+        lines.put(product.getProductId(), new Line(product, quantity, discount, productPrice));
+        version++;
+    }
+
+    Line removeLine(Long productId) {
+        Line removed = lines.remove(productId);
+        if (removed != null) {
+            version++;
+        }
+        return removed;
+    }
+
+    void markDirty() {
+        version++;
+    }
+
+    boolean isDirty() {
+        return version != flushedVersion;
+    }
+
+    // Veritabanından yeni yüklenen sepet temiz kabul edilir.
+    void markClean() {
+        flushedVersion = version;
+    }
+
+    // Yazılan sürüm hâlâ güncelse sepet temiz sayılır; yazma sırasında yeni değişiklik geldiyse kirli kalır.
+    void markFlushed(long flushed) {
+        flushedVersion = Math.max(flushedVersion, flushed);
+    }
+
+    // Toplam fiyat satırlardan hesaplanır; artımlı güncellemelerdeki yuvarlama hataları birikmez.
+    double totalPrice() {
+        double total = 0;
+        for (Line line : lines.values()) {
+            total += line.productPrice * line.quantity;
+        }
+        return total;
+    }
+
+    CartDTO toDTO() {
+        List<ProductDTO> products = new ArrayList<>(lines.size());
+        for (Line line : lines.values()) {
+            ProductDTO product = line.product;
+            products.add(new ProductDTO(product.getProductId(), product.getProductName(), product.getImage(),
+                    product.getDescription(), line.quantity, product.getPrice(), product.getDiscount(),
+                    product.getSpecialPrice()));
+        }
+        return new CartDTO(cartId, totalPrice(), products);
+    }
+
+    // Veritabanına yazılmak üzere sepetin o anki halinin değişmez bir kopyası.
+    Snapshot snapshot() {
+        List<Snapshot.LineSnapshot> copy = new ArrayList<>(lines.size());
+        for (Line line : lines.values()) {
+            copy.add(new Snapshot.LineSnapshot(line.product.getProductId(), line.quantity, line.discount, line.productPrice));
+        }
+        return new Snapshot(email, cartId, version, totalPrice(), Collections.unmodifiableList(copy));
+    }
+
+    static final class Line {
+        ProductDTO product; // Ürünün sepete eklendiği andaki görüntüsü
+        int quantity;
+        double discount;
+        double productPrice;
+
+        Line(ProductDTO product, int quantity, double discount, double productPrice) {
+            this.product = product;
+            this.quantity = quantity;
+            this.discount = discount;
+            this.productPrice = productPrice;
+        }
+    }
+
+    record Snapshot(String email, Long cartId, long version, double totalPrice, List<LineSnapshot> lines) {
+        record LineSnapshot(Long productId, int quantity, double discount, double productPrice) {
+        }
+    }
+}
@@ -12,10 +12,22 @@ public interface CartService {
 
     CartDTO getCart(String emailId, Long cartId);
 
+    CartDTO getCartByEmail(String emailId);
+
     @Transactional
     CartDTO updateProductQuantityInCart(Long productId, Integer quantity);
 
     String deleteProductFromCart(Long cartId, Long productId);
 
     void updateProductInCarts(Long cartId, Long productId);
+
+    void removeProductFromCarts(Long productId);
+
+    @Transactional
+    void clearCart(Long cartId);
+
+    void prepareCartForCheckout(String emailId);
+
+    @Transactional
+    int updateProductPriceInCarts(Long productId, double newPrice);
 }
@@ -2,23 +2,21 @@ package com.ecommerce.project.service;
 
 import com.ecommerce.project.exceptions.APIException;
 import com.ecommerce.project.exceptions.ResourceNotFoundException;
+import com.ecommerce.project.mapper.CartMapper;
 import com.ecommerce.project.model.Cart;
 import com.ecommerce.project.model.CartItem;
 import com.ecommerce.project.model.Product;
 import com.ecommerce.project.payload.CartDTO;
-import com.ecommerce.project.payload.ProductDTO;
 import com.ecommerce.project.repositories.CartItemRepository;
 import com.ecommerce.project.repositories.CartRepository;
 import com.ecommerce.project.repositories.ProductRepository;
 import com.ecommerce.project.util.AuthUtil;
 import jakarta.transaction.Transactional;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Service
 public class CartServiceImpl implements CartService{
@@ -35,7 +33,7 @@ public class CartServiceImpl implements CartService{
     CartItemRepository cartItemRepository;
 
     @Autowired
-    ModelMapper modelMapper;
+    CartMapper cartMapper;
 
     @Override
     public CartDTO addProductToCart(Long productId, Integer quantity) {
@@ -75,19 +73,7 @@ public class CartServiceImpl implements CartService{
 
         cartRepository.save(cart);
 
-        CartDTO cartDTO = modelMapper.map(cart, CartDTO.class);
-
-        List<CartItem> cartItems = cart.getCartItems();
-
-        Stream<ProductDTO> productStream = cartItems.stream().map(item -> {
-            ProductDTO map = modelMapper.map(item.getProduct(), ProductDTO.class);
-            map.setQuantity(item.getQuantity());
-            return map;
-        });
-
-        cartDTO.setProducts(productStream.toList());
-
-        return cartDTO;
+        return cartMapper.toDTO(cart);
     }
 
     @Override
@@ -98,21 +84,9 @@ public class CartServiceImpl implements CartService{
             throw new APIException("No cart exists");
         }
 
-        List<CartDTO> cartDTOs = carts.stream().map(cart -> {
-            CartDTO cartDTO = modelMapper.map(cart, CartDTO.class);
-
-            List<ProductDTO> products = cart.getCartItems().stream().map(cartItem -> {
-                ProductDTO productDTO = modelMapper.map(cartItem.getProduct(), ProductDTO.class);
-                productDTO.setQuantity(cartItem.getQuantity()); // Set the quantity from CartItem
-                return productDTO;
-            }).collect(Collectors.toList());
-
-
-            cartDTO.setProducts(products);
-
-            return cartDTO;
-
-        }).collect(Collectors.toList());
+        List<CartDTO> cartDTOs = carts.stream()
+                .map(cartMapper::toDTO) // Quantity comes from the CartItem
+                .collect(Collectors.toList());
 
         return cartDTOs;
     }
@@ -123,14 +97,16 @@ public class CartServiceImpl implements CartService{
         if (cart == null){
             throw new ResourceNotFoundException("Cart", "cartId", cartId);
         }
-        CartDTO cartDTO = modelMapper.map(cart, CartDTO.class);
-        cart.getCartItems().forEach(c ->
-                c.getProduct().setQuantity(c.getQuantity()));
-        List<ProductDTO> products = cart.getCartItems().stream()
-                .map(p -> modelMapper.map(p.getProduct(), ProductDTO.class))
-                .toList();
-        cartDTO.setProducts(products);
-        return cartDTO;
+        return cartMapper.toDTO(cart);
+    }
+
+    @Override
+    public CartDTO getCartByEmail(String emailId) {
+        Cart cart = cartRepository.findCartByEmail(emailId);
+        if (cart == null) {
+            throw new ResourceNotFoundException("Cart", "email", emailId);
+        }
+        return cartMapper.toDTO(cart);
     }
 
     @Transactional
@@ -186,20 +162,7 @@ public class CartServiceImpl implements CartService{
         }
 
 
-        CartDTO cartDTO = modelMapper.map(cart, CartDTO.class);
-
-        List<CartItem> cartItems = cart.getCartItems();
-
-        Stream<ProductDTO> productStream = cartItems.stream().map(item -> {
-            ProductDTO prd = modelMapper.map(item.getProduct(), ProductDTO.class);
-            prd.setQuantity(item.getQuantity());
-            return prd;
-        });
-
-
-        cartDTO.setProducts(productStream.toList());
-
-        return cartDTO;
+        return cartMapper.toDTO(cart);
     }
 
 
@@ -211,7 +174,7 @@ public class CartServiceImpl implements CartService{
 
         Cart cart = new Cart();
         cart.setTotalPrice(0.00);
-        cart.setUser(authUtil.loggedInUser());
+        cart.setUser(authUtil.loggedInUserReference()); // Kullanıcıyı yüklemeden sadece ilişki kurulur.
         Cart newCart =  cartRepository.save(cart);
 
         return newCart;
@@ -239,6 +202,36 @@ public class CartServiceImpl implements CartService{
     }
 
 
+    // Fiyatı değişen ürünü içeren tüm sepetleri, sepet sayısından bağımsız olarak iki toplu ifadeyle günceller.
+    // Önce sepet toplamları eski satır fiyatı üzerinden düzeltilir, ardından satır fiyatları yeni fiyata çekilir.
+    @Transactional
+    @Override
+    public int updateProductPriceInCarts(Long productId, double newPrice) {
+        int updatedCarts = cartRepository.repriceCartTotalsForProduct(productId, newPrice);
+        cartItemRepository.updateProductPriceInCartItems(productId, newPrice);
+        return updatedCarts;
+    }
+
+    // Ürünü içeren tüm sepetlerden ürünü çıkarır (ürün silinmeden önce çağrılır).
+    @Override
+    public void removeProductFromCarts(Long productId) {
+        List<Cart> carts = cartRepository.findCartsByProductId(productId);
+        carts.forEach(cart -> deleteProductFromCart(cart.getCartId(), productId));
+    }
+
+    // Sepeti iki toplu ifadeyle boşaltır: tüm satırlar tek DELETE ile silinir ve toplam sıfırlanır.
+    @Transactional
+    @Override
+    public void clearCart(Long cartId) {
+        cartItemRepository.deleteAllByCartId(cartId);
+        cartRepository.resetTotalPrice(cartId);
+    }
+
+    // Sepetler doğrudan veritabanında tutulduğu için ödeme öncesinde yapılacak bir şey yoktur.
+    @Override
+    public void prepareCartForCheckout(String emailId) {
+    }
+
     @Override
     public void updateProductInCarts(Long cartId, Long productId) {
         Cart cart = cartRepository.findById(cartId)
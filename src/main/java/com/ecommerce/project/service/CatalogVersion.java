@@ -0,0 +1,230 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.model.CatalogCounter;
+import com.ecommerce.project.repositories.CatalogCounterRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Herkese açık katalog uç noktalarının ETag değerlerini üreten sürüm sayaçları.
+// Ürün veya kategori her değiştiğinde ilgili sayaçlar artar; sayaç değişmediyse yanıt da değişmemiştir ve
+// If-None-Match ile gelen istekler veritabanına gidilmeden 304 ile yanıtlanabilir.
+//   categories         -> /api/public/categories (sadece kategori değişiklikleri)
+//   products           -> /api/public/products (tüm ürün ve kategori değişiklikleri, stok hareketleri)
+//   kategori başına    -> /api/public/categories/{categoryId}/products (o kategorideki ürünler ve kategorinin kendisi)
+// Stok hareketlerinde (sipariş) ürünün kategorisi bilinmediği için ayrı bir stok sayacı tutulur ve
+// kategori ETag'ine eklenir.
+//
+// Sayaçlar catalog_versions tablosunda tutulur, böylece birden fazla sunucu aynı sürümü görür. Değişikliği yapan işlem
+// onaylandıktan sonra artırma bellekte bekleyenlere eklenir; sürümü okuyan bir istek onaylanmamış veriyi yeni sürümle
+// yayınlayamaz ve sipariş işlemleri sayaç satırını kilitli tutmaz. Bekleyen artırmalar her versionFlushMs'de toplu olarak
+// yazılır. afterCommit içinde yazılmaz: o anda işlemin bağlantısı henüz havuza dönmemiştir ve eşzamanlı siparişler ikinci
+// bir bağlantı beklerken bağlantı havuzunu kilitleyebilir. Yazılamayan artırma bekleyenlerde kalır ve sonraki turda
+// yeniden denenir.
+// Her istekte veritabanına gidilmez: sayaçlar bellekte tutulur ve en fazla refreshMs aralıklarla yeniden okunur.
+// Okunan sürüme bu sunucuda bekleyen artırmalar eklenir; aynı sunucudaki değişiklikler yazılmayı beklemeden görülür.
+// Başka bir sunucudaki değişiklik en geç versionFlushMs + refreshMs sonra ETag'e yansır.
+@Component
+public class CatalogVersion {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogVersion.class);
+
+    // Bellekteki sayaçların geçerlilik süresi (milisaniye).
+    @Value("${spring.app.catalog.versionRefreshMs:1000}")
+    private long refreshMs;
+
+    @Autowired
+    private CatalogCounterRepository catalogCounterRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // Onaylanmış ama henüz veritabanına yazılmamış artırmalar: sayaç adı -> artış miktarı.
+    private final Map<String, Long> pending = new ConcurrentHashMap<>();
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), 0);
+
+    public CatalogVersion(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public String categoriesETag() {
+        Map<String, Long> versions = versions();
+        return "categories-" + version(versions, "categories");
+    }
+
+    public String productsETag() {
+        Map<String, Long> versions = versions();
+        return "products-" + version(versions, "products");
+    }
+
+    public String categoryProductsETag(Long categoryId) {
+        Map<String, Long> versions = versions();
+        return "category-" + categoryId + "-" + version(versions, categoryKey(categoryId))
+                + "-" + version(versions, "stock");
+    }
+
+    // Bir kategoride ürün eklendi, güncellendi veya silindi.
+    public void productChanged(Long categoryId) {
+        afterChange(categoryId == null ? new String[] { "products" } : new String[] { "products", categoryKey(categoryId) });
+    }
+
+    // Kategori eklendi, güncellendi veya silindi; silme kategorinin ürünlerini de kaldırır.
+    public void categoryChanged(Long categoryId) {
+        afterChange(categoryId == null
+                ? new String[] { "categories", "products" }
+                : new String[] { "categories", "products", categoryKey(categoryId) });
+    }
+
+    // Ürün stokları değişti (sipariş, iade); ürünlerin kategorisi bilinmediği için tüm kategori ETag'leri değişir.
+    public void stockChanged() {
+        afterChange("products", "stock");
+    }
+
+    // İşlem içindeyse sayaçlar işlem onaylandıktan sonra artırılır; geri alınan işlem sürümü değiştirmez.
+    private void afterChange(String... names) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(names);
+                }
+            });
+        } else {
+            record(names);
+        }
+    }
+
+    private void record(String... names) {
+        for (String name : names) {
+            pending.merge(name, 1L, Long::sum);
+        }
+    }
+
+    // Bekleyen artırmaları veritabanına yazar; aynı sayaca gelen artırmalar tek UPDATE ile yazılır.
+    @Scheduled(fixedDelayString = "${spring.app.catalog.versionFlushMs:1000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            for (String name : pending.keySet()) {
+                Long delta = pending.get(name);
+                if (delta == null) {
+                    continue;
+                }
+                try {
+                    incrementOne(name, delta);
+                } catch (DataAccessException e) {
+                    // Artırma bekleyenlerde kalır ve bir sonraki turda yeniden denenir.
+                    logger.error("Cannot increment catalog version {}, will retry: {}", name, e.getMessage());
+                    return;
+                }
+                // Önce bellekteki sürüm eskimiş sayılır, sonra artırma bekleyenlerden düşülür; böylece okuma artırmayı
+                // hiçbir anda kaybetmez (en fazla bir kez iki kere sayar, bir sonraki okumada düzelir).
+                invalidate();
+                pending.computeIfPresent(name, (key, value) -> value == delta.longValue() ? null : value - delta);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // Okuma sürerken çağrılırsa okumanın bitmesini bekler; yazılmadan önce okunmuş sürüm güncel diye saklanamaz.
+    private void invalidate() {
+        refreshLock.lock();
+        try {
+            snapshot = new Snapshot(snapshot.versions(), 0);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    // Sayaç satırı yoksa oluşturulur; iki sunucu aynı anda oluşturmaya çalışırsa kaybeden artırmayı tekrar dener.
+    private void incrementOne(String name, long delta) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (catalogCounterRepository.increment(name, delta) == 0) {
+                    catalogCounterRepository.saveAndFlush(new CatalogCounter(name, delta));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            transactionTemplate.executeWithoutResult(status -> catalogCounterRepository.increment(name, delta));
+        }
+    }
+
+    // Veritabanındaki sürümler ile bu sunucuda henüz yazılmamış artırmaların toplamı.
+    // Bekleyenler sürümden önce okunur: yazılmış ve bekleyenlerden düşülmüş bir artırma okunan sürümde mutlaka bulunur.
+    private Map<String, Long> versions() {
+        Map<String, Long> local = pending.isEmpty() ? Map.of() : new HashMap<>(pending);
+        Map<String, Long> stored = storedVersions();
+        if (local.isEmpty()) {
+            return stored;
+        }
+        Map<String, Long> versions = new HashMap<>(stored);
+        local.forEach((name, delta) -> versions.merge(name, delta, Long::sum));
+        return versions;
+    }
+
+    private Map<String, Long> storedVersions() {
+        Snapshot current = snapshot;
+        if (System.currentTimeMillis() - current.loadedAt() < refreshMs) {
+            return current.versions();
+        }
+        // Sayaçları aynı anda tek bir istek okur; diğerleri onun sonucunu kullanır.
+        refreshLock.lock();
+        try {
+            current = snapshot;
+            if (System.currentTimeMillis() - current.loadedAt() < refreshMs) {
+                return current.versions();
+            }
+            long startedAt = System.currentTimeMillis();
+            Map<String, Long> versions = new HashMap<>();
+            try {
+                transactionTemplate.executeWithoutResult(status -> catalogCounterRepository.findAll()
+                        .forEach(counter -> versions.put(counter.getName(), counter.getVersion())));
+            } catch (DataAccessException e) {
+                logger.warn("Cannot read catalog versions, using the previous values: {}", e.getMessage());
+                return current.versions();
+            }
+            snapshot = new Snapshot(versions, startedAt);
+            return versions;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private static long version(Map<String, Long> versions, String name) {
+        return versions.getOrDefault(name, 0L);
+    }
+
+    private static String categoryKey(Long categoryId) {
+        return "category:" + categoryId;
+    }
+
+    private record Snapshot(Map<String, Long> versions, long loadedAt) {
+    }
+}
@@ -0,0 +1,131 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.mapper.CategoryMapper;
+import com.ecommerce.project.payload.CategoryDTO;
+import com.ecommerce.project.repositories.CategoryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Tüm kategori listesinin bellekteki kopyası (read-through). Kategoriler az sayıda ve nadiren değişir,
+// ancak her sayfa görüntülemede listelenir. Liste ilk istekte veritabanından yüklenir; kategori eklendiğinde,
+// güncellendiğinde veya silindiğinde invalidate() ile geçersiz kılınır ve bir sonraki istekte yeniden yüklenir.
+// Yeniden yükleme sırasında gelen bir değişiklik, yüklenen (artık eski olabilecek) listenin kullanılmasını engeller.
+// Yükleme süreleri cache.load.duration{cache=category} zamanlayıcısı olarak Prometheus'a yayınlanır.
+@Component
+public class CategoryCatalogCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryCatalogCache.class);
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CategoryMapper categoryMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Kategori ID'sine göre sıralı, değiştirilemez liste. null ise bir sonraki istekte yüklenir.
+    private volatile List<CategoryDTO> categories;
+
+    // Her invalidate() çağrısında artar; yükleme bittiğinde değişmişse yüklenen liste saklanmaz.
+    private final AtomicLong generation = new AtomicLong();
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong rebuilds = new AtomicLong();
+    private volatile long lastRebuildMillis;
+
+    public List<CategoryDTO> getAll() {
+        List<CategoryDTO> current = categories;
+        if (current != null) {
+            hits.incrementAndGet();
+            return current;
+        }
+        misses.incrementAndGet();
+        // Aynı anda gelen istekler listeyi tek seferde yükler; diğerleri yüklemenin bitmesini bekler.
+        rebuildLock.lock();
+        try {
+            current = categories;
+            if (current != null) {
+                return current;
+            }
+            long startGeneration = generation.get();
+            Timer.Sample sample = Timer.start(meterRegistry);
+            current = categoryRepository.findAll(Sort.by("categoryId")).stream()
+                    .map(categoryMapper::toDTO)
+                    .toList();
+            lastRebuildMillis = sample.stop(Timer.builder("cache.load.duration")
+                    .description("Time taken to rebuild an application cache")
+                    .tag("cache", "category")
+                    .register(meterRegistry)) / 1_000_000;
+            rebuilds.incrementAndGet();
+            if (generation.get() == startGeneration) {
+                categories = current;
+            }
+            logger.debug("Category catalog rebuilt: {} categories in {} ms", current.size(), lastRebuildMillis);
+            return current;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // Değişiklik bir işlem (transaction) içinde yapıldıysa liste işlem bittiğinde tekrar geçersiz kılınır;
+    // aksi halde işlem sürerken yüklenen liste, işlem onaylanmadan önceki veriyi tutabilirdi.
+    public void invalidate() {
+        clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    clear();
+                }
+            });
+        }
+    }
+
+    private void clear() {
+        generation.incrementAndGet();
+        categories = null;
+        invalidations.incrementAndGet();
+    }
+
+    public int size() {
+        List<CategoryDTO> current = categories;
+        return current == null ? 0 : current.size();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getInvalidationCount() {
+        return invalidations.get();
+    }
+
+    public long getRebuildCount() {
+        return rebuilds.get();
+    }
+
+    public long getLastRebuildMillis() {
+        return lastRebuildMillis;
+    }
+}
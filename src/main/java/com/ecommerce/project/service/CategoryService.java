@@ -8,6 +8,9 @@ public interface CategoryService {
     //Bütün kategoriler gelsin
     CategoryResponse getAllCategories(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder);
 
+    //Kategoriler imleç (cursor) ile anahtar tabanlı sayfalama ile gelsin
+    CategoryResponse getAllCategoriesByCursor(String cursor, Integer pageSize, String sortBy, String sortOrder, boolean includeTotal);
+
     //Yeni kategori
     CategoryDTO createCategory(CategoryDTO categoryDTO);
 
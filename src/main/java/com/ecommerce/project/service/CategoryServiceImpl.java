@@ -2,18 +2,19 @@ package com.ecommerce.project.service;
 
 import com.ecommerce.project.exceptions.APIException;
 import com.ecommerce.project.exceptions.ResourceNotFoundException;
+import com.ecommerce.project.mapper.CategoryMapper;
 import com.ecommerce.project.model.Category;
 import com.ecommerce.project.payload.CategoryDTO;
 import com.ecommerce.project.payload.CategoryResponse;
 import com.ecommerce.project.repositories.CategoryRepository;
-import org.modelmapper.ModelMapper;
+import com.ecommerce.project.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 @Service // Bu anotasyon, bu sınıfın bir Spring bileşeni olduğunu belirtir ve Spring tarafından yönetilmesini sağlar.
@@ -23,40 +24,93 @@ public class CategoryServiceImpl implements CategoryService {
     private CategoryRepository categoryRepository; // Kategorilerle ilgili veri tabanı işlemlerini gerçekleştiren repository.
 
     @Autowired
-    private ModelMapper modelMapper; // DTO'ları ve model nesnelerini dönüştürmek için kullanılan ModelMapper.
+    private CategoryMapper categoryMapper; // DTO'ları ve model nesnelerini dönüştürmek için kullanılan CategoryMapper.
+
+    @Autowired
+    private CategoryCatalogCache categoryCatalogCache; // Tüm kategori listesinin bellekteki kopyası.
+
+    @Autowired
+    private CatalogVersion catalogVersion; // Herkese açık katalog uç noktalarının ETag sayaçları.
 
     // Kategorileri sayfalı olarak alır ve yanıtı yapılandırır.
+    // Tüm liste bellekteki kopyadan (CategoryCatalogCache) alınır; sıralama ve sayfalama bellekte yapılır.
     @Override
     public CategoryResponse getAllCategories(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
-        // Sıralama yönünü belirler (artan veya azalan).
-        Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc")
-                ? Sort.by(sortBy).ascending()
-                : Sort.by(sortBy).descending();
+        // Sıralama yönünü ve alanını belirler (artan veya azalan).
+        Comparator<CategoryDTO> comparator = comparatorFor(sortBy);
+        if (!sortOrder.equalsIgnoreCase("asc")) {
+            comparator = comparator.reversed();
+        }
+
+        // Kategorileri önbellekten alır ve sıralar.
+        List<CategoryDTO> sorted = new ArrayList<>(categoryCatalogCache.getAll());
+        sorted.sort(comparator);
+
+        // İstenen sayfayı listeden keser.
+        int total = sorted.size();
+        int from = (int) Math.min((long) pageNumber * pageSize, total);
+        int to = Math.min(from + pageSize, total);
+        List<CategoryDTO> categoryDTOS = sorted.subList(from, to);
+        if (categoryDTOS.isEmpty())
+            throw new APIException("No category created till now."); // Kategori bulunamazsa hata fırlatır.
 
-        // Sayfalama ve sıralama bilgilerini ayarlar.
-        Pageable pageDetails = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
+        // Yanıt nesnesini oluşturur ve verileri ayarlar.
+        int totalPages = (int) Math.ceil((double) total / pageSize);
+        CategoryResponse categoryResponse = new CategoryResponse();
+        categoryResponse.setContent(new ArrayList<>(categoryDTOS));
+        categoryResponse.setPageNumber(pageNumber);
+        categoryResponse.setPageSize(pageSize);
+        categoryResponse.setTotalElements((long) total);
+        categoryResponse.setTotalPages(totalPages);
+        categoryResponse.setLastPage(pageNumber + 1 >= totalPages);
+        return categoryResponse;
+    }
 
-        // Kategorileri veri tabanından alır.
-        Page<Category> categoryPage = categoryRepository.findAll(pageDetails);
+    // Bellekte sıralama için karşılaştırıcı. Eşit değerler ID'ye göre sıralanır, böylece sayfalar kararlı olur.
+    private Comparator<CategoryDTO> comparatorFor(String sortBy) {
+        Comparator<CategoryDTO> byId = Comparator.comparing(CategoryDTO::getCategoryId);
+        return switch (sortBy) {
+            case "categoryId" -> byId;
+            case "categoryName" -> Comparator.comparing(CategoryDTO::getCategoryName, String.CASE_INSENSITIVE_ORDER)
+                    .thenComparing(byId);
+            default -> throw new APIException("Categories cannot be sorted by " + sortBy);
+        };
+    }
 
-        // Kategorileri listeye dönüştürür.
-        List<Category> categories = categoryPage.getContent();
-        if (categories.isEmpty())
+    // Kategorileri imleç (cursor) ile, OFFSET kullanmadan sayfalı olarak alır.
+    @Override
+    public CategoryResponse getAllCategoriesByCursor(String cursor, Integer pageSize, String sortBy, String sortOrder, boolean includeTotal) {
+        // Sıralama yönünü belirler ve imleci çözer.
+        KeysetCursor.checkPageSize(pageSize);
+        boolean ascending = sortOrder.equalsIgnoreCase("asc");
+        KeysetCursor after = KeysetCursor.decode(cursor, sortBy, ascending);
+        Specification<Category> spec = after == null
+                ? Specification.where(null)
+                : after.toSpecification("categoryId");
+
+        // Bir sonraki sayfanın varlığını anlamak için bir fazla kayıt çeker.
+        Sort sort = KeysetCursor.sort(sortBy, ascending, "categoryId");
+        List<Category> fetched = categoryRepository.findBy(spec, q -> q.sortBy(sort).limit(pageSize + 1).all());
+        if (after == null && fetched.isEmpty())
             throw new APIException("No category created till now."); // Kategori bulunamazsa hata fırlatır.
 
         // Kategori listelerini DTO'lara dönüştürür.
-        List<CategoryDTO> categoryDTOS = categories.stream()
-                .map(category -> modelMapper.map(category, CategoryDTO.class))
+        List<CategoryDTO> categoryDTOS = fetched.stream()
+                .limit(pageSize)
+                .map(categoryMapper::toDTO)
                 .toList();
 
-        // Yanıt nesnesini oluşturur ve verileri ayarlar.
+        // Yanıt nesnesini oluşturur; toplam sayı sadece istenirse hesaplanır.
         CategoryResponse categoryResponse = new CategoryResponse();
         categoryResponse.setContent(categoryDTOS);
-        categoryResponse.setPageNumber(categoryPage.getNumber());
-        categoryResponse.setPageSize(categoryPage.getSize());
-        categoryResponse.setTotalElements(categoryPage.getTotalElements());
-        categoryResponse.setTotalPages(categoryPage.getTotalPages());
-        categoryResponse.setLastPage(categoryPage.isLast());
+        categoryResponse.setPageSize(pageSize);
+        categoryResponse.setNextCursor(KeysetCursor.nextCursor(fetched, pageSize, sortBy, ascending, Category::getCategoryId));
+        categoryResponse.setLastPage(categoryResponse.getNextCursor() == null);
+        if (includeTotal) {
+            long total = categoryRepository.count();
+            categoryResponse.setTotalElements(total);
+            categoryResponse.setTotalPages((int) Math.ceil((double) total / pageSize));
+        }
         return categoryResponse;
     }
 
@@ -64,7 +118,7 @@ public class CategoryServiceImpl implements CategoryService {
     @Override
     public CategoryDTO createCategory(CategoryDTO categoryDTO) {
         // DTO'yu model nesnesine dönüştürür.
-        Category category = modelMapper.map(categoryDTO, Category.class);
+        Category category = categoryMapper.toEntity(categoryDTO);
 
         // Aynı isimde bir kategori olup olmadığını kontrol eder.
         Category categoryFromDb = categoryRepository.findByCategoryName(category.getCategoryName());
@@ -73,7 +127,9 @@ public class CategoryServiceImpl implements CategoryService {
 
         // Kategoriyi veri tabanına kaydeder.
         Category savedCategory = categoryRepository.save(category);
-        return modelMapper.map(savedCategory, CategoryDTO.class); // Kaydedilen kategoriyi DTO'ya dönüştürür.
+        categoryCatalogCache.invalidate(); // Bellekteki kategori listesi bir sonraki istekte yeniden yüklenir.
+        catalogVersion.categoryChanged(savedCategory.getCategoryId()); // Katalog ETag'leri değişir.
+        return categoryMapper.toDTO(savedCategory); // Kaydedilen kategoriyi DTO'ya dönüştürür.
     }
 
     // Belirli bir kategoriyi siler ve geri döndürür.
@@ -85,7 +141,9 @@ public class CategoryServiceImpl implements CategoryService {
 
         // Kategoriyi siler.
         categoryRepository.delete(category);
-        return modelMapper.map(category, CategoryDTO.class); // Silinen kategoriyi DTO'ya dönüştürür.
+        categoryCatalogCache.invalidate();
+        catalogVersion.categoryChanged(categoryId);
+        return categoryMapper.toDTO(category); // Silinen kategoriyi DTO'ya dönüştürür.
     }
 
     // Belirli bir kategoriyi günceller ve geri döndürür.
@@ -96,9 +154,11 @@ public class CategoryServiceImpl implements CategoryService {
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "categoryId", categoryId)); // Kategori bulunamazsa hata fırlatır.
 
         // DTO'yu model nesnesine dönüştürür ve günceller.
-        Category category = modelMapper.map(categoryDTO, Category.class);
+        Category category = categoryMapper.toEntity(categoryDTO);
         category.setCategoryId(categoryId);
         savedCategory = categoryRepository.save(category);
-        return modelMapper.map(savedCategory, CategoryDTO.class); // Güncellenen kategoriyi DTO'ya dönüştürür.
+        categoryCatalogCache.invalidate();
+        catalogVersion.categoryChanged(categoryId);
+        return categoryMapper.toDTO(savedCategory); // Güncellenen kategoriyi DTO'ya dönüştürür.
     }
 }
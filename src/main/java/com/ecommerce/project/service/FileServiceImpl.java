@@ -1,60 +1,97 @@
 package com.ecommerce.project.service;
 
+import com.ecommerce.project.config.AppConstants;
+import com.ecommerce.project.exceptions.APIException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.UUID;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.TreeSet;
 
 @Service // Bu sınıf bir spring bileşeni olduğunu gösterir. Spring tarafından yonetilmesini sağlar.
 public class FileServiceImpl implements FileService {
 
+    @Autowired
+    private ThumbnailGenerator thumbnailGenerator;
 
     @Override
     public String uploadImage(String path, MultipartFile file) throws IOException {
-        //Kullanıcının yüklediği dosyanın orijinal adını alır.
+        //Kullanıcının yüklediği dosyanın orijinal adını alır ve uzantısını ayırır.
         String originalFilename = file.getOriginalFilename();
+        if (originalFilename == null || originalFilename.lastIndexOf('.') < 0) {
+            throw new APIException("Image file name must have an extension");
+        }
+        String extension = originalFilename.substring(originalFilename.lastIndexOf('.')).toLowerCase();
+        if (!AppConstants.IMAGE_CONTENT_TYPES.containsKey(extension)) {
+            throw new APIException("Only " + String.join(", ", new TreeSet<>(AppConstants.IMAGE_CONTENT_TYPES.keySet()))
+                    + " images can be uploaded");
+        }
 
-        //Benzersiz bir dosya adı oluşturmak için UUID(Küresel Benzersiz Tanımlayıcı) kullanır
-        //UUID, dosya adının çakışmasını önler.
-        String randomId = UUID.randomUUID().toString();
+        //Dosyanın kaydedileceği klasörü oluşturur, eğer klasör mevcut değilse
+        Path folder = Paths.get(path);
+        Files.createDirectories(folder);
 
-        //Dosyanın uzantısını almak için orijinal dosya adını sonundaki '.' karkaterinden sonrasını alır
-        //Yeni dosya adını, UUID ile birleştirerek oluşturur.
-        String fileName = randomId.concat(originalFilename.substring(originalFilename.lastIndexOf(".")));
+        //Dosya belleğe alınmadan, okunurken SHA-256 özeti hesaplanarak geçici bir dosyaya yazılır.
+        Path temp = Files.createTempFile(folder, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
 
-        //Dosyanın kaydedileceği tam yolu oluşturur.
-        String filePath = path + File.separator + fileName;
-
-        //Dosyanın kaydedileceği klasörü oluşturur, eğer klasör mevcut değilse
-        File folder = new File(path);
-        if (!folder.exists()) {
-            folder.mkdir(); //Klasör mevcut değilse oluştur.
+            //Dosya adı içeriğin özetidir; aynı görsel tekrar yüklendiğinde aynı ada sahip olur ve diske ikinci kez yazılmaz.
+            String fileName = HexFormat.of().formatHex(digest.digest()).concat(extension);
+            Path target = folder.resolve(fileName);
+            if (!Files.exists(target)) {
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    //Aynı görsel eşzamanlı olarak yüklendi; mevcut dosya kullanılır.
+                }
+            }
 
+            //Küçük resimler istek thread'i dışında üretilir; zaten varsa tekrar üretilmez.
+            thumbnailGenerator.submit(folder, fileName);
+            return fileName;
+        } finally {
+            Files.deleteIfExists(temp);
         }
-        //Kullanıcının yüklediği dosyayı belirtilen yola kopyalar.
-        Files.copy(file.getInputStream(), Paths.get(filePath));
-        return fileName;
+    }
 
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
 
 /*
 *uploadImage Metodu:
 
-Amaç: Kullanıcı tarafından yüklenen bir dosyayı belirtilen bir klasöre kaydeder.
+Amaç: Kullanıcı tarafından yüklenen bir görseli belirtilen klasöre, içeriğine göre adlandırarak kaydeder ve küçük resimlerini üretir.
 Parametreler:
 path: Dosyanın kaydedileceği klasörün yolu.
 file: Yüklenen dosya (MultipartFile türünde).
 İşlem Adımları:
-Dosya Adını Almak: file.getOriginalFilename() ile yüklenen dosyanın orijinal adını alır.
-Benzersiz Dosya Adı Oluşturmak: UUID.randomUUID().toString() ile benzersiz bir tanımlayıcı oluşturur. Bu tanımlayıcı, dosya adının başına eklenir. Böylece dosya adının çakışmasını önler.
-Dosya Uzantısını Almak: Dosyanın uzantısını (.jpg, .png vb.) almak için orijinal dosya adındaki son . karakterinden sonrasını alır.
-Dosya Yolunu Oluşturmak: path ile dosya adını birleştirerek dosyanın tam kaydedileceği yolu oluşturur.
-Klasörü Oluşturmak: Eğer belirtilen klasör mevcut değilse, folder.mkdir() ile oluşturur.
-Dosyayı Kaydetmek: Files.copy(file.getInputStream(), Paths.get(filePath)) ile yüklenen dosyayı belirlenen yola kopyalar.
+Dosya Uzantısını Almak: Orijinal dosya adındaki son . karakterinden sonrasını (.jpg, .png vb.) küçük harfe çevirerek alır.
+Uzantı AppConstants.IMAGE_CONTENT_TYPES içinde değilse (örneğin .svg, .html) yükleme reddedilir.
+Klasörü Oluşturmak: Belirtilen klasör mevcut değilse Files.createDirectories ile oluşturur.
+Dosyayı Yazmak: Yüklenen dosya akış olarak okunur, aynı anda SHA-256 özeti hesaplanır ve klasördeki geçici bir dosyaya yazılır.
+Dosya Adı: Özetin onaltılık (hex) gösterimi ile uzantı birleştirilir. Aynı içerik her zaman aynı adı alır.
+Tekrarı Önlemek: Bu adda bir dosya zaten varsa geçici dosya silinir; yoksa geçici dosya bu ada taşınır.
+Küçük Resimler: ThumbnailGenerator'a iş olarak verilir, istek beklemez.
 Yeni Dosya Adını Döndürmek: Dosyanın yeni adını döndürür.
-* */
\ No newline at end of file
+* */
@@ -0,0 +1,123 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.exceptions.ServiceUnavailableException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// Idempotency-Key başlığı ile gelen istekler için süreli sonuç deposu. Anahtar: kullanıcı + istemcinin gönderdiği anahtar.
+// Aynı anahtarla tekrar gelen istek işlemi yeniden çalıştırmaz, saklanan sonucu döner.
+// İlk istek hâlâ sürüyorsa tekrar eden istek onun bitmesini en fazla replayWaitMs bekler; süre dolarsa 503 döner
+// (Retry-After) ve istek thread'i süresiz meşgul edilmez. İşlem hata ile biterse kayıt silinir
+// ve istemci aynı anahtarla yeniden deneyebilir.
+@Component
+public class IdempotencyStore {
+
+    // Sonuçların saklanma süresi (milisaniye).
+    @Value("${spring.app.idempotency.ttlMs:86400000}")
+    private long ttlMs;
+
+    // Depoda tutulacak en fazla kayıt sayısı; dolduğunda yeni anahtarlar reddedilir.
+    @Value("${spring.app.idempotency.maxEntries:100000}")
+    private int maxEntries;
+
+    // Aynı anahtarla gelen isteğin, sürmekte olan ilk isteği bekleyeceği en uzun süre (milisaniye).
+    @Value("${spring.app.idempotency.replayWaitMs:30000}")
+    private long replayWaitMs;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    // fingerprint, isteğin içeriğini temsil eder; aynı anahtar farklı bir istekle kullanılırsa hata fırlatılır.
+    public <T> Result<T> execute(Long userId, String key, String fingerprint, Supplier<T> action) {
+        if (key.isBlank() || key.length() > 255) {
+            throw new APIException("Idempotency-Key must be between 1 and 255 characters");
+        }
+        String storeKey = userId + ":" + key;
+        long now = System.currentTimeMillis();
+        Entry created = new Entry(new CompletableFuture<>(), fingerprint, now + ttlMs);
+
+        Entry existing = entries.compute(storeKey, (k, current) ->
+                current == null || current.expiresAt() < now ? null : current);
+        if (existing == null) {
+            if (entries.size() >= maxEntries) {
+                purgeExpired();
+                if (entries.size() >= maxEntries) {
+                    throw new APIException("Too many pending idempotent requests, please retry later");
+                }
+            }
+            existing = entries.putIfAbsent(storeKey, created);
+        }
+
+        if (existing != null) {
+            if (!existing.fingerprint().equals(fingerprint)) {
+                throw new APIException("Idempotency-Key has already been used for a different request");
+            }
+            return new Result<>(await(existing), true);
+        }
+
+        try {
+            T value = action.get();
+            created.result().complete(value);
+            return new Result<>(value, false);
+        } catch (RuntimeException e) {
+            entries.remove(storeKey, created);
+            created.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    // Süresi dolan kayıtlar periyodik olarak temizlenir.
+    @Scheduled(fixedDelayString = "${spring.app.idempotency.purgeIntervalMs:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt() < now && entry.result().isDone());
+    }
+
+    // İsteğin içeriğini temsil eden metni açıkça verilen alanlardan üretir. Her alan uzunluğu ile yazılır,
+    // böylece ayırıcı karakter içeren değerler farklı alan bölünmeleriyle aynı metni oluşturamaz.
+    public static String fingerprint(Object... parts) {
+        StringBuilder fingerprint = new StringBuilder();
+        for (Object part : parts) {
+            if (part == null) {
+                fingerprint.append("-;");
+            } else {
+                String value = part.toString();
+                fingerprint.append(value.length()).append(':').append(value).append(';');
+            }
+        }
+        return fingerprint.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T await(Entry entry) {
+        try {
+            return (T) entry.result().get(replayWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ServiceUnavailableException("A request with this Idempotency-Key is still in progress",
+                    Math.max(1, replayWaitMs / 1000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("A request with this Idempotency-Key is still in progress", 1);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public record Result<T>(T value, boolean replayed) {
+    }
+
+    private record Entry(CompletableFuture<Object> result, String fingerprint, long expiresAt) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.ecommerce.project.service;
+
+import jakarta.transaction.Transactional;
+
+import java.util.Map;
+
+public interface InventoryService {
+    @Transactional
+    void reserve(Map<Long, Integer> quantitiesByProductId);
+
+    @Transactional
+    void release(Map<Long, Integer> quantitiesByProductId);
+}
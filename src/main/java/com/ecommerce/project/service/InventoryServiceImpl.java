@@ -0,0 +1,167 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.model.Product;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.transaction.Transactional;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Stok ayırma (reservation). Bir siparişin tüm satırları tek bir koşullu UPDATE ile düşülür:
+//   UPDATE products SET quantity = quantity - CASE product_id WHEN :id0 THEN :q0 ... END
+//   WHERE product_id IN :ids AND quantity >= CASE product_id WHEN :id0 THEN :q0 ... END
+// Veritabanı satırları kilitleyip koşulu güncel değer üzerinde kontrol ettiği için eşzamanlı siparişler
+// stoğu sıfırın altına düşüremez. Etkilenen satır sayısı sipariş satırı sayısından azsa en az bir üründe
+// stok yetmemiştir; hata fırlatılır ve işlem (transaction) geri alınarak diğer satırlardaki düşüşler de iptal edilir.
+// Satırlar tek ifadede birincil anahtar sırasıyla kilitlendiği için çok ürünlü siparişler birbirini kilitlemez (deadlock).
+//
+// UPDATE, JPQL yerine SQL olarak çalıştırılır: JPQL toplu güncellemesi Hibernate'in ikinci seviye önbellekteki tüm ürün
+// bölgesini silmesine yol açar ve her siparişte bütün ürünler yeniden yüklenirdi. Bunun yerine sadece siparişteki
+// ürünlerin önbellek girdileri silinir. Stok kontrolü her zaman veritabanındaki güncel değer üzerinde yapıldığı için
+// önbellekteki bir stok değeri kısa süre eski kalsa bile stok sıfırın altına düşmez.
+@Service
+public class InventoryServiceImpl implements InventoryService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    @Transactional
+    public void reserve(Map<Long, Integer> quantitiesByProductId) {
+        Map<Long, Integer> lines = normalize(quantitiesByProductId);
+        if (lines.isEmpty()) {
+            return;
+        }
+        String quantityCase = caseExpression(lines.size());
+        Query update = stockUpdate("UPDATE products SET quantity = quantity - " + quantityCase
+                + " WHERE product_id IN :ids AND quantity >= " + quantityCase, lines);
+
+        // UPDATE öncesinde bir JDBC kayıt noktası (savepoint) alınır. Bazı satırlar yetersizse sadece bu UPDATE geri alınır,
+        // böylece hata mesajı için okunan stoklar diğer satırlardan düşülen miktarları içermez.
+        // Bekleyen değişiklikler önce yazılır ki geri dönüş sadece stok UPDATE'ini kapsasın.
+        entityManager.flush();
+        Session session = entityManager.unwrap(Session.class);
+        Savepoint savepoint = session.doReturningWork(Connection::setSavepoint);
+        int updated = update.executeUpdate();
+        if (updated != lines.size()) {
+            session.doWork(connection -> connection.rollback(savepoint));
+            // Stok çakışması: sepet eklenirken yeterli olan stok, sipariş anında başka siparişler tarafından tüketilmiş.
+            meterRegistry.counter("checkout.stock.conflicts").increment();
+            throw new APIException(shortageMessage(lines));
+        }
+        session.doWork(connection -> connection.releaseSavepoint(savepoint));
+        evictCachedProducts(lines.keySet());
+        catalogVersion.stockChanged();
+    }
+
+    // Ayrılan stoğu geri verir (örn. sipariş iptal edildiğinde).
+    @Override
+    @Transactional
+    public void release(Map<Long, Integer> quantitiesByProductId) {
+        Map<Long, Integer> lines = normalize(quantitiesByProductId);
+        if (lines.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        stockUpdate("UPDATE products SET quantity = quantity + " + caseExpression(lines.size())
+                + " WHERE product_id IN :ids", lines).executeUpdate();
+        evictCachedProducts(lines.keySet());
+        catalogVersion.stockChanged();
+    }
+
+    private Query stockUpdate(String sql, Map<Long, Integer> lines) {
+        Query update = entityManager.createNativeQuery(sql);
+        // Boş sorgu alanı, Hibernate'e bu ifadenin hiçbir önbellek bölgesini etkilemediğini bildirir;
+        // belirtilmezse SQL ifadelerinden sonra tüm ikinci seviye önbellek silinir.
+        update.unwrap(NativeQuery.class).addSynchronizedQuerySpace("");
+        bind(update, lines);
+        return update;
+    }
+
+    // Güncellenen ürünlerin önbellek girdileri hemen ve işlem bittiğinde tekrar silinir; işlem sürerken
+    // eski değeri okuyup önbelleğe koyan bir istek, onaydan sonra yeni değerin okunmasını engelleyemez.
+    private void evictCachedProducts(Set<Long> productIds) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        productIds.forEach(productId -> cache.evict(Product.class, productId));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<Long> ids = List.copyOf(productIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    ids.forEach(productId -> cache.evict(Product.class, productId));
+                }
+            });
+        }
+    }
+
+    // Sıfır ve negatif miktarlar atılır; ürünler ID sırasına dizilir.
+    private static Map<Long, Integer> normalize(Map<Long, Integer> quantitiesByProductId) {
+        Map<Long, Integer> lines = new TreeMap<>();
+        quantitiesByProductId.forEach((productId, quantity) -> {
+            if (quantity != null && quantity > 0) {
+                lines.merge(productId, quantity, Integer::sum);
+            }
+        });
+        return lines;
+    }
+
+    private static String caseExpression(int size) {
+        StringBuilder sb = new StringBuilder("CASE product_id");
+        for (int i = 0; i < size; i++) {
+            sb.append(" WHEN :id").append(i).append(" THEN :q").append(i);
+        }
+        return sb.append(" ELSE 0 END").toString();
+    }
+
+    private static void bind(Query query, Map<Long, Integer> lines) {
+        int i = 0;
+        for (Map.Entry<Long, Integer> line : lines.entrySet()) {
+            query.setParameter("id" + i, line.getKey());
+            query.setParameter("q" + i, line.getValue());
+            i++;
+        }
+        query.setParameter("ids", lines.keySet());
+    }
+
+    // Hangi ürünlerde stok yetmediğini kullanıcıya bildirmek için güncel stoklar okunur. Sadece hata durumunda çalışır.
+    private String shortageMessage(Map<Long, Integer> lines) {
+        List<Object[]> rows = entityManager.createQuery(
+                        "SELECT p.productId, p.productName, p.quantity FROM Product p WHERE p.productId IN :ids", Object[].class)
+                .setParameter("ids", lines.keySet())
+                .getResultList();
+        StringBuilder message = new StringBuilder("Insufficient stock for:");
+        for (Object[] row : rows) {
+            Integer available = (Integer) row[2];
+            Integer requested = lines.get((Long) row[0]);
+            if (available == null || available < requested) {
+                message.append(' ').append(row[1]).append(" (requested ").append(requested)
+                        .append(", available ").append(available).append(')');
+            }
+        }
+        if (rows.size() < lines.size()) {
+            message.append(" (some products no longer exist)");
+        }
+        return message.toString();
+    }
+}
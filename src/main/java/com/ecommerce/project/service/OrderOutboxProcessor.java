@@ -0,0 +1,270 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.model.*;
+import com.ecommerce.project.repositories.OrderItemRepository;
+import com.ecommerce.project.repositories.OrderOutboxRepository;
+import com.ecommerce.project.repositories.OrderRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+
+// Eşzamansız sipariş akışının arka plan kısmı. Sipariş kabul edilirken aynı işlemde bir giden kutusu (outbox) kaydı yazılır;
+// bu sınıf kaydı sınırlı bir işçi havuzunda işler: stok tek koşullu UPDATE ile düşülür, sipariş satırları eklenir ve
+// sipariş durumu "Order Confirmed" olur. Stok yetmezse sipariş "Order Rejected" olarak işaretlenir.
+// Beklenmeyen hatalarda kayıt artan aralıklarla yeniden denenir; deneme hakkı biterse sipariş "Order Failed" olur.
+//
+// Kayıtlar işlem tamamlandıktan (commit) hemen sonra havuza verilir. Havuz doluysa veya uygulama bu arada kapandıysa
+// kayıt veritabanında PENDING olarak kalır ve zamanlanmış tarama (pollIntervalMs) tarafından alınır.
+// Bir kayıt koşullu UPDATE ile alınır ve her alımda yeni bir belirteç (claimToken) yazılır. Kayıt staleAfterMs sonunda
+// başka bir işçiye verilse bile (örn. yavaş işçi, GC duraklaması) sadece belirteci güncel olan işçi kaydı sonuçlandırabilir:
+// sonuçlandırma, stok düşme ve sipariş satırlarıyla aynı işlemde belirteç kontrollü bir UPDATE'tir; eşleşmezse işlem
+// geri alınır. Böylece aynı sipariş için stok iki kez düşülmez ve satırlar iki kez eklenmez.
+// spring.app.order.async.enabled=true olduğunda devreye girer.
+@Component
+@ConditionalOnProperty(name = "spring.app.order.async.enabled", havingValue = "true")
+public class OrderOutboxProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderOutboxProcessor.class);
+
+    @Value("${spring.app.order.async.maxAttempts:5}")
+    private int maxAttempts;
+
+    // İlk yeniden denemeden önceki bekleme; her denemede iki katına çıkar.
+    @Value("${spring.app.order.async.retryBackoffMs:1000}")
+    private long retryBackoffMs;
+
+    // Bu süreden uzun PROCESSING durumunda kalan kayıtlar (örn. işlenirken uygulama kapandıysa) yeniden kuyruğa alınır.
+    @Value("${spring.app.order.async.staleAfterMs:300000}")
+    private long staleAfterMs;
+
+    // Tek taramada kuyruğa alınacak en fazla kayıt sayısı.
+    @Value("${spring.app.order.async.batchSize:100}")
+    private int batchSize;
+
+    @Autowired
+    private OrderOutboxRepository outboxRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ThreadPoolExecutor executor;
+
+    public OrderOutboxProcessor(PlatformTransactionManager transactionManager,
+                                @Value("${spring.app.order.async.workers:4}") int workers,
+                                @Value("${spring.app.order.async.queueCapacity:1000}") int queueCapacity,
+                                @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // Kuyruk sınırlıdır; dolduğunda görev atılır, kayıt veritabanında beklemeye devam eder.
+        // Sanal thread modunda da işçi sayısı sınırlı kalır; aksi halde işçiler bağlantı havuzunu isteklerle paylaşırken tüketirdi.
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("order-worker-", 1).factory()
+                : Thread.ofPlatform().name("order-worker-", 1).daemon(true).factory();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    // Sipariş satırının giden kutusunda saklanan hali.
+    record OrderLine(Long productId, int quantity, double discount, double orderedProductPrice) {
+    }
+
+    // Siparişi kabul eden işlem içinde çağrılır: kaydı yazar ve işlem tamamlanınca işçi havuzuna verir.
+    public OrderOutbox enqueue(Order order, List<OrderLine> lines) {
+        OrderOutbox outbox = new OrderOutbox();
+        outbox.setOrderId(order.getOrderId());
+        outbox.setPayload(writeLines(lines));
+        outbox.setStatus(OutboxStatus.PENDING);
+        outbox.setCreatedAt(LocalDateTime.now());
+        outbox.setNextAttemptAt(outbox.getCreatedAt());
+        OrderOutbox saved = outboxRepository.save(outbox);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(saved.getOutboxId());
+                }
+            });
+        } else {
+            submit(saved.getOutboxId());
+        }
+        return saved;
+    }
+
+    // Zamanı gelmiş bekleyen kayıtları işçi havuzuna verir ve takılı kalmış kayıtları serbest bırakır.
+    @Scheduled(fixedDelayString = "${spring.app.order.async.pollIntervalMs:5000}")
+    public void pollOutbox() {
+        LocalDateTime now = LocalDateTime.now();
+        Integer released = transactionTemplate.execute(status -> outboxRepository.releaseStale(
+                OutboxStatus.PROCESSING, OutboxStatus.PENDING, now.minusNanos(staleAfterMs * 1_000_000)));
+        if (released != null && released > 0) {
+            logger.warn("Re-queued {} order outbox entries stuck in processing", released);
+        }
+        int capacity = Math.min(batchSize, executor.getQueue().remainingCapacity());
+        if (capacity <= 0) {
+            return;
+        }
+        outboxRepository.findDueIds(OutboxStatus.PENDING, now, PageRequest.of(0, capacity))
+                .forEach(this::submit);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Sıradaki kayıtlar PENDING olarak kalır ve bir sonraki açılışta işlenir.
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void submit(Long outboxId) {
+        executor.execute(() -> process(outboxId));
+    }
+
+    void process(Long outboxId) {
+        OrderOutbox outbox = claim(outboxId);
+        if (outbox != null) {
+            handle(outbox);
+        }
+    }
+
+    // Kaydı bu işçi adına alır; başka bir işçi almışsa null döner.
+    OrderOutbox claim(Long outboxId) {
+        return transactionTemplate.execute(status -> {
+            String claimToken = UUID.randomUUID().toString();
+            if (outboxRepository.claim(outboxId, OutboxStatus.PENDING, OutboxStatus.PROCESSING, LocalDateTime.now(), claimToken) == 0) {
+                return null;
+            }
+            OrderOutbox outbox = outboxRepository.findById(outboxId).orElseThrow();
+            orderRepository.updateOrderStatus(outbox.getOrderId(), Order.STATUS_PROCESSING);
+            return outbox;
+        });
+    }
+
+    void handle(OrderOutbox outbox) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> fulfil(outbox));
+        } catch (ClaimLostException e) {
+            logger.warn("Order {} outbox entry was re-claimed by another worker, discarding this attempt", outbox.getOrderId());
+        } catch (APIException e) {
+            // Stok yetersizliği gibi iş kuralı hataları yeniden denenmez.
+            logger.info("Order {} rejected: {}", outbox.getOrderId(), e.getMessage());
+            complete(outbox, OutboxStatus.DONE, Order.STATUS_REJECTED, e.getMessage());
+        } catch (RuntimeException e) {
+            retryOrFail(outbox, e);
+        }
+    }
+
+    private void fulfil(OrderOutbox outbox) {
+        List<OrderLine> lines = readLines(outbox.getPayload());
+
+        Map<Long, Integer> quantities = new HashMap<>();
+        lines.forEach(line -> quantities.merge(line.productId(), line.quantity(), Integer::sum));
+        inventoryService.reserve(quantities);
+
+        Order order = orderRepository.getReferenceById(outbox.getOrderId());
+        List<OrderItem> orderItems = new ArrayList<>(lines.size());
+        for (OrderLine line : lines) {
+            OrderItem orderItem = new OrderItem();
+            orderItem.setProduct(productRepository.getReferenceById(line.productId()));
+            orderItem.setQuantity(line.quantity());
+            orderItem.setDiscount(line.discount());
+            orderItem.setOrderedProductPrice(line.orderedProductPrice());
+            orderItem.setOrder(order);
+            orderItems.add(orderItem);
+        }
+        orderItemRepository.saveAll(orderItems);
+
+        // Kayıt bu arada başka bir işçiye verildiyse UPDATE hiçbir satırı etkilemez ve tüm işlem geri alınır.
+        // Aynı anda sonuçlandırmaya çalışan diğer işçi, satır kilidi nedeniyle bu işlemin bitmesini bekler.
+        if (outboxRepository.completeClaim(outbox.getOutboxId(), OutboxStatus.PROCESSING, outbox.getClaimToken(),
+                OutboxStatus.DONE, outbox.getAttempts(), outbox.getNextAttemptAt(), null) == 0) {
+            throw new ClaimLostException();
+        }
+        orderRepository.updateOrderStatus(outbox.getOrderId(), Order.STATUS_CONFIRMED);
+    }
+
+    private void retryOrFail(OrderOutbox outbox, RuntimeException e) {
+        int attempts = outbox.getAttempts() + 1;
+        outbox.setAttempts(attempts);
+        if (attempts >= maxAttempts) {
+            logger.error("Order {} failed after {} attempts: {}", outbox.getOrderId(), attempts, e.getMessage());
+            complete(outbox, OutboxStatus.FAILED, Order.STATUS_FAILED, e.getMessage());
+            return;
+        }
+        logger.warn("Order {} processing failed (attempt {}), will retry: {}", outbox.getOrderId(), attempts, e.getMessage());
+        long delayMs = retryBackoffMs << Math.min(attempts - 1, 16);
+        outbox.setNextAttemptAt(LocalDateTime.now().plusNanos(delayMs * 1_000_000));
+        complete(outbox, OutboxStatus.PENDING, Order.STATUS_ACCEPTED, e.getMessage());
+    }
+
+    // Kaydı ve sipariş durumunu sonuçlandırır; kayıt başka bir işçiye geçtiyse hiçbir şey değiştirilmez.
+    private void complete(OrderOutbox outbox, OutboxStatus outboxStatus, String orderStatus, String error) {
+        String lastError = error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+        transactionTemplate.executeWithoutResult(status -> {
+            if (outboxRepository.completeClaim(outbox.getOutboxId(), OutboxStatus.PROCESSING, outbox.getClaimToken(),
+                    outboxStatus, outbox.getAttempts(), outbox.getNextAttemptAt(), lastError) == 0) {
+                logger.warn("Order {} outbox entry was re-claimed by another worker, not marking it {}",
+                        outbox.getOrderId(), outboxStatus);
+                return;
+            }
+            orderRepository.updateOrderStatus(outbox.getOrderId(), orderStatus);
+        });
+    }
+
+    // Kaydın bu işçiye ait olmadığı anlaşıldığında sonuçlandırma işlemini geri almak için fırlatılır.
+    private static class ClaimLostException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        ClaimLostException() {
+            super("Outbox claim lost", null, false, false);
+        }
+    }
+
+    private String writeLines(List<OrderLine> lines) {
+        try {
+            return objectMapper.writeValueAsString(lines);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize order lines", e);
+        }
+    }
+
+    private List<OrderLine> readLines(String payload) {
+        try {
+            return objectMapper.readValue(payload, new TypeReference<List<OrderLine>>() { });
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read order lines", e);
+        }
+    }
+}
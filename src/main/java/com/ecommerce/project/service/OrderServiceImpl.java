@@ -2,18 +2,26 @@ package com.ecommerce.project.service;
 
 import com.ecommerce.project.exceptions.APIException;
 import com.ecommerce.project.exceptions.ResourceNotFoundException;
+import com.ecommerce.project.mapper.OrderMapper;
+import com.ecommerce.project.mapper.ProductMapper;
 import com.ecommerce.project.model.*;
 import com.ecommerce.project.payload.OrderDTO;
 import com.ecommerce.project.payload.OrderItemDTO;
 import com.ecommerce.project.repositories.*;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.transaction.Transactional;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class OrderServiceImpl implements OrderService {
@@ -36,17 +44,30 @@ public class OrderServiceImpl implements OrderService {
     CartService cartService;
 
     @Autowired
-    ModelMapper modelMapper; // ModelMapper, nesneler arası dönüşüm işlemleri için kullanılıyor.
+    OrderMapper orderMapper; // OrderMapper, sipariş varlıklarını DTO'lara dönüştürmek için kullanılıyor.
 
     @Autowired
-    ProductRepository productRepository;
+    ProductMapper productMapper;
+
+    @Autowired
+    InventoryService inventoryService;
+
+    // spring.app.order.async.enabled=true ise vardır; stok düşme ve sipariş satırları arka planda işlenir.
+    @Autowired(required = false)
+    OrderOutboxProcessor outboxProcessor;
+
+    @Autowired
+    MeterRegistry meterRegistry;
 
 
     @Override
     @Transactional // Bir işlemin bir bütün olarak çalışmasını sağlar.Örneğin ödeme işlem ibaşladıysa bitinceye kadar devam eder eğer arada bir hata olursa ise işlem tamamen iptal edilir
     public OrderDTO placeOrder(String emailId, Long addressId, String paymentMethod, String pgName, String pgPaymentId, String pgStatus, String pgResponseMessage) {
+        //Bellekte bekleyen sepet değişiklikleri varsa önce veritabanına yazılır
+        cartService.prepareCartForCheckout(emailId);
+
         //Kullanıcının emailine göre sepetini (cart) bul
-        Cart cart = cartRepository.findCartByEmail(emailId);
+        Cart cart = cartRepository.findCartWithItemsByEmail(emailId);
         if(cart == null) {
             //Sepet bulunmazsa hata fırlat
             throw new ResourceNotFoundException("Cart", "email",emailId);
@@ -60,7 +81,7 @@ public class OrderServiceImpl implements OrderService {
         order.setEmail(emailId); // Sipariş verenin e-posta adresi atanıyor.
         order.setOrderDate(LocalDate.now()); // Sipariş tarihi şu anki tarih olarak atanıyor.
         order.setTotalAmount(cart.getTotalPrice()); // Sepetin toplam fiyatı siparişin toplam tutarı olarak belirleniyor.
-        order.setOrderStatus("Order Accepted !"); // Siparişin durumu "Kabul Edildi" olarak ayarlanıyor.
+        order.setOrderStatus(Order.STATUS_ACCEPTED); // Siparişin durumu "Kabul Edildi" olarak ayarlanıyor.
         order.setAddress(address); // Sipariş adresi atanıyor.
 
         // Yeni bir Payment (Ödeme) nesnesi oluşturuluyor.
@@ -78,6 +99,19 @@ public class OrderServiceImpl implements OrderService {
             throw new APIException("Sepet Boş");
         }
 
+        if (outboxProcessor != null) {
+            recordCheckout("async", cartItems.size());
+            return acceptOrder(savedOrder, cart, addressId);
+        }
+
+        //Tüm satırların stoğu tek bir koşullu UPDATE ile ayrılır. Stok yetmezse APIException fırlatılır
+        //ve işlem geri alınır; eşzamanlı siparişler stoğu sıfırın altına düşüremez.
+        Map<Long, Integer> quantities = new HashMap<>();
+        cartItems.forEach(item -> quantities.merge(item.getProduct().getProductId(), item.getQuantity(), Integer::sum));
+        inventoryService.reserve(quantities);
+
+        recordCheckout("sync", cartItems.size());
+
         //Siparişe ait ürünlerin tutulacağı bir liste oluştur
         List<OrderItem> orderItems = new ArrayList<>();
 
@@ -92,29 +126,17 @@ public class OrderServiceImpl implements OrderService {
             orderItems.add(orderItem); // Listeye ekleniyor.
         }
 
-        //Sipariş ürünlerini db'ye toplu olarak kaydet
+        //Sipariş ürünlerini db'ye toplu olarak kaydet (JDBC batch ile tek seferde eklenir)
         orderItems = orderItemRepository.saveAll(orderItems);
 
-        // Sepetteki ürünlerin her biri için işlemler yapılır.
-                cart.getCartItems().forEach(item -> {
-                    int quantity = item.getQuantity(); // Ürünün miktarı alınıyor.
-                    Product product = item.getProduct(); // Ürün nesnesi alınıyor.
-
-                    // Ürünün stoğundan satın alınan miktar düşülüyor.
-                    product.setQuantity(product.getQuantity() - quantity);
-
-                    // Ürün güncellenmiş haliyle veri tabanına kaydediliyor.
-                    productRepository.save(product);
-
-                    // Sepetten ürünleri kaldırıyoruz.
-                    cartService.deleteProductFromCart(cart.getCartId(), item.getProduct().getProductId());
-                });
+        // Sepet, satır sayısından bağımsız olarak tek seferde boşaltılıyor.
+        cartService.clearCart(cart.getCartId());
 
         // Order nesnesini OrderDTO'ya dönüştürüyoruz.
-        OrderDTO orderDTO = modelMapper.map(savedOrder, OrderDTO.class);
+        OrderDTO orderDTO = orderMapper.toDTO(savedOrder);
 
         // Sipariş ürünlerini DTO'ya ekliyoruz.
-        orderItems.forEach(item -> orderDTO.getOrderItems().add(modelMapper.map(item, OrderItemDTO.class)));
+        orderItems.forEach(item -> orderDTO.getOrderItems().add(orderMapper.toDTO(item)));
 
         // Adres ID'si sipariş DTO'suna ekleniyor.
         orderDTO.setAddressId(addressId);
@@ -122,4 +144,52 @@ public class OrderServiceImpl implements OrderService {
         // Son olarak oluşturulan sipariş DTO'sunu döndürüyoruz.
         return orderDTO;
     }
+
+    // Eşzamansız kabul: sipariş, ödeme ve giden kutusu kaydı aynı işlemde yazılır ve sepet boşaltılır.
+    // Stok düşme ve sipariş satırları OrderOutboxProcessor tarafından işlem tamamlandıktan sonra yapılır;
+    // böylece yanıt süresi, çok satılan ürünlerin stok satırlarındaki kilit beklemelerinden etkilenmez.
+    // Stok yetmezse sipariş sonradan "Order Rejected" durumuna geçer.
+    private OrderDTO acceptOrder(Order savedOrder, Cart cart, Long addressId) {
+        List<OrderOutboxProcessor.OrderLine> lines = new ArrayList<>(cart.getCartItems().size());
+        List<OrderItemDTO> itemDTOs = new ArrayList<>(cart.getCartItems().size());
+        for (CartItem cartItem : cart.getCartItems()) {
+            lines.add(new OrderOutboxProcessor.OrderLine(cartItem.getProduct().getProductId(), cartItem.getQuantity(),
+                    cartItem.getDiscount(), cartItem.getProductPrice()));
+            // Sipariş satırları henüz kaydedilmediği için orderItemId boştur.
+            itemDTOs.add(new OrderItemDTO(null, productMapper.toDTO(cartItem.getProduct()), cartItem.getQuantity(),
+                    cartItem.getDiscount(), cartItem.getProductPrice()));
+        }
+        outboxProcessor.enqueue(savedOrder, lines);
+
+        // Sepet kabul anında boşaltılır; aynı sepetten ikinci bir sipariş verilemez.
+        cartService.clearCart(cart.getCartId());
+
+        OrderDTO orderDTO = orderMapper.toDTO(savedOrder);
+        orderDTO.getOrderItems().addAll(itemDTOs);
+        orderDTO.setAddressId(addressId);
+        return orderDTO;
+    }
+
+    // Sipariş sayısı ve sipariş başına satır sayısı. İşlem geri alınırsa (örn. stok yetmezse) sipariş sayılmaz;
+    // stok çakışmaları InventoryServiceImpl'de ayrıca sayılır.
+    private void recordCheckout(String mode, int lines) {
+        Runnable record = () -> {
+            Counter.builder("checkout.orders").tag("mode", mode).register(meterRegistry).increment();
+            DistributionSummary.builder("checkout.order.lines")
+                    .baseUnit("lines")
+                    .serviceLevelObjectives(1, 2, 3, 5, 10, 20, 50)
+                    .register(meterRegistry)
+                    .record(lines);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record.run();
+                }
+            });
+        } else {
+            record.run();
+        }
+    }
 }
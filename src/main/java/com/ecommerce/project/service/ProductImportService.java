@@ -0,0 +1,13 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.payload.ProductImportResultDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ProductImportService {
+    enum Format { CSV, NDJSON }
+
+    //Ürünleri akıştan satır satır okuyarak toplu halde ekler; hatalı satırlar atlanır ve raporlanır.
+    ProductImportResultDTO importProducts(InputStream in, Format format) throws IOException;
+}
@@ -0,0 +1,320 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.ProductImportErrorDTO;
+import com.ecommerce.project.payload.ProductImportResultDTO;
+import com.ecommerce.project.payload.ProductImportRowDTO;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+
+// Tedarikçi kataloglarının toplu içe aktarımı. Dosya satır satır okunur, tamamı belleğe alınmaz.
+// Geçerli satırlar batchSize'lık parçalar halinde, her parça kendi işleminde (transaction) JDBC batch ile eklenir;
+// bir parçadaki veritabanı hatası sadece o parçadaki satırları etkiler.
+// Aynı isimde ürün kontrolü, her kategori için bir kez yüklenen isim kümesi (HashSet, Product.normalizeName) üzerinden yapılır;
+// tek ürün eklemedeki gibi kategorinin tüm ürünleri yüklenip tek tek karşılaştırılmaz.
+// Eklenen ürünler ikinci seviye önbelleğe konmaz (büyük içe aktarımlar sık kullanılan ürünleri önbellekten atardı),
+// arama indeksine eklenir ve katalog ETag'leri değişir.
+@Service
+public class ProductImportServiceImpl implements ProductImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductImportServiceImpl.class);
+
+    private static final List<String> CSV_COLUMNS =
+            List.of("categoryId", "productName", "description", "quantity", "price", "discount");
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Tek işlemde eklenecek satır sayısı; JDBC batch boyutunun (hibernate.jdbc.batch_size) katı olmalıdır.
+    @Value("${spring.app.import.batchSize:500}")
+    private int batchSize;
+
+    // Yanıtta listelenecek en fazla satır hatası.
+    @Value("${spring.app.import.maxReportedErrors:1000}")
+    private int maxReportedErrors;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public ProductImportServiceImpl(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Dosyadaki satır numarasıyla birlikte doğrulanmış satır.
+    private record ValidRow(long line, ProductImportRowDTO row) {
+    }
+
+    // Bir içe aktarma boyunca tutulan durum.
+    private class ImportRun {
+        final ProductImportResultDTO result = new ProductImportResultDTO();
+        final Map<Long, Boolean> categoryExists = new HashMap<>();
+        final Map<Long, Set<String>> namesByCategory = new HashMap<>();
+        final List<ValidRow> chunk = new ArrayList<>(batchSize);
+
+        void error(long line, String productName, String message) {
+            result.setFailed(result.getFailed() + 1);
+            if (result.getErrors().size() < maxReportedErrors) {
+                result.getErrors().add(new ProductImportErrorDTO(line, productName, message));
+            }
+        }
+    }
+
+    @Override
+    public ProductImportResultDTO importProducts(InputStream in, Format format) throws IOException {
+        long start = System.nanoTime();
+        ImportRun run = new ImportRun();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+        int[] columns = null;
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            // CSV dosyasının ilk satırı sütun başlıklarıdır; sütunlar herhangi bir sırada olabilir.
+            if (format == Format.CSV && columns == null) {
+                columns = csvColumns(line);
+                continue;
+            }
+            run.result.setRowsRead(run.result.getRowsRead() + 1);
+
+            ProductImportRowDTO row;
+            try {
+                row = format == Format.CSV ? parseCsv(line, columns) : parseJson(line);
+            } catch (IllegalArgumentException e) {
+                run.error(lineNumber, null, e.getMessage());
+                continue;
+            }
+            String problem = validate(run, row);
+            if (problem != null) {
+                run.error(lineNumber, row.getProductName(), problem);
+                continue;
+            }
+            run.chunk.add(new ValidRow(lineNumber, row));
+            if (run.chunk.size() >= batchSize) {
+                insertChunk(run);
+            }
+        }
+        insertChunk(run);
+
+        ProductImportResultDTO result = run.result;
+        result.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+        result.setRowsPerSecond(result.getRowsRead() * 1000.0 / Math.max(1, result.getElapsedMillis()));
+        logger.info("Product import finished: {} rows read, {} imported, {} failed in {} ms ({} rows/s)",
+                result.getRowsRead(), result.getImported(), result.getFailed(), result.getElapsedMillis(),
+                Math.round(result.getRowsPerSecond()));
+        return result;
+    }
+
+    // Satır geçerliyse null, değilse hata mesajını döner. Geçerli satırın adı kategorinin isim kümesine eklenir,
+    // böylece aynı dosyada tekrar eden ürünler de yakalanır.
+    private String validate(ImportRun run, ProductImportRowDTO row) {
+        if (row.getCategoryId() == null) {
+            return "categoryId is required";
+        }
+        if (row.getProductName() == null || row.getProductName().isBlank() || row.getProductName().length() < 3) {
+            return "Product name must contain atleast 3 characters";
+        }
+        if (row.getDescription() == null || row.getDescription().isBlank() || row.getDescription().length() < 6) {
+            return "Product description must contain atleast 6 characters";
+        }
+        if (row.getQuantity() == null || row.getQuantity() < 0) {
+            return "quantity must be zero or greater";
+        }
+        if (row.getPrice() == null || row.getPrice() < 0) {
+            return "price must be zero or greater";
+        }
+        if (row.getDiscount() == null) {
+            row.setDiscount(0.0);
+        }
+        if (row.getDiscount() < 0 || row.getDiscount() > 100) {
+            return "discount must be between 0 and 100";
+        }
+        if (!run.categoryExists.computeIfAbsent(row.getCategoryId(), categoryRepository::existsById)) {
+            return "Category not found with categoryId: " + row.getCategoryId();
+        }
+        // Tek ürün eklemedeki kontrolle aynı kural: isimler büyük/küçük harf duyarsız karşılaştırılır.
+        Set<String> names = run.namesByCategory.computeIfAbsent(row.getCategoryId(),
+                categoryId -> productRepository.findProductNamesByCategoryId(categoryId).stream()
+                        .map(Product::normalizeName)
+                        .collect(Collectors.toCollection(HashSet::new)));
+        if (!names.add(Product.normalizeName(row.getProductName()))) {
+            return "Ürün zaten bulunmaktadır.";
+        }
+        return null;
+    }
+
+    private void insertChunk(ImportRun run) {
+        if (run.chunk.isEmpty()) {
+            return;
+        }
+        List<ValidRow> rows = List.copyOf(run.chunk);
+        run.chunk.clear();
+        try {
+            List<Product> saved = transactionTemplate.execute(status -> {
+                Session session = entityManager.unwrap(Session.class);
+                CacheMode cacheMode = session.getCacheMode();
+                session.setCacheMode(CacheMode.IGNORE);
+                try {
+                    List<Product> products = rows.stream().map(row -> toProduct(row.row())).toList();
+                    productRepository.saveAll(products);
+                    // Parça yazılır ve kalıcılık bağlamı boşaltılır; bellek kullanımı dosya boyutuyla büyümez.
+                    entityManager.flush();
+                    entityManager.clear();
+                    rows.stream().map(row -> row.row().getCategoryId()).distinct()
+                            .forEach(catalogVersion::productChanged);
+                    return products;
+                } finally {
+                    session.setCacheMode(cacheMode);
+                }
+            });
+            saved.forEach(productSearchIndex::index);
+            run.result.setImported(run.result.getImported() + saved.size());
+        } catch (RuntimeException e) {
+            logger.warn("Product import batch of {} rows failed: {}", rows.size(), e.getMessage());
+            for (ValidRow row : rows) {
+                run.namesByCategory.get(row.row().getCategoryId()).remove(Product.normalizeName(row.row().getProductName()));
+                run.error(row.line(), row.row().getProductName(), "Batch insert failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private Product toProduct(ProductImportRowDTO row) {
+        Product product = new Product();
+        product.setProductName(row.getProductName());
+        product.setDescription(row.getDescription());
+        product.setQuantity(row.getQuantity());
+        product.setPrice(row.getPrice());
+        product.setDiscount(row.getDiscount());
+        // Özel fiyat, tek ürün eklemedeki gibi indirim uygulanarak hesaplanır.
+        product.setSpecialPrice(row.getPrice() - ((row.getDiscount() * 0.01) * row.getPrice()));
+        product.setImage("default.png");
+        product.setCategory(categoryRepository.getReferenceById(row.getCategoryId()));
+        return product;
+    }
+
+    private ProductImportRowDTO parseJson(String line) {
+        try {
+            return objectMapper.readValue(line, ProductImportRowDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    // Başlık satırındaki sütun adlarını CSV_COLUMNS sırasına eşler; bulunmayan sütun -1 olur.
+    private static int[] csvColumns(String header) {
+        List<String> names = splitCsv(header).stream().map(String::trim).toList();
+        int[] columns = new int[CSV_COLUMNS.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = names.indexOf(CSV_COLUMNS.get(i));
+        }
+        // discount dışındaki sütunlar zorunludur.
+        for (int i = 0; i < columns.length - 1; i++) {
+            if (columns[i] < 0) {
+                throw new APIException("CSV header must contain " + CSV_COLUMNS.get(i));
+            }
+        }
+        return columns;
+    }
+
+    private static ProductImportRowDTO parseCsv(String line, int[] columns) {
+        List<String> values = splitCsv(line);
+        try {
+            ProductImportRowDTO row = new ProductImportRowDTO();
+            row.setCategoryId(toLong(value(values, columns[0])));
+            row.setProductName(value(values, columns[1]));
+            row.setDescription(value(values, columns[2]));
+            String quantity = value(values, columns[3]);
+            row.setQuantity(quantity == null ? null : Integer.valueOf(quantity));
+            String price = value(values, columns[4]);
+            row.setPrice(price == null ? null : Double.valueOf(price));
+            String discount = value(values, columns[5]);
+            row.setDiscount(discount == null ? null : Double.valueOf(discount));
+            return row;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number: " + e.getMessage());
+        }
+    }
+
+    private static String value(List<String> values, int column) {
+        if (column < 0 || column >= values.size()) {
+            return null;
+        }
+        String value = values.get(column).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Long toLong(String value) {
+        return value == null ? null : Long.valueOf(value);
+    }
+
+    // Tek satırlık CSV kaydını alanlarına ayırır. Tırnak içindeki virgüller alanın parçasıdır, "" bir tırnak işaretidir.
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,192 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.payload.ProductResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Ürün listeleme yanıtlarının JSON'a çevrilmiş (byte[]) halini tutan LRU önbellek.
+// Katalog trafiğinin çoğu aynı birkaç parametre kombinasyonudur (ilk sayfalar, varsayılan sıralama ve sayfa boyutu);
+// bu istekler için sorgu, DTO dönüşümü ve JSON serileştirme tekrar yapılmaz.
+// Anahtar, normalleştirilmiş istek parametreleridir. Her kayıt yüklendiği andaki katalog sürümüyle (CatalogVersion ETag'i)
+// saklanır; ürün veya kategori değiştiğinde sürüm değişir ve eski kayıt bir sonraki istekte yeniden yüklenir.
+// Aynı anahtar için eşzamanlı ıskalamalarda sadece bir istek veritabanına gider, diğerleri onun sonucunu bekler.
+@Component
+public class ProductPageCache {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Önbellekte tutulacak en fazla sayfa sayısı; aşılırsa en uzun süredir kullanılmayan sayfa silinir.
+    private final int maxEntries;
+
+    // Bundan büyük yanıtlar (örn. çok büyük pageSize) önbelleğe alınmaz.
+    private final int maxEntryBytes;
+
+    // Önbellekteki tüm yanıtların toplam en fazla boyutu; farklı pageNumber/pageSize/sortBy değerleriyle gelen istekler
+    // belleği bu sınırın üstünde dolduramaz, aşılırsa en uzun süredir kullanılmayan sayfalar silinir.
+    private final long maxBytes;
+
+    // Erişim sırasına göre dizilen LinkedHashMap; ilk kayıt en uzun süredir kullanılmayandır.
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    // entries içindeki yanıtların toplam boyutu; entries kilidi altında değişir.
+    private long bytes;
+
+    // Yüklenmekte olan sayfalar; anahtar + sürüm.
+    private final Map<String, CompletableFuture<byte[]>> loading = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private volatile long lastLoadMillis;
+
+    public ProductPageCache(@Value("${spring.app.catalog.pageCache.maxEntries:256}") int maxEntries,
+                            @Value("${spring.app.catalog.pageCache.maxEntryBytes:1048576}") int maxEntryBytes,
+                            @Value("${spring.app.catalog.pageCache.maxBytes:33554432}") long maxBytes) {
+        this.maxEntries = maxEntries;
+        this.maxEntryBytes = maxEntryBytes;
+        this.maxBytes = maxBytes;
+    }
+
+    private record Entry(String version, byte[] body) {
+    }
+
+    public static String allProductsKey(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
+        return "all|" + pageNumber + "|" + pageSize + "|" + sortBy + "|" + direction(sortOrder);
+    }
+
+    public static String categoryProductsKey(Long categoryId, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
+        return "category:" + categoryId + "|" + pageNumber + "|" + pageSize + "|" + sortBy + "|" + direction(sortOrder);
+    }
+
+    // Servis "asc" dışındaki her değeri azalan sıralama olarak yorumlar.
+    private static String direction(String sortOrder) {
+        return sortOrder.equalsIgnoreCase("asc") ? "asc" : "desc";
+    }
+
+    // Sayfa önbellekte ve sürümü güncelse döner; değilse loader ile yükler, serileştirir ve saklar.
+    // loader'ın fırlattığı hatalar (örn. APIException) bekleyen tüm isteklere iletilir ve önbelleğe alınmaz.
+    public byte[] get(String key, String version, Supplier<ProductResponse> loader) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.version().equals(version)) {
+                hits.incrementAndGet();
+                return entry.body();
+            }
+        }
+        misses.incrementAndGet();
+
+        CompletableFuture<byte[]> mine = new CompletableFuture<>();
+        CompletableFuture<byte[]> running = loading.putIfAbsent(key + "@" + version, mine);
+        if (running != null) {
+            coalesced.incrementAndGet();
+            return join(running);
+        }
+        try {
+            long start = System.nanoTime();
+            byte[] body = serialize(loader.get());
+            lastLoadMillis = (System.nanoTime() - start) / 1_000_000;
+            loads.incrementAndGet();
+            if (body.length <= maxEntryBytes) {
+                put(key, new Entry(version, body));
+            }
+            mine.complete(body);
+            return body;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key + "@" + version, mine);
+        }
+    }
+
+    private void put(String key, Entry entry) {
+        synchronized (entries) {
+            Entry replaced = entries.put(key, entry);
+            bytes += entry.body().length - (replaced == null ? 0 : replaced.body().length);
+            Iterator<Entry> eldest = entries.values().iterator();
+            while ((entries.size() > maxEntries || bytes > maxBytes) && eldest.hasNext()) {
+                bytes -= eldest.next().body().length;
+                eldest.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    public byte[] serialize(ProductResponse response) {
+        try {
+            return objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize product page", e);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            bytes = 0;
+        }
+    }
+
+    private static byte[] join(CompletableFuture<byte[]> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    // Önbellekteki yanıtların toplam boyutu (byte).
+    public long bytes() {
+        synchronized (entries) {
+            return bytes;
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    public long getLoadCount() {
+        return loads.get();
+    }
+
+    public long getLastLoadMillis() {
+        return lastLoadMillis;
+    }
+}
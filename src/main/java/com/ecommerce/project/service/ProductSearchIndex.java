@@ -0,0 +1,260 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.repositories.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// Ürün adı ve açıklaması üzerinde bellekte tutulan ters indeks (inverted index).
+// Her kelime (token) için, o kelimeyi içeren ürün ID'leri sıralı bir long dizisinde saklanır.
+// Böylece '%keyword%' şeklindeki LIKE sorgusu ile tüm products tablosunu taramaya gerek kalmaz.
+@Component
+public class ProductSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    // Kelime -> ürün ID listesi. Sıralı harita, önek (prefix) aramasını mümkün kılar.
+    private final ConcurrentNavigableMap<String, PostingList> index = new ConcurrentSkipListMap<>();
+
+    // Ürün ID -> indekslenen kelimeler. Güncelleme ve silmede eski kelimeleri temizlemek için kullanılır.
+    private final Map<Long, String[]> tokensByProduct = new ConcurrentHashMap<>();
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    // Uygulama ayağa kalktığında tüm ürünler indekse yüklenir.
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        List<Object[]> rows = productRepository.findAllSearchableFields();
+
+        // Satırlar ID'ye göre sıralı geldiği için listeler sadece sona ekleme ile oluşturulur.
+        Map<String, LongArrayBuilder> builders = new HashMap<>();
+        Map<Long, String[]> tokens = new HashMap<>();
+        for (Object[] row : rows) {
+            Long productId = (Long) row[0];
+            String[] productTokens = tokensOf((String) row[1], (String) row[2]);
+            for (String token : productTokens) {
+                builders.computeIfAbsent(token, t -> new LongArrayBuilder()).append(productId);
+            }
+            tokens.put(productId, productTokens);
+        }
+
+        synchronized (this) {
+            index.clear();
+            tokensByProduct.clear();
+            builders.forEach((token, builder) -> index.put(token, new PostingList(builder.build())));
+            tokensByProduct.putAll(tokens);
+        }
+        logger.info("Product search index built: {} products, {} tokens in {} ms",
+                tokensByProduct.size(), index.size(), System.currentTimeMillis() - start);
+    }
+
+    // Ürünü indekse ekler veya varsa günceller. İşlem içindeyse indeks işlem onaylandıktan sonra değişir;
+    // geri alınan bir değişiklik indekste kalmaz.
+    public void index(Product product) {
+        Long productId = product.getProductId();
+        String productName = product.getProductName();
+        String description = product.getDescription();
+        afterCommit(() -> {
+            synchronized (this) {
+                removeTokens(productId);
+                put(productId, productName, description);
+            }
+        });
+    }
+
+    // Ürünü indeksten tamamen çıkarır; işlem içindeyse işlem onaylandıktan sonra.
+    public void remove(Long productId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                removeTokens(productId);
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private void removeTokens(Long productId) {
+        String[] tokens = tokensByProduct.remove(productId);
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            PostingList postings = index.get(token);
+            if (postings != null && postings.remove(productId) && postings.isEmpty()) {
+                index.remove(token);
+            }
+        }
+    }
+
+    // Anahtar kelimedeki tüm kelimeleri içeren ürün ID'lerini döner (AND araması).
+    // Her kelime önek olarak eşleştirilir; "tele" araması "telefon" içeren ürünleri de bulur.
+    // Anahtar kelimede indekslenebilir hiçbir kelime yoksa null döner.
+    public long[] search(String keyword) {
+        String[] terms = tokenize(keyword);
+        if (terms.length == 0) {
+            return null;
+        }
+        long[] result = null;
+        for (String term : terms) {
+            long[] matches = prefixMatches(term);
+            result = result == null ? matches : intersect(result, matches);
+            if (result.length == 0) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private void put(Long productId, String productName, String description) {
+        String[] tokens = tokensOf(productName, description);
+        for (String token : tokens) {
+            index.computeIfAbsent(token, t -> new PostingList(new long[0])).add(productId);
+        }
+        tokensByProduct.put(productId, tokens);
+    }
+
+    private static String[] tokensOf(String productName, String description) {
+        Set<String> tokens = new LinkedHashSet<>();
+        Collections.addAll(tokens, tokenize(productName));
+        Collections.addAll(tokens, tokenize(description));
+        return tokens.toArray(new String[0]);
+    }
+
+    private long[] prefixMatches(String prefix) {
+        ConcurrentNavigableMap<String, PostingList> range = index.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        long[] result = new long[0];
+        for (PostingList postings : range.values()) {
+            result = union(result, postings.snapshot());
+        }
+        return result;
+    }
+
+    // Metni küçük harfe çevirip harf ve rakam dışındaki karakterlerden böler.
+    static String[] tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return new String[0];
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    // İki sıralı dizinin kesişimi.
+    private static long[] intersect(long[] a, long[] b) {
+        long[] out = new long[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) i++;
+            else if (a[i] > b[j]) j++;
+            else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    // İki sıralı dizinin birleşimi.
+    private static long[] union(long[] a, long[] b) {
+        long[] out = new long[a.length + b.length];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length || j < b.length) {
+            if (j == b.length || (i < a.length && a[i] < b[j])) out[n++] = a[i++];
+            else if (i == a.length || b[j] < a[i]) out[n++] = b[j++];
+            else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    // Bir kelimeye ait ürün ID'lerini sıralı ilkel long dizisinde tutar.
+    // Yazmalar indeks kilidi altında yapılır; okuyucular her zaman değişmeyen bir kopya görür.
+    private static final class PostingList {
+        private volatile long[] ids;
+
+        PostingList(long[] ids) {
+            this.ids = ids;
+        }
+
+        void add(long id) {
+            long[] current = ids;
+            int pos = Arrays.binarySearch(current, id);
+            if (pos >= 0) {
+                return;
+            }
+            int insertAt = -pos - 1;
+            long[] next = new long[current.length + 1];
+            System.arraycopy(current, 0, next, 0, insertAt);
+            next[insertAt] = id;
+            System.arraycopy(current, insertAt, next, insertAt + 1, current.length - insertAt);
+            ids = next;
+        }
+
+        boolean remove(long id) {
+            long[] current = ids;
+            int pos = Arrays.binarySearch(current, id);
+            if (pos < 0) {
+                return false;
+            }
+            long[] next = new long[current.length - 1];
+            System.arraycopy(current, 0, next, 0, pos);
+            System.arraycopy(current, pos + 1, next, pos, current.length - pos - 1);
+            ids = next;
+            return true;
+        }
+
+        boolean isEmpty() {
+            return ids.length == 0;
+        }
+
+        long[] snapshot() {
+            return ids;
+        }
+    }
+
+    // Yeniden oluşturma sırasında kullanılan, kapasitesi büyüyen basit long dizisi.
+    private static final class LongArrayBuilder {
+        private long[] values = new long[4];
+        private int size;
+
+        void append(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] build() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.ecommerce.project.payload.ProductResponse;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.OutputStream;
 
 public interface ProductService {
     ProductDTO addProduct(Long categoryId, ProductDTO product);
@@ -13,6 +14,11 @@ public interface ProductService {
 
     ProductResponse searchByCategory(Long categoryId, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder);
 
+    //İmleç (cursor) ile anahtar tabanlı sayfalama
+    ProductResponse getAllProductsByCursor(String cursor, Integer pageSize, String sortBy, String sortOrder, boolean includeTotal);
+
+    ProductResponse searchByCategoryByCursor(Long categoryId, String cursor, Integer pageSize, String sortBy, String sortOrder, boolean includeTotal);
+
     ProductResponse searchProductByKeyword(String keyword, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder);
 
     ProductDTO updateProduct(Long productId, ProductDTO product);
@@ -20,4 +26,7 @@ public interface ProductService {
     ProductDTO deleteProduct(Long productId);
 
     ProductDTO updateProductImage(Long productId, MultipartFile image) throws IOException;
+
+    //Tüm ürünleri satır satır JSON (NDJSON) olarak yazar; katalog boyutundan bağımsız sabit bellek kullanır.
+    long exportProducts(OutputStream out) throws IOException;
 }
@@ -1,35 +1,56 @@
 package com.ecommerce.project.service;
 
+import com.ecommerce.project.config.AppConstants;
 import com.ecommerce.project.exceptions.APIException;
 import com.ecommerce.project.exceptions.ResourceNotFoundException;
-import com.ecommerce.project.model.Cart;
+import com.ecommerce.project.mapper.ProductMapper;
 import com.ecommerce.project.model.Category;
 import com.ecommerce.project.model.Product;
-import com.ecommerce.project.payload.CartDTO;
 import com.ecommerce.project.payload.ProductDTO;
 import com.ecommerce.project.payload.ProductResponse;
-import com.ecommerce.project.repositories.CartRepository;
 import com.ecommerce.project.repositories.CategoryRepository;
 import com.ecommerce.project.repositories.ProductRepository;
-import org.modelmapper.ModelMapper;
+import com.ecommerce.project.util.KeysetCursor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.transaction.Transactional;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 @Service
 public class ProductServiceImpl implements ProductService {
-    @Autowired
-    private CartRepository cartRepository;
-
     @Autowired
     private CartService cartService;
 
@@ -40,11 +61,32 @@ public class ProductServiceImpl implements ProductService {
     private CategoryRepository categoryRepository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private ProductMapper productMapper;
 
     @Autowired
     private FileService fileService;
 
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Dışa aktarmada veritabanından tek seferde çekilecek satır sayısı (JDBC fetch size).
+    @Value("${spring.app.export.fetchSize:500}")
+    private int exportFetchSize;
+
+    // Anahtar kelime aramasında productId dışındaki sıralamalar için tek IN listesine konulacak en fazla ürün ID'si.
+    // Daha fazla ürün eşleşirse ID'ler bu boyutta parçalar halinde gönderilir; MySQL tek ifadede en fazla 65.535 parametre kabul eder.
+    @Value("${spring.app.search.maxInListIds:1000}")
+    private int searchMaxInListIds;
+
     //application.properties  dosyasından 'project.image'değerini alıyoruz.Bu ürün resimlerinin yolu olabilir.
     @Value("${project.image}")
     private String path;
@@ -57,23 +99,15 @@ public class ProductServiceImpl implements ProductService {
                 .orElseThrow(() ->
                         new ResourceNotFoundException("Category", "categoryId", categoryId));
 
-        // Ürünün zaten mevcut olup olmadığını kontrol etmek için bir bayrak (flag) oluşturuyoruz.
-        boolean isProductNotPresent = true;
-
-        // Kategorinin içindeki tüm ürünleri alıyoruz.
-        List<Product> products = category.getProducts();
-        for (Product value : products) {
-            // Eğer ürün ismi mevcut ürün isimlerinden biriyle eşleşirse, ürün zaten var demektir.
-            if (value.getProductName().equals(productDTO.getProductName())) {
-                isProductNotPresent = false; // Ürün mevcut
-                break;
-            }
-        }
+        // Ürünün zaten mevcut olup olmadığını kontrol ediyoruz (büyük/küçük harf duyarsız). Kategorinin ürünleri yüklenmez;
+        // (category_id, normalized_name) benzersiz indeksi üzerinden tek bir varlık sorgusu çalışır.
+        boolean isProductNotPresent = !productRepository.existsByCategoryAndNormalizedName(category,
+                Product.normalizeName(productDTO.getProductName()));
 
         // Ürün mevcut değilse, yeni ürünü ekliyoruz.
         if (isProductNotPresent) {
             // ProductDTO'yu Product modeline dönüştürüyoruz.
-            Product product = modelMapper.map(productDTO, Product.class);
+            Product product = productMapper.toEntity(productDTO);
             // Ürün için varsayılan bir resim belirliyoruz.
             product.setImage("default.png");
             // Ürünün kategorisini ayarlıyoruz.
@@ -82,10 +116,14 @@ public class ProductServiceImpl implements ProductService {
             double specialPrice = product.getPrice() -
                     ((product.getDiscount() * 0.01) * product.getPrice());
             product.setSpecialPrice(specialPrice);
-            // Ürünü veritabanına kaydediyoruz.
-            Product savedProduct = productRepository.save(product);
+            // Ürünü veritabanına kaydediyoruz. Aynı isimli ürün aynı anda eklendiyse benzersiz kısıt ihlali burada görülür.
+            Product savedProduct = saveUniqueName(product);
+            // Yeni ürün arama indeksine ekleniyor.
+            productSearchIndex.index(savedProduct);
+            // Katalog ETag'leri değişir.
+            catalogVersion.productChanged(categoryId);
             // Kaydedilen ürünü ProductDTO'ya dönüştürerek geri döndürüyoruz.
-            return modelMapper.map(savedProduct, ProductDTO.class);
+            return productMapper.toDTO(savedProduct);
         } else {
             // Eğer ürün zaten mevcutsa, bir hata fırlatıyoruz.
             throw new APIException("Ürün zaten bulunmaktadır.");
@@ -103,16 +141,11 @@ public class ProductServiceImpl implements ProductService {
         //Sayfalama detayları => sayfa numarası bouyu sıralama
         Pageable pageDetails = PageRequest.of(pageNumber , pageSize, sortByAndOrder);
 
-        //prdocutRepository kullanılarak tüm ürünler sayfalama ile veritabanından alınıyor.
-        Page<Product> pageProducts = productRepository.findAll(pageDetails);
+        //Ürünler salt okunur DTO projeksiyonu olarak sayfalama ile veritabanından alınıyor.
+        Page<ProductDTO> pageProducts = productRepository.findAllProductDTOs(pageDetails);
 
         //Sayfadaki ürünleri liste olarak al
-        List<Product> products = pageProducts.getContent();
-
-        //Product nesneleri ProductDTO nesnelerine dönüştürülüyor.
-        List<ProductDTO> productDTOS = products.stream()
-                .map(product -> modelMapper.map(product, ProductDTO.class)) //Her bir Product nesnesini DTO'ya çevirir
-                .toList(); //Sonuçları listeye çevirdi
+        List<ProductDTO> productDTOS = pageProducts.getContent();
 
         //Response oluştur.
         ProductResponse productResponse = new ProductResponse();
@@ -140,21 +173,16 @@ public class ProductServiceImpl implements ProductService {
         // Sayfa numarası, boyutu ve sıralamaya göre sayfalama ayarları
         Pageable pageDetails = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
 
-        // Belirli bir kategoriye göre ürünler sıralanarak veritabanından alınıyor
-        Page<Product> pageProducts = productRepository.findByCategoryOrderByPriceAsc(category, pageDetails);
+        // Belirli bir kategoriye göre ürünler sıralanarak salt okunur DTO projeksiyonu olarak alınıyor
+        Page<ProductDTO> pageProducts = productRepository.findProductDTOsByCategory(category, pageDetails);
         // Sayfa içindeki ürünlerin liste olarak alınması
-        List<Product> products = pageProducts.getContent();
+        List<ProductDTO> productDTOS = pageProducts.getContent();
 
         //Eğer kategoriye ait ürün yoksa hata fırlatır
-        if(products.isEmpty()) {
+        if(productDTOS.isEmpty()) {
             throw new APIException(category.getCategoryName() + "adındaki kategori bulunamadı");
         }
 
-        //Product nesneleri ProductDTO nesnelerine dönüştür
-        List<ProductDTO> productDTOS = products.stream()
-                .map(product -> modelMapper.map(product,ProductDTO.class))  //Her bir Prodcut nesnesini DTO'ya çeviriyoruz.
-                .toList(); //Liste haline getir.
-
         //Response oluştur.
         ProductResponse productResponse = new ProductResponse();
         productResponse.setContent(productDTOS);  // DTO'ların içeriği ayarlanıyor
@@ -167,6 +195,59 @@ public class ProductServiceImpl implements ProductService {
 
     }
 
+    @Override
+    public ProductResponse getAllProductsByCursor(String cursor, Integer pageSize, String sortBy, String sortOrder, boolean includeTotal) {
+        // Filtre yok, tüm ürünler imleçten sonrası için getirilir.
+        return seekProducts(Specification.where(null), cursor, pageSize, sortBy, sortOrder, includeTotal, null);
+    }
+
+    @Override
+    public ProductResponse searchByCategoryByCursor(Long categoryId, String cursor, Integer pageSize, String sortBy, String sortOrder, boolean includeTotal) {
+        //Kategori id'sine göre kategori bulunuyor,eğer bulamaz ise hata fırlatıyor.
+        Category category = categoryRepository.findById(categoryId)
+                .orElseThrow(()->
+                        new ResourceNotFoundException("Category", "categoryId", categoryId));
+
+        Specification<Product> inCategory = (root, query, cb) -> cb.equal(root.get("category"), category);
+        return seekProducts(inCategory, cursor, pageSize, sortBy, sortOrder, includeTotal, category);
+    }
+
+    // OFFSET yerine (sortBy, productId) üzerinden "son görülen kayıttan sonrası" sorgusu ile sayfa getirir.
+    // Toplam kayıt sayısı için ayrı COUNT sorgusu sadece includeTotal istenirse çalıştırılır.
+    private ProductResponse seekProducts(Specification<Product> filter, String cursor, Integer pageSize, String sortBy,
+                                         String sortOrder, boolean includeTotal, Category category) {
+        KeysetCursor.checkPageSize(pageSize);
+        boolean ascending = sortOrder.equalsIgnoreCase("asc");
+        KeysetCursor after = KeysetCursor.decode(cursor, sortBy, ascending);
+        Specification<Product> spec = after == null ? filter : filter.and(after.toSpecification("productId"));
+
+        // Bir sonraki sayfanın varlığını anlamak için bir fazla kayıt çekilir.
+        Sort sort = KeysetCursor.sort(sortBy, ascending, "productId");
+        List<Product> fetched = productRepository.findBy(spec, q -> q.sortBy(sort).limit(pageSize + 1).all());
+
+        //Eğer kategoriye ait ürün yoksa hata fırlatır
+        if (category != null && after == null && fetched.isEmpty()) {
+            throw new APIException(category.getCategoryName() + "adındaki kategori bulunamadı");
+        }
+
+        List<ProductDTO> productDTOS = fetched.stream()
+                .limit(pageSize)
+                .map(productMapper::toDTO)
+                .toList();
+
+        ProductResponse productResponse = new ProductResponse();
+        productResponse.setContent(productDTOS);
+        productResponse.setPageSize(pageSize);
+        productResponse.setNextCursor(KeysetCursor.nextCursor(fetched, pageSize, sortBy, ascending, Product::getProductId));
+        productResponse.setLastPage(productResponse.getNextCursor() == null);
+        if (includeTotal) {
+            long total = productRepository.count(filter);
+            productResponse.setTotalElements(total);
+            productResponse.setTotalPages((int) Math.ceil((double) total / pageSize));
+        }
+        return productResponse;
+    }
+
     @Override
     public ProductResponse searchProductByKeyword(String keyword, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
         // Sıralama artan ya da azalan olarak belirleniyor
@@ -177,15 +258,15 @@ public class ProductServiceImpl implements ProductService {
         // Sayfa numarası, boyutu ve sıralamaya göre sayfalama ayarları yapılıyor
         Pageable pageDetails = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
 
-        // Veritabanından ürün adı içinde anahtar kelime geçen ürünler aranıyor, büyük/küçük harf duyarsız
-        Page<Product> pageProducts = productRepository.findByProductNameLikeIgnoreCase('%' + keyword + '%', pageDetails);
+        // Ürünler bellekteki arama indeksinden bulunuyor, büyük/küçük harf duyarsız
+        Page<Product> pageProducts = findByKeyword(keyword, pageDetails);
 
         // Sayfadaki ürünler listeye dönüştürülüyor
         List<Product> products = pageProducts.getContent();
 
         // Her bir Product nesnesi ProductDTO'ya dönüştürülüyor
         List<ProductDTO> productDTOS = products.stream()
-                .map(product -> modelMapper.map(product, ProductDTO.class))
+                .map(productMapper::toDTO)
                 .toList();
 
         //Eğer hiçbir ürün bulunamazsa APIException firlatılıyor.
@@ -205,14 +286,102 @@ public class ProductServiceImpl implements ProductService {
         return productResponse;  // Sonuç olarak ProductResponse dönülüyor
     }
 
+    // Anahtar kelimeye uyan ürün ID'leri indeksten alınır, sadece istenen sayfa veritabanından çekilir.
+    private Page<Product> findByKeyword(String keyword, Pageable pageDetails) {
+        long[] productIds = productSearchIndex.search(keyword);
+
+        // Anahtar kelimede aranabilir bir kelime yoksa eski LIKE sorgusuna düşülür.
+        if (productIds == null) {
+            return productRepository.findByProductNameLikeIgnoreCase('%' + keyword + '%', pageDetails);
+        }
+        if (productIds.length == 0) {
+            return Page.empty(pageDetails);
+        }
+
+        // ID'ler zaten artan sırada olduğu için, productId sıralamasında sayfa bellekte kesilir.
+        Sort.Order order = pageDetails.getSort().getOrderFor(AppConstants.SORT_PRODUCTS_BY);
+        if (order != null && pageDetails.getSort().stream().count() == 1) {
+            int total = productIds.length;
+            int from = (int) Math.min(pageDetails.getOffset(), total);
+            int to = Math.min(from + pageDetails.getPageSize(), total);
+            List<Long> pageIds = new ArrayList<>(to - from);
+            for (int i = 0; i < to - from; i++) {
+                pageIds.add(order.isAscending() ? productIds[from + i] : productIds[total - 1 - from - i]);
+            }
+            List<Product> content = productRepository.findByProductIdIn(pageIds, pageDetails.getSort());
+            return new PageImpl<>(content, pageDetails, total);
+        }
+
+        // Diğer sıralamalarda sıralama ve sayfalama veritabanına bırakılır, yine de tablo taranmaz.
+        if (productIds.length > searchMaxInListIds) {
+            return findByIdsSortedInMemory(productIds, pageDetails);
+        }
+        List<Long> ids = Arrays.stream(productIds).boxed().toList();
+        return productRepository.findByProductIdIn(ids, pageDetails);
+    }
+
+    // Çok sayıda ürün eşleştiyse sonuç yine indeksin ID kümesidir: ID'ler searchMaxInListIds'lik parçalar halinde
+    // gönderilir ve sadece ID ile sıralama alanları okunur. Sıralama ve sayfa kesimi bellekte yapılır, ardından
+    // sadece sayfadaki ürünler yüklenir. Boş (null) değerler en küçük sayılır; eşit değerler ID sırasıyla gelir.
+    private Page<Product> findByIdsSortedInMemory(long[] productIds, Pageable pageDetails) {
+        List<Sort.Order> orders = pageDetails.getSort().toList();
+        List<Object[]> keys = new ArrayList<>(productIds.length);
+        for (int from = 0; from < productIds.length; from += searchMaxInListIds) {
+            List<Long> chunk = Arrays.stream(productIds, from, Math.min(from + searchMaxInListIds, productIds.length))
+                    .boxed().toList();
+            keys.addAll(sortKeys(chunk, orders));
+        }
+        keys.sort(sortKeyComparator(orders));
+
+        int total = keys.size();
+        int from = (int) Math.min(pageDetails.getOffset(), total);
+        int to = Math.min(from + pageDetails.getPageSize(), total);
+        List<Long> pageIds = keys.subList(from, to).stream().map(key -> (Long) key[0]).toList();
+        Map<Long, Product> byId = new HashMap<>();
+        productRepository.findByProductIdIn(pageIds, Sort.unsorted())
+                .forEach(product -> byId.put(product.getProductId(), product));
+        List<Product> content = pageIds.stream().map(byId::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(content, pageDetails, total);
+    }
+
+    // [productId, sıralama alanı 1, sıralama alanı 2, ...] satırları.
+    private List<Object[]> sortKeys(List<Long> productIds, List<Sort.Order> orders) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Product> product = query.from(Product.class);
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(product.get("productId"));
+        try {
+            orders.forEach(order -> selections.add(product.get(order.getProperty())));
+        } catch (IllegalArgumentException e) {
+            throw new APIException("Invalid sort field: " + e.getMessage());
+        }
+        query.multiselect(selections).where(product.get("productId").in(productIds));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Comparator<Object[]> sortKeyComparator(List<Sort.Order> orders) {
+        Comparator<Object[]> comparator = (a, b) -> 0;
+        for (int i = 0; i < orders.size(); i++) {
+            int column = i + 1;
+            Comparator<Comparable> values = orders.get(i).isAscending()
+                    ? Comparator.nullsFirst(Comparator.<Comparable>naturalOrder())
+                    : Comparator.nullsLast(Comparator.<Comparable>reverseOrder());
+            comparator = comparator.thenComparing(key -> (Comparable) key[column], values);
+        }
+        return comparator.thenComparing(key -> (Long) key[0]);
+    }
+
     @Override
+    @Transactional // Ürün ve sepet fiyatları birlikte güncellenir
     public ProductDTO updateProduct(Long productId, ProductDTO productDTO) {
         //Veritabanından güncellenecek ürün bulunuyor, bulunamazsa hata fırlatıyor.
         Product productFromDb = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
 
         // DTO'dan gelen bilgileri Product nesnesine dönüştürüyoruz
-        Product product = modelMapper.map(productDTO, Product.class);
+        Product product = productMapper.toEntity(productDTO);
 
         productFromDb.setProductName(product.getProductName());
         productFromDb.setDescription(product.getDescription());
@@ -221,31 +390,17 @@ public class ProductServiceImpl implements ProductService {
         productFromDb.setPrice(product.getPrice());
         productFromDb.setSpecialPrice(product.getSpecialPrice());
 
-        //Güncellenmiş ürün kaydediliyor.
-        Product savedProduct = productRepository.save(productFromDb);
+        //Güncellenmiş ürün kaydediliyor. Yeni isim kategorideki başka bir ürünle aynıysa hata fırlatılır.
+        Product savedProduct = saveUniqueName(productFromDb);
+        //Ürünün adı veya açıklaması değişmiş olabileceği için arama indeksi güncelleniyor.
+        productSearchIndex.index(savedProduct);
+        catalogVersion.productChanged(categoryIdOf(savedProduct));
 
-        //Güncellenen ürününü sepetlerdeki halini bul
-        List<Cart> carts = cartRepository.findCartsByProductId(productId);
-
-        // Her bir sepet için ürün bilgilerini DTO'ya dönüştürüyoruz
-        List<CartDTO> cartDTOs = carts.stream().map(cart -> {
-            CartDTO cartDTO = modelMapper.map(cart, CartDTO.class);
-
-            // Sepet içerisindeki ürünleri DTO'ya çeviriyoruz
-            List<ProductDTO> products = cart.getCartItems().stream()
-                    .map(p -> modelMapper.map(p.getProduct(), ProductDTO.class)).collect(Collectors.toList());
-
-            cartDTO.setProducts(products);
-
-            return cartDTO;
-
-        }).collect(Collectors.toList());
-
-        // Sepetlerdeki ürün bilgilerini güncelliyoruz
-        cartDTOs.forEach(cart -> cartService.updateProductInCarts(cart.getCartId(), productId));
+        // Sepetlerdeki ürün fiyatları ve sepet toplamları toplu olarak güncelleniyor
+        cartService.updateProductPriceInCarts(productId, savedProduct.getSpecialPrice());
 
         // Sonuç olarak güncellenmiş ürün bilgisi DTO olarak dönülüyor
-        return modelMapper.map(savedProduct, ProductDTO.class);
+        return productMapper.toDTO(savedProduct);
 
     }
 
@@ -257,14 +412,15 @@ public class ProductServiceImpl implements ProductService {
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
 
         //Ürün ile ilgili tüm  sepetler bulunuyor ve sepetlerden ürün siliniyor.
-        List<Cart> carts = cartRepository.findCartsByProductId(productId);
-        carts.forEach(cart -> cartService.deleteProductFromCart(cart.getCartId(), productId));
+        cartService.removeProductFromCarts(productId);
 
         //Ürün veritabanından silimiyor.
         productRepository.delete(product);
+        productSearchIndex.remove(productId);
+        catalogVersion.productChanged(categoryIdOf(product));
 
         //Silinen ürün bilgisi DTO olarak dönülüyor
-        return modelMapper.map(product, ProductDTO.class);
+        return productMapper.toDTO(product);
     }
 
     @Override
@@ -276,6 +432,64 @@ public class ProductServiceImpl implements ProductService {
         productFromDb.setImage(fileName);
 
         Product updatedProduct = productRepository.save(productFromDb);
-        return modelMapper.map(updatedProduct, ProductDTO.class);
+        catalogVersion.productChanged(categoryIdOf(updatedProduct));
+        return productMapper.toDTO(updatedProduct);
+    }
+
+    // Ürün hemen yazılır; kategoride aynı isimli ürün varsa (category_id, normalized_name) kısıtı ihlal edilir.
+    private Product saveUniqueName(Product product) {
+        try {
+            return productRepository.saveAndFlush(product);
+        } catch (DataIntegrityViolationException e) {
+            throw new APIException("Ürün zaten bulunmaktadır.");
+        }
+    }
+
+    // MySQL Connector/J pozitif fetch size değerini sadece bağlantı adresinde useCursorFetch=true varsa uygular, aksi halde
+    // tüm sonucu belleğe alır. Integer.MIN_VALUE sürücünün akış (streaming) modudur: satırlar sunucudan okundukça gelir ve
+    // bellek kullanımı katalog boyutuna bağlı olmaz. Akış sürerken aynı bağlantıda başka sorgu çalıştırılamaz.
+    static int jdbcFetchSize(Dialect dialect, int fetchSize) {
+        return dialect instanceof MySQLDialect ? Integer.MIN_VALUE : fetchSize;
+    }
+
+    private Dialect dialect() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+    }
+
+    // Kategori tembel (lazy) yüklenir; ID'si proxy'den sorgu çalıştırmadan okunur.
+    private static Long categoryIdOf(Product product) {
+        return product.getCategory() == null ? null : product.getCategory().getCategoryId();
+    }
+
+    // Ürünler ileri yönlü bir imleçten (cursor) DTO projeksiyonu olarak okunur ve okundukça yazılır; liste oluşturulmaz,
+    // varlık (entity) yüklenmediği için kalıcılık bağlamı (persistence context) da büyümez. Her satır bir JSON nesnesidir.
+    // Bağlantı bu metot süresince tutulur; akış ve işlem (transaction) metot bitince kapanır. Yanıt yazıldıkça gönderildiği
+    // için bu süre istemcinin yanıtı okuma hızına bağlıdır: yavaş bir istemci bir havuz bağlantısını o kadar uzun tutar.
+    @Override
+    @Transactional
+    public long exportProducts(OutputStream out) throws IOException {
+        // Her satırdan sonra flush yapılmaz; JSON üretecinin tamponu doldukça yazılır.
+        ObjectWriter writer = objectMapper.writerFor(ProductDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+             Stream<ProductDTO> products = entityManager.createQuery(
+                             "SELECT new com.ecommerce.project.payload.ProductDTO(p.productId, p.productName, p.image, " +
+                                     "p.description, p.quantity, p.price, p.discount, p.specialPrice) " +
+                                     "FROM Product p ORDER BY p.productId", ProductDTO.class)
+                     .setHint(HibernateHints.HINT_FETCH_SIZE, jdbcFetchSize(dialect(), exportFetchSize))
+                     .setHint(HibernateHints.HINT_READ_ONLY, true)
+                     .getResultStream()) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            for (ProductDTO product : (Iterable<ProductDTO>) products::iterator) {
+                writer.writeValue(generator, product);
+                generator.writeRaw('\n');
+                // İstemci veriyi parça parça alsın diye her fetch bloğunda bir kez gönderilir.
+                if (++count % exportFetchSize == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        return count;
     }
 }
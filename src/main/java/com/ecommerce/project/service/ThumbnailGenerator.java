@@ -0,0 +1,169 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.config.AppConstants;
+import com.ecommerce.project.payload.ExecutorStatsDTO;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Yüklenen ürün görselleri için küçük resimleri (thumbnail) istek thread'i dışında üreten sınırlı iş havuzu.
+// Görsel çözme ve ölçekleme işlemci ve bellek yoğundur; yükleme isteği küçük resimleri beklemez.
+// Her boyut için görsel, en-boy oranı korunarak size x size kutusuna sığdırılır ve
+// {görsel klasörü}/thumbs/{boyut}/{dosya adı} olarak yazılır. Kuyruk doluysa iş atılır; küçük resmi olmayan görseller
+// için orijinal görsel sunulur.
+// Görsel çözülmeden önce boyutları dosya başlığından okunur. Küçük bir dosya çok büyük boyutlar bildirebilir
+// (sıkıştırma bombası); piksel sayısı maxPixels'ı aşan görseller çözülmez. Büyük görseller alt örnekleme (subsampling)
+// ile çözülür, böylece bellekte orijinalin tamamı değil en büyük küçük resmin birkaç katı kadar piksel tutulur.
+@Component
+public class ThumbnailGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThumbnailGenerator.class);
+
+    private final ThreadPoolExecutor executor;
+
+    private final int queueCapacity;
+
+    private final long maxPixels;
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    public ThumbnailGenerator(@Value("${spring.app.images.thumbnails.threads:1}") int threads,
+                              @Value("${spring.app.images.thumbnails.queueCapacity:100}") int queueCapacity,
+                              @Value("${spring.app.images.thumbnails.maxPixels:40000000}") long maxPixels) {
+        this.queueCapacity = queueCapacity;
+        this.maxPixels = maxPixels;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("thumbnail-", 1).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public static Path thumbnailPath(Path imageDir, int size, String fileName) {
+        return imageDir.resolve("thumbs").resolve(String.valueOf(size)).resolve(fileName);
+    }
+
+    // Eksik küçük resimlerin üretimini kuyruğa alır; beklemeden döner.
+    public void submit(Path imageDir, String fileName) {
+        try {
+            executor.execute(() -> generate(imageDir, fileName));
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            logger.warn("Thumbnail queue is full, skipping thumbnails for {}", fileName);
+        }
+    }
+
+    private void generate(Path imageDir, String fileName) {
+        try {
+            BufferedImage original = null;
+            for (Integer size : AppConstants.THUMBNAIL_SIZES) {
+                Path target = thumbnailPath(imageDir, size, fileName);
+                if (Files.exists(target)) {
+                    continue;
+                }
+                if (original == null) {
+                    original = read(imageDir.resolve(fileName), maxPixels, Collections.max(AppConstants.THUMBNAIL_SIZES));
+                    // ImageIO'nun okuyamadığı biçimler (örn. webp) için küçük resim üretilmez.
+                    if (original == null) {
+                        return;
+                    }
+                }
+                write(scale(original, size), formatOf(fileName), target);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Thumbnail generation failed for {}: {}", fileName, e.getMessage());
+        }
+    }
+
+    // Görseli, en uzun kenarı targetSize'ın en az iki katı kalacak şekilde alt örnekleyerek çözer.
+    // Okuyucusu olmayan biçimlerde null döner; boyutları maxPixels'ı aşan görselde IOException fırlatır.
+    static BufferedImage read(Path source, long maxPixels, int targetSize) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = in == null ? Collections.emptyIterator() : ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw new IOException("Image is too large to decode: " + width + "x" + height);
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, Math.max(width, height) / (2 * targetSize));
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage original, int size) {
+        double ratio = Math.min(1.0, (double) size / Math.max(original.getWidth(), original.getHeight()));
+        int width = Math.max(1, (int) Math.round(original.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(original.getHeight() * ratio));
+        boolean alpha = original.getColorModel().hasAlpha();
+        BufferedImage scaled = new BufferedImage(width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(original, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    // Yarım kalmış bir dosyanın sunulmaması için önce geçici dosyaya yazılır, sonra yerine taşınır.
+    private static void write(BufferedImage image, String format, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), "thumb-", ".tmp");
+        try {
+            if (!ImageIO.write(image, format, temp.toFile())) {
+                throw new IOException("No image writer for " + format);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static String formatOf(String fileName) {
+        String extension = fileName.substring(fileName.lastIndexOf('.') + 1).toLowerCase();
+        return extension.equals("jpeg") ? "jpg" : extension;
+    }
+
+    public ExecutorStatsDTO stats() {
+        return new ExecutorStatsDTO("thumbnails", executor.getPoolSize(), executor.getActiveCount(),
+                executor.getQueue().size(), queueCapacity, executor.getCompletedTaskCount(),
+                rejected.get(), 0);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
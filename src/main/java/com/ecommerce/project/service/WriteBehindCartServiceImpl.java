@@ -0,0 +1,278 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.exceptions.ResourceNotFoundException;
+import com.ecommerce.project.mapper.ProductMapper;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.CartDTO;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.util.AuthUtil;
+import com.ecommerce.project.util.CurrentUser;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+// Sepet işlemlerini bellekteki sepetler (WriteBehindCartStore) üzerinden yapan CartService.
+// Ekleme, miktar güncelleme ve silme işlemleri carts/cart_items tablolarına yazmaz; değişiklikler
+// WriteBehindCartStore tarafından toplu olarak yazılır. Yönetici işlemleri (tüm sepetler, ürün silme,
+// toplu fiyat güncelleme) veritabanı üzerinde çalışan CartServiceImpl'e devredilir.
+// spring.app.cart.writeBehind.enabled=true olduğunda CartServiceImpl yerine kullanılır.
+@Service
+@Primary
+@ConditionalOnProperty(name = "spring.app.cart.writeBehind.enabled", havingValue = "true")
+public class WriteBehindCartServiceImpl implements CartService {
+
+    @Autowired
+    private WriteBehindCartStore cartStore;
+
+    @Autowired
+    private CartServiceImpl databaseCartService;
+
+    @Autowired
+    private AuthUtil authUtil;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductMapper productMapper;
+
+    @Override
+    public CartDTO addProductToCart(Long productId, Integer quantity) {
+        CurrentUser user = authUtil.currentUser();
+
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
+
+        CachedCart cart = cartStore.lockCart(user.getEmail(), user.getUserId());
+        CartDTO cartDTO;
+        try {
+            if (cart.getLine(productId) != null) {
+                throw new APIException("Product " + product.getProductName() + " already exists in the cart");
+            }
+
+            if (product.getQuantity() == 0) {
+                throw new APIException(product.getProductName() + " is not available");
+            }
+
+            if (product.getQuantity() < quantity) {
+                throw new APIException("Please, make an order of the " + product.getProductName()
+                        + " less than or equal to the quantity " + product.getQuantity() + ".");
+            }
+
+            cart.putLine(productMapper.toDTO(product), quantity, product.getDiscount(), product.getSpecialPrice());
+            cartDTO = cart.toDTO();
+        } finally {
+            cart.unlock();
+        }
+        cartStore.afterMutation(cart);
+        return cartDTO;
+    }
+
+    // Yönetici listesi veritabanından okunur; önce bekleyen değişiklikler yazılır.
+    @Override
+    public List<CartDTO> getAllCarts() {
+        cartStore.flushDirtyCarts();
+        return databaseCartService.getAllCarts();
+    }
+
+    @Override
+    public CartDTO getCart(String emailId, Long cartId) {
+        CachedCart cart = cartStore.lockCart(emailId, null);
+        if (cart == null) {
+            throw new ResourceNotFoundException("Cart", "cartId", cartId);
+        }
+        try {
+            if (!cart.getCartId().equals(cartId)) {
+                throw new ResourceNotFoundException("Cart", "cartId", cartId);
+            }
+            return cart.toDTO();
+        } finally {
+            cart.unlock();
+        }
+    }
+
+    @Override
+    public CartDTO getCartByEmail(String emailId) {
+        CachedCart cart = cartStore.lockCart(emailId, null);
+        if (cart == null) {
+            throw new ResourceNotFoundException("Cart", "email", emailId);
+        }
+        try {
+            return cart.toDTO();
+        } finally {
+            cart.unlock();
+        }
+    }
+
+    @Override
+    public CartDTO updateProductQuantityInCart(Long productId, Integer quantity) {
+        CurrentUser user = authUtil.currentUser();
+
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
+
+        if (product.getQuantity() == 0) {
+            throw new APIException(product.getProductName() + " is not available");
+        }
+
+        if (product.getQuantity() < quantity) {
+            throw new APIException("Please, make an order of the " + product.getProductName()
+                    + " less than or equal to the quantity " + product.getQuantity() + ".");
+        }
+
+        CachedCart cart = cartStore.lockCart(user.getEmail(), user.getUserId());
+        CartDTO cartDTO;
+        try {
+            CachedCart.Line line = cart.getLine(productId);
+            if (line == null) {
+                throw new APIException("Product " + product.getProductName() + " not available in the cart!!!");
+            }
+
+            int newQuantity = line.quantity + quantity;
+            if (newQuantity < 0) {
+                throw new APIException("The resulting quantity cannot be negative.");
+            }
+
+            if (newQuantity == 0) {
+                cart.removeLine(productId);
+            } else {
+                line.product = productMapper.toDTO(product);
+                line.productPrice = product.getSpecialPrice();
+                line.discount = product.getDiscount();
+                line.quantity = newQuantity;
+                cart.markDirty();
+            }
+            cartDTO = cart.toDTO();
+        } finally {
+            cart.unlock();
+        }
+        cartStore.afterMutation(cart);
+        return cartDTO;
+    }
+
+    // Sepet bellekteyse satır bellekten silinir; değilse doğrudan veritabanından silinir.
+    @Override
+    public String deleteProductFromCart(Long cartId, Long productId) {
+        CachedCart loaded = cartStore.findLoaded(cartId);
+        if (loaded == null) {
+            return databaseCartService.deleteProductFromCart(cartId, productId);
+        }
+        CachedCart cart = cartStore.lockCart(loaded.getEmail(), null);
+        if (cart == null || !cart.getCartId().equals(cartId)) {
+            if (cart != null) {
+                cart.unlock();
+            }
+            return databaseCartService.deleteProductFromCart(cartId, productId);
+        }
+        String productName;
+        try {
+            CachedCart.Line removed = cart.removeLine(productId);
+            if (removed == null) {
+                throw new ResourceNotFoundException("Product", "productId", productId);
+            }
+            productName = removed.product.getProductName();
+        } finally {
+            cart.unlock();
+        }
+        cartStore.afterMutation(cart);
+        return "Product " + productName + " removed from the cart !!!";
+    }
+
+    // Ürün silinmeden önce hem bellekteki hem de veritabanındaki sepetlerden çıkarılır;
+    // aksi halde bekleyen bir yazma, silinmiş ürüne ait satırı geri eklemeye çalışırdı.
+    // Çağıran bir işlem içindeyse bellekteki sepetler işlem onaylandıktan sonra değişir; geri alınan silme
+    // sepetlerden satır düşürmez.
+    @Override
+    public void removeProductFromCarts(Long productId) {
+        databaseCartService.removeProductFromCarts(productId);
+        afterCommit(() -> {
+            for (CachedCart cart : cartStore.loadedCarts()) {
+                cart.lock();
+                try {
+                    cart.removeLine(productId);
+                } finally {
+                    cart.unlock();
+                }
+            }
+        });
+    }
+
+    // Ödeme sırasında sepet zaten bellekten çıkarılmıştır; bellekte kalan bir kopya varsa o da boşaltılır.
+    @Override
+    public void clearCart(Long cartId) {
+        CachedCart cart = cartStore.findLoaded(cartId);
+        if (cart != null) {
+            cart.lock();
+            try {
+                cart.snapshot().lines().forEach(line -> cart.removeLine(line.productId()));
+            } finally {
+                cart.unlock();
+            }
+        }
+        databaseCartService.clearCart(cartId);
+    }
+
+    @Override
+    public void updateProductInCarts(Long cartId, Long productId) {
+        databaseCartService.updateProductInCarts(cartId, productId);
+        CachedCart cart = cartStore.findLoaded(cartId);
+        if (cart != null) {
+            Product product = productRepository.findById(productId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
+            repriceLine(cart, productId, product.getSpecialPrice());
+        }
+    }
+
+    // Veritabanındaki sepetler iki toplu ifadeyle, bellekteki sepetler yerinde güncellenir.
+    // Bellekteki sepetler kirli işaretlenir; daha önce alınmış eski bir kopyanın yazılması yeni fiyatı ezemez.
+    // Ürün güncellemesi işlem içinde çalışır: bellekteki fiyat işlem onaylandıktan sonra değişir, aksi halde geri alınan
+    // bir fiyat sonraki yazmada sepetlere kaydedilirdi.
+    @Override
+    public int updateProductPriceInCarts(Long productId, double newPrice) {
+        int updated = databaseCartService.updateProductPriceInCarts(productId, newPrice);
+        afterCommit(() -> {
+            for (CachedCart cart : cartStore.loadedCarts()) {
+                repriceLine(cart, productId, newPrice);
+            }
+        });
+        return updated;
+    }
+
+    @Override
+    public void prepareCartForCheckout(String emailId) {
+        cartStore.flushAndEvict(emailId);
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private void repriceLine(CachedCart cart, Long productId, double newPrice) {
+        cart.lock();
+        try {
+            CachedCart.Line line = cart.getLine(productId);
+            if (line != null) {
+                line.productPrice = newPrice;
+                line.product.setSpecialPrice(newPrice);
+                cart.markDirty();
+            }
+        } finally {
+            cart.unlock();
+        }
+    }
+}
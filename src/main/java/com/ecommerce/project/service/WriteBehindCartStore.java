@@ -0,0 +1,374 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.exceptions.ServiceUnavailableException;
+import com.ecommerce.project.mapper.ProductMapper;
+import com.ecommerce.project.model.Cart;
+import com.ecommerce.project.model.CartItem;
+import com.ecommerce.project.repositories.CartRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.repositories.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+// Aktif sepetleri kullanıcı e-postasına göre bellekte tutar ve değişiklikleri veritabanına toplu olarak yazar (write-behind).
+// spring.app.cart.writeBehind.enabled=true olduğunda devreye girer.
+//
+// Dayanıklılık (spring.app.cart.writeBehind.durability):
+//   SYNC     - her değişiklik hemen veritabanına yazılır; çökme durumunda veri kaybı olmaz,
+//              ancak okumalar yine bellekten yapılır.
+//   INTERVAL - kirli sepetler flushIntervalMs aralıklarla toplu yazılır; çökme durumunda son aralıktaki
+//              sepet değişiklikleri kaybolabilir. Ödeme (checkout) öncesinde ve kapanışta her zaman yazılır.
+@Component
+@ConditionalOnProperty(name = "spring.app.cart.writeBehind.enabled", havingValue = "true")
+public class WriteBehindCartStore {
+
+    public enum Durability { SYNC, INTERVAL }
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindCartStore.class);
+
+    @Value("${spring.app.cart.writeBehind.durability:INTERVAL}")
+    private Durability durability;
+
+    // Tek bir işlemde (transaction) yazılacak en fazla sepet sayısı.
+    @Value("${spring.app.cart.writeBehind.batchSize:200}")
+    private int batchSize;
+
+    // Bu süre boyunca dokunulmayan temiz sepetler bellekten çıkarılır.
+    @Value("${spring.app.cart.writeBehind.idleTimeoutMs:1800000}")
+    private long idleTimeoutMs;
+
+    // Ödemesi sürmekte olan bir kullanıcının sepeti, ödeme işlemi bitene kadar en fazla bu süre beklenerek yüklenir.
+    @Value("${spring.app.cart.writeBehind.checkoutWaitMs:30000}")
+    private long checkoutWaitMs;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductMapper productMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<String, CachedCart> cartsByEmail = new ConcurrentHashMap<>();
+    private final Map<Long, CachedCart> cartsById = new ConcurrentHashMap<>();
+    // Aynı kullanıcının sepetini aynı anda yükleyen istekler tek bir yüklemeyi bekler.
+    private final Map<String, CompletableFuture<CachedCart>> loading = new ConcurrentHashMap<>();
+    // Ödeme işlemi sürmekte olan kullanıcılar; işlem bitince sayaç sıfırlanır.
+    private final Map<String, CountDownLatch> checkouts = new ConcurrentHashMap<>();
+
+    public WriteBehindCartStore(PlatformTransactionManager transactionManager) {
+        // Yazmalar her zaman kendi işleminde yapılır; çağıranın işlemi geri alınsa bile yazılan sepet kaybolmaz.
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // Kullanıcının sepetini kilitleyerek döner; bellekte yoksa veritabanından yükler.
+    // Veritabanında sepet yoksa ve userId verilmişse boş bir sepet satırı oluşturulur,
+    // böylece bellekteki her sepetin kalıcı bir cartId'si olur. Sepet yoksa null döner.
+    // Çağıran işini bitirince unlock() çağırmalıdır.
+    CachedCart lockCart(String email, Long userId) {
+        while (true) {
+            CachedCart cart = cartsByEmail.get(email);
+            if (cart == null) {
+                cart = loadOnce(email, userId);
+                if (cart == null) {
+                    if (userId == null) {
+                        return null;
+                    }
+                    // Başka bir istek userId olmadan yükledi ve sepet bulamadı; sepet bu istekte oluşturulur.
+                    continue;
+                }
+            }
+            cart.lock();
+            if (!cart.isEvicted()) {
+                cart.touch();
+                return cart;
+            }
+            // Kilidi beklerken sepet bellekten çıkarıldıysa yeniden yüklenir.
+            cart.unlock();
+        }
+    }
+
+    // Sepeti veritabanından yükleyip belleğe koyar. Yükleme ConcurrentHashMap.computeIfAbsent içinde yapılmaz;
+    // JDBC çağrısı süresince haritanın ilgili bölmesi ve (sanal thread'lerde) taşıyıcı thread kilitli kalırdı.
+    // Aynı e-posta için eşzamanlı yüklemeler ilk isteğin sonucunu bekler; böylece iki ayrı boş sepet oluşturulmaz.
+    private CachedCart loadOnce(String email, Long userId) {
+        CompletableFuture<CachedCart> mine = new CompletableFuture<>();
+        CompletableFuture<CachedCart> running = loading.putIfAbsent(email, mine);
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        try {
+            // Önceki yükleme bu isteğin yerini almasından hemen önce bitmiş olabilir.
+            CachedCart cart = cartsByEmail.get(email);
+            if (cart == null) {
+                awaitCheckout(email);
+                cart = transactionTemplate.execute(status -> load(email, userId));
+                if (cart != null) {
+                    cartsById.put(cart.getCartId(), cart);
+                    cartsByEmail.put(email, cart);
+                }
+            }
+            mine.complete(cart);
+            return cart;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(email, mine);
+        }
+    }
+
+    // Kullanıcının ödeme işlemi sürüyorsa bitmesini bekler. Ödeme sırasında yüklenen bir kopya, işlem henüz
+    // onaylanmadığı için sipariş edilen satırları içerirdi; işlem bittikten sonra yüklenen sepet güncel olur.
+    private void awaitCheckout(String email) {
+        CountDownLatch checkout = checkouts.get(email);
+        if (checkout == null) {
+            return;
+        }
+        try {
+            if (!checkout.await(checkoutWaitMs, TimeUnit.MILLISECONDS)) {
+                throw new ServiceUnavailableException("Checkout in progress, please try again shortly",
+                        Math.max(1, checkoutWaitMs / 1000));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Checkout in progress, please try again shortly", 1);
+        }
+    }
+
+    // Sadece bellekte olan sepeti döner; veritabanına gitmez.
+    CachedCart findLoaded(Long cartId) {
+        return cartsById.get(cartId);
+    }
+
+    Collection<CachedCart> loadedCarts() {
+        return cartsByEmail.values();
+    }
+
+    // Bir değişiklikten sonra çağrılır. SYNC modunda sepet hemen yazılır.
+    void afterMutation(CachedCart cart) {
+        if (durability == Durability.SYNC) {
+            flush(cart);
+        }
+    }
+
+    // Kullanıcının sepetini yazar ve bellekten çıkarır. Ödeme akışı bundan sonra doğrudan veritabanı ile çalışır.
+    // Çağıranın işlemi sürdüğü sürece aynı kullanıcının sepeti yeniden yüklenmez (bkz. awaitCheckout); ödeme
+    // sırasında gelen sepet istekleri işlem bitince güncel sepet üzerinde çalışır, yaptıkları değişiklikler kaybolmaz.
+    void flushAndEvict(String email) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Sepet çıkarılmadan önce işaretlenir; aradaki bir yükleme de ödemenin bitmesini bekler.
+            CountDownLatch checkout = new CountDownLatch(1);
+            checkouts.put(email, checkout);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    checkouts.remove(email, checkout);
+                    checkout.countDown();
+                }
+            });
+        }
+        CachedCart cart = cartsByEmail.get(email);
+        while (cart != null) {
+            flush(cart);
+            cart.lock();
+            try {
+                if (!cart.isDirty()) {
+                    evict(cart);
+                    break;
+                }
+            } finally {
+                cart.unlock();
+            }
+        }
+    }
+
+    // Sepet kilitliyken çağrılmalıdır.
+    private void evict(CachedCart cart) {
+        cart.markEvicted();
+        cartsByEmail.remove(cart.getEmail(), cart);
+        cartsById.remove(cart.getCartId(), cart);
+    }
+
+    // Kirli sepetleri batchSize'lık gruplar halinde yazar ve uzun süre kullanılmayan temiz sepetleri bellekten çıkarır.
+    @Scheduled(fixedDelayString = "${spring.app.cart.writeBehind.flushIntervalMs:5000}")
+    public void flushDirtyCarts() {
+        List<CachedCart> dirty = new ArrayList<>();
+        long idleBefore = System.currentTimeMillis() - idleTimeoutMs;
+        for (CachedCart cart : cartsByEmail.values()) {
+            cart.lock();
+            try {
+                if (cart.isDirty()) {
+                    dirty.add(cart);
+                } else if (cart.getLastAccess() < idleBefore) {
+                    evict(cart);
+                }
+            } finally {
+                cart.unlock();
+            }
+        }
+        for (int from = 0; from < dirty.size(); from += batchSize) {
+            flushBatch(dirty.subList(from, Math.min(from + batchSize, dirty.size())));
+        }
+    }
+
+    // Uygulama kapanırken bellekte kalan tüm değişiklikler yazılır.
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushDirtyCarts();
+    }
+
+    private void flush(CachedCart cart) {
+        cart.flushLock().lock();
+        try {
+            CachedCart.Snapshot snapshot = takeSnapshot(cart);
+            if (snapshot == null) {
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> persist(snapshot));
+            markFlushed(cart, snapshot);
+        } finally {
+            cart.flushLock().unlock();
+        }
+    }
+
+    // Grup tek işlemde yazılır. Başarısız olursa her sepet ayrı işlemde tekrar denenir,
+    // böylece tek bir hatalı sepet diğerlerinin yazılmasını engellemez. Yazılamayan sepetler kirli kalır.
+    private void flushBatch(List<CachedCart> batch) {
+        List<CachedCart> locked = new ArrayList<>(batch.size());
+        try {
+            // Başka bir yazma işleminde olan sepetler atlanır; o yazma veya bir sonraki tur onları yazar.
+            for (CachedCart cart : batch) {
+                if (cart.flushLock().tryLock()) {
+                    locked.add(cart);
+                }
+            }
+            List<CachedCart.Snapshot> snapshots = new ArrayList<>(locked.size());
+            for (CachedCart cart : locked) {
+                snapshots.add(takeSnapshot(cart));
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> snapshots.stream()
+                        .filter(Objects::nonNull)
+                        .forEach(this::persist));
+                for (int i = 0; i < locked.size(); i++) {
+                    markFlushed(locked.get(i), snapshots.get(i));
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Cart batch flush failed, retrying {} carts one by one: {}", locked.size(), e.getMessage());
+                for (int i = 0; i < locked.size(); i++) {
+                    CachedCart.Snapshot snapshot = snapshots.get(i);
+                    if (snapshot == null) {
+                        continue;
+                    }
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> persist(snapshot));
+                        markFlushed(locked.get(i), snapshot);
+                    } catch (RuntimeException single) {
+                        logger.error("Cannot flush cart {}: {}", snapshot.cartId(), single.getMessage());
+                    }
+                }
+            }
+        } finally {
+            locked.forEach(cart -> cart.flushLock().unlock());
+        }
+    }
+
+    private CachedCart.Snapshot takeSnapshot(CachedCart cart) {
+        cart.lock();
+        try {
+            return cart.isDirty() ? cart.snapshot() : null;
+        } finally {
+            cart.unlock();
+        }
+    }
+
+    private void markFlushed(CachedCart cart, CachedCart.Snapshot snapshot) {
+        if (snapshot == null) {
+            return;
+        }
+        cart.lock();
+        try {
+            cart.markFlushed(snapshot.version());
+        } finally {
+            cart.unlock();
+        }
+    }
+
+    private CachedCart load(String email, Long userId) {
+        Cart cart = cartRepository.findCartByEmail(email);
+        if (cart == null) {
+            if (userId == null) {
+                return null;
+            }
+            cart = new Cart();
+            cart.setTotalPrice(0.00);
+            cart.setUser(userRepository.getReferenceById(userId));
+            cart = cartRepository.save(cart);
+        }
+        CachedCart cached = new CachedCart(email, cart.getCartId());
+        for (CartItem item : cart.getCartItems()) {
+            cached.putLine(productMapper.toDTO(item.getProduct()), item.getQuantity(), item.getDiscount(), item.getProductPrice());
+        }
+        cached.markClean();
+        return cached;
+    }
+
+    // Sepetin bellekteki halini veritabanındaki satırlarla eşitler: yeni satırlar eklenir,
+    // değişenler güncellenir, bellekte olmayanlar orphanRemoval ile silinir.
+    private void persist(CachedCart.Snapshot snapshot) {
+        Cart cart = cartRepository.findById(snapshot.cartId()).orElse(null);
+        if (cart == null) {
+            logger.warn("Cart {} no longer exists, dropping in-memory changes for {}", snapshot.cartId(), snapshot.email());
+            return;
+        }
+        Map<Long, CartItem> existing = new HashMap<>();
+        for (CartItem item : cart.getCartItems()) {
+            existing.put(item.getProduct().getProductId(), item);
+        }
+        for (CachedCart.Snapshot.LineSnapshot line : snapshot.lines()) {
+            CartItem item = existing.remove(line.productId());
+            if (item == null) {
+                item = new CartItem();
+                item.setCart(cart);
+                item.setProduct(productRepository.getReferenceById(line.productId()));
+                cart.getCartItems().add(item);
+            }
+            item.setQuantity(line.quantity());
+            item.setDiscount(line.discount());
+            item.setProductPrice(line.productPrice());
+        }
+        // Yeni satırlar, işlem sonunda cascade PERSIST ile; çıkarılanlar orphanRemoval ile yazılır.
+        cart.getCartItems().removeAll(existing.values());
+        cart.setTotalPrice(snapshot.totalPrice());
+    }
+}
@@ -3,10 +3,15 @@ package com.ecommerce.project.util;
 
 import com.ecommerce.project.model.User;
 import com.ecommerce.project.repositories.UserRepository;
+import com.ecommerce.project.security.services.UserDetailsImpl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.stream.Collectors;
 
 @Component // Bu anotasyon, bu sınıfın bir Spring bileşeni olduğunu belirtir ve Spring tarafından yönetilmesini sağlar.
 // Bu sınıf, uygulamanın herhangi bir yerinde bağımlılık enjeksiyonu ile kullanılabilir.
@@ -15,28 +20,17 @@ public class AuthUtil {
     @Autowired
     UserRepository userRepository; //Kullanıcı verilerini db'den çekmeyi sağlar
 
+    @Autowired
+    private CurrentUserContext currentUserContext; // İstek boyunca çözümlenmiş kullanıcı bilgisini tutar
+
     //Oturum açmış kullanıcının e-posta adresini alır
     public String loggedInEmail() {
-        //Authentication nesnesi şu anda oturum açmış kullanıcıyı temsil eder
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-
-        //Kullanıcının adını (username) kullanarak veritabanından arama yapılır
-        User user = userRepository.findByUserName(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User Not Found")); //Kullanıcı bululnamazsa hata fırlatır
-
-        return user.getEmail();
+        return currentUser().getEmail();
     }
 
     //Oturum açmış kullanıcının ID'sini alır
     public Long loggedInUserId() {
-        //Şu anda oturum açmış kullanıcıyı alır
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-
-        //DB'den kullanıcıyı bul
-        User user = userRepository.findByUserName(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User Not Found"));
-
-        return user.getUserId();
+        return currentUser().getUserId();
     }
 
     //Oturum açmış kullanıcının User nesnesini döner (Bütün veriler)
@@ -50,4 +44,45 @@ public class AuthUtil {
         return user;
     }
 
+    //Oturum açmış kullanıcıya ait, veritabanına gitmeden oluşturulan bir referans döner.
+    //Sadece ilişki kurmak (örn. cart.setUser) için kullanılmalıdır.
+    public User loggedInUserReference() {
+        return userRepository.getReferenceById(loggedInUserId());
+    }
+
+    //Oturum açmış kullanıcının kimlik bilgilerini döner.
+    //HTTP isteği içinde bilgiler bir kez çözümlenip istek boyunca yeniden kullanılır.
+    public CurrentUser currentUser() {
+        if (RequestContextHolder.getRequestAttributes() == null) {
+            return resolveCurrentUser();
+        }
+        CurrentUser currentUser = currentUserContext.getCurrentUser();
+        if (currentUser == null) {
+            currentUser = resolveCurrentUser();
+            currentUserContext.setCurrentUser(currentUser);
+        }
+        return currentUser;
+    }
+
+    //Kullanıcı bilgileri kimliği doğrulanmış principal'dan alınır.
+    //Principal UserDetailsImpl değilse (örn. farklı bir kimlik doğrulama yöntemi) veritabanına bir kez gidilir.
+    private CurrentUser resolveCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            throw new RuntimeException("User Not Found");
+        }
+        if (authentication.getPrincipal() instanceof UserDetailsImpl principal) {
+            return new CurrentUser(principal.getId(), principal.getUsername(), principal.getEmail(),
+                    principal.getAuthorities().stream()
+                            .map(GrantedAuthority::getAuthority)
+                            .collect(Collectors.toUnmodifiableSet()));
+        }
+        User user = userRepository.findByUserName(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User Not Found"));
+        return new CurrentUser(user.getUserId(), user.getUserName(), user.getEmail(),
+                user.getRoles().stream()
+                        .map(role -> role.getRoleName().name())
+                        .collect(Collectors.toUnmodifiableSet()));
+    }
+
 }
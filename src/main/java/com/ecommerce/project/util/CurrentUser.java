@@ -0,0 +1,19 @@
+package com.ecommerce.project.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+// Oturum açmış kullanıcının kimlik bilgileri (id, kullanıcı adı, e-posta, roller).
+// Kimliği doğrulanmış principal'dan oluşturulur; veritabanı sorgusu gerektirmez.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CurrentUser {
+    private Long userId;
+    private String userName;
+    private String email;
+    private Set<String> roles;
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.project.util;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+// Her HTTP isteği için bir kez çözümlenen kullanıcı bilgisini tutar.
+// Aynı istek içinde AuthUtil'in tekrar tekrar çağrılması ek iş yapmaz.
+@Component
+@RequestScope
+public class CurrentUserContext {
+
+    private CurrentUser currentUser;
+
+    public CurrentUser getCurrentUser() {
+        return currentUser;
+    }
+
+    public void setCurrentUser(CurrentUser currentUser) {
+        this.currentUser = currentUser;
+    }
+}
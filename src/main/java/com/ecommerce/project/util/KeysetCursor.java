@@ -0,0 +1,127 @@
+package com.ecommerce.project.util;
+
+import com.ecommerce.project.exceptions.APIException;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.ClassUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+// Anahtar tabanlı (keyset / seek) sayfalama için devam imleci (cursor).
+// OFFSET yerine "son görülen sıralama değeri + ID'den sonrasını getir" sorgusu üretir,
+// böylece derin sayfalar da ilk sayfa kadar hızlı gelir.
+// İmleç istemciye opak bir Base64 metni olarak verilir; içeriği sıralama alanı, yönü, son değerin null olup olmadığı,
+// son değer ve son ID'dir.
+// Sıralama alanındaki null değerler MySQL ve H2'deki varsayılan gibi en küçük değer sayılır: artan sıralamada başta,
+// azalan sıralamada sonda gelir. "null" metni ile null değer birbirine karışmaz.
+public final class KeysetCursor {
+
+    private static final String SEPARATOR = "\u001F";
+    private static final String NULL_VALUE = "n";
+    private static final String PRESENT_VALUE = "v";
+
+    private static final ConversionService conversionService = DefaultConversionService.getSharedInstance();
+
+    private final String sortBy;
+    private final boolean ascending;
+    private final String lastValue;
+    private final Long lastId;
+
+    private KeysetCursor(String sortBy, boolean ascending, String lastValue, Long lastId) {
+        this.sortBy = sortBy;
+        this.ascending = ascending;
+        this.lastValue = lastValue;
+        this.lastId = lastId;
+    }
+
+    // İstemciden gelen imleci çözer. Boş imleç ilk sayfayı ifade eder ve null döner.
+    // İmleç farklı bir sıralama ile oluşturulmuşsa geçersiz sayılır.
+    public static KeysetCursor decode(String token, String sortBy, boolean ascending) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(SEPARATOR, -1);
+            if (parts.length != 5 || !parts[0].equals(sortBy) || Boolean.parseBoolean(parts[1]) != ascending) {
+                throw new APIException("Cursor does not match the requested sort order");
+            }
+            String lastValue = switch (parts[2]) {
+                case NULL_VALUE -> null;
+                case PRESENT_VALUE -> parts[3];
+                default -> throw new IllegalArgumentException("Unknown value marker " + parts[2]);
+            };
+            return new KeysetCursor(parts[0], ascending, lastValue, Long.valueOf(parts[4]));
+        } catch (IllegalArgumentException e) {
+            throw new APIException("Invalid cursor");
+        }
+    }
+
+    // Sayfanın son elemanından bir sonraki sayfanın imlecini oluşturur.
+    public static String encode(Object lastEntity, String sortBy, boolean ascending, Long lastId) {
+        Object value = new BeanWrapperImpl(lastEntity).getPropertyValue(sortBy);
+        String raw = sortBy + SEPARATOR + ascending + SEPARATOR
+                + (value == null ? NULL_VALUE + SEPARATOR : PRESENT_VALUE + SEPARATOR + value)
+                + SEPARATOR + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // İmleçli sayfalamada sayfa boyutu en az 1 olmalıdır; bir sonraki sayfanın imleci sayfanın son elemanından üretilir.
+    public static void checkPageSize(Integer pageSize) {
+        if (pageSize == null || pageSize < 1) {
+            throw new APIException("pageSize must be greater than 0");
+        }
+    }
+
+    // Sıralama alanı ve eşitlikleri kırmak için ID alanı ile sıralama.
+    public static Sort sort(String sortBy, boolean ascending, String idField) {
+        Sort.Direction direction = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return sortBy.equals(idField)
+                ? Sort.by(direction, idField)
+                : Sort.by(direction, sortBy).and(Sort.by(direction, idField));
+    }
+
+    // (sortBy, id) > (lastValue, lastId) koşulunu üretir. Azalan sıralamada karşılaştırma ters çevrilir.
+    // null değerler en küçük sayıldığı için artan sıralamada null'lardan sonra tüm dolu değerler,
+    // azalan sıralamada dolu değerlerden sonra tüm null'lar gelir.
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public <T> Specification<T> toSpecification(String idField) {
+        return (root, query, cb) -> {
+            Path<Long> id = root.get(idField);
+            Predicate afterId = ascending ? cb.greaterThan(id, lastId) : cb.lessThan(id, lastId);
+            if (sortBy.equals(idField)) {
+                return afterId;
+            }
+            Path<Comparable> key = root.get(sortBy);
+            if (lastValue == null) {
+                Predicate sameNull = cb.and(cb.isNull(key), afterId);
+                return ascending ? cb.or(sameNull, cb.isNotNull(key)) : sameNull;
+            }
+            Comparable value = (Comparable) conversionService.convert(lastValue,
+                    ClassUtils.resolvePrimitiveIfNecessary(key.getJavaType()));
+            Predicate afterKey = ascending ? cb.greaterThan(key, value) : cb.lessThan(key, value);
+            Predicate after = cb.or(afterKey, cb.and(cb.equal(key, value), afterId));
+            return ascending ? after : cb.or(after, cb.isNull(key));
+        };
+    }
+
+    // Bir sonraki sayfanın olup olmadığını anlamak için pageSize + 1 kayıt çekilir;
+    // fazladan gelen kayıt atılır ve son kayıttan yeni imleç üretilir.
+    public static <T> String nextCursor(List<T> fetched, int pageSize, String sortBy, boolean ascending,
+                                        Function<T, Long> idOf) {
+        checkPageSize(pageSize);
+        if (fetched.size() <= pageSize) {
+            return null;
+        }
+        T last = fetched.get(pageSize - 1);
+        return encode(last, sortBy, ascending, idOf.apply(last));
+    }
+}
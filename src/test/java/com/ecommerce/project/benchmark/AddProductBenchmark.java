@@ -0,0 +1,115 @@
+package com.ecommerce.project.benchmark;
+
+import com.ecommerce.project.SbEcomApplication;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.service.ProductService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// addProduct'taki aynı isim kontrolünün süresini küçük ve büyük kategoride karşılaştırır.
+// "indexed": (category_id, normalized_name) benzersiz indeksi üzerinden varlık sorgusu (ProductServiceImpl.addProduct).
+// "legacy": eski yöntem, category.getProducts() listesinin tamamını yükleyip isimleri tek tek karşılaştırmak.
+// Kategoriler doğrudan JDBC batch ile doldurulur; ölçülen süre bir addProduct çağrısının veya eski kontrolün süresidir.
+// Çalıştırmak için:
+//   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+//   java -cp "target/test-classes:target/classes:$(cat target/cp.txt)" com.ecommerce.project.benchmark.AddProductBenchmark
+// Ayarlar (-D): bench.largeCategory (100000), bench.smallCategory (100), bench.iterations (200), bench.legacyIterations (20)
+public class AddProductBenchmark {
+
+    private static final int LARGE = Integer.getInteger("bench.largeCategory", 100_000);
+    private static final int SMALL = Integer.getInteger("bench.smallCategory", 100);
+    private static final int ITERATIONS = Integer.getInteger("bench.iterations", 200);
+    // Eski yöntem büyük kategoride çağrı başına saniyeler sürdüğü için daha az tekrarlanır.
+    private static final int LEGACY_ITERATIONS = Integer.getInteger("bench.legacyIterations", 20);
+
+    public static void main(String[] args) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SbEcomApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:addproduct;DB_CLOSE_DELAY=-1;MODE=MySQL",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "logging.level.root=WARN")
+                .run();
+        try {
+            Category small = seed(context, "Small bench", SMALL, 10_000_000L);
+            Category large = seed(context, "Large bench", LARGE, 20_000_000L);
+            for (Category category : List.of(small, large)) {
+                int size = category == small ? SMALL : LARGE;
+                print("indexed", size, measureIndexed(context, category));
+                print("legacy", size, measureLegacy(context, category));
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    private static Category seed(ConfigurableApplicationContext context, String name, int products, long firstId) {
+        Category category = context.getBean(CategoryRepository.class).save(new Category(null, name, null));
+        List<Object[]> rows = new ArrayList<>(products);
+        for (int i = 0; i < products; i++) {
+            String productName = name + " product " + i;
+            rows.add(new Object[] { firstId + i, productName, Product.normalizeName(productName), "Seeded benchmark product",
+                    10, 10.0, 0.0, 10.0, category.getCategoryId() });
+        }
+        // Bağlantılarda auto-commit kapalı olduğu için ekleme bir işlem içinde yapılır.
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).executeWithoutResult(status ->
+                context.getBean(JdbcTemplate.class).batchUpdate(
+                        "INSERT INTO products (product_id, product_name, normalized_name, description, quantity, price, discount, " +
+                                "special_price, category_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows));
+        return category;
+    }
+
+    private static long[] measureIndexed(ConfigurableApplicationContext context, Category category) {
+        ProductService productService = context.getBean(ProductService.class);
+        long[] nanos = new long[ITERATIONS];
+        for (int i = -20; i < ITERATIONS; i++) {
+            ProductDTO productDTO = new ProductDTO(null, category.getCategoryName() + " added " + i, null,
+                    "Product added by the benchmark", 1, 10, 0, 10);
+            long start = System.nanoTime();
+            productService.addProduct(category.getCategoryId(), productDTO);
+            if (i >= 0) {
+                nanos[i] = System.nanoTime() - start;
+            }
+        }
+        return nanos;
+    }
+
+    private static long[] measureLegacy(ConfigurableApplicationContext context, Category category) {
+        CategoryRepository categoryRepository = context.getBean(CategoryRepository.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        long[] nanos = new long[LEGACY_ITERATIONS];
+        for (int i = -2; i < LEGACY_ITERATIONS; i++) {
+            String productName = category.getCategoryName() + " legacy " + i;
+            long start = System.nanoTime();
+            transactionTemplate.executeWithoutResult(status -> {
+                Category loaded = categoryRepository.findById(category.getCategoryId()).orElseThrow();
+                for (Product product : loaded.getProducts()) {
+                    if (product.getProductName().equals(productName)) {
+                        break;
+                    }
+                }
+            });
+            if (i >= 0) {
+                nanos[i] = System.nanoTime() - start;
+            }
+        }
+        return nanos;
+    }
+
+    private static void print(String mode, int categorySize, long[] nanos) {
+        Arrays.sort(nanos);
+        System.out.printf("%-8s categorySize=%-7d p50=%.2f ms p99=%.2f ms%n", mode, categorySize,
+                nanos[nanos.length / 2] / 1e6, nanos[(int) (nanos.length * 0.99)] / 1e6);
+    }
+}
@@ -0,0 +1,125 @@
+package com.ecommerce.project.benchmark;
+
+import com.ecommerce.project.mapper.CartMapper;
+import com.ecommerce.project.mapper.OrderMapper;
+import com.ecommerce.project.mapper.ProductMapper;
+import com.ecommerce.project.model.*;
+import com.ecommerce.project.payload.CartDTO;
+import com.ecommerce.project.payload.OrderDTO;
+import com.ecommerce.project.payload.OrderItemDTO;
+import com.ecommerce.project.payload.ProductDTO;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// ModelMapper ile elle yazılmış mapper'ları 50 ürünlük bir katalog sayfası, 50 satırlık sepet
+// ve 50 satırlık sipariş üzerinde karşılaştırır.
+// Çalıştırmak için:
+//   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+//   java -cp "target/test-classes:target/classes:$(cat target/cp.txt)" org.openjdk.jmh.Main DtoMappingBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    private final ModelMapper modelMapper = new ModelMapper();
+    private final ProductMapper productMapper = new ProductMapper();
+    private final CartMapper cartMapper = new CartMapper();
+    private final OrderMapper orderMapper = new OrderMapper();
+
+    private List<Product> products;
+    private Cart cart;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        ReflectionTestUtils.setField(cartMapper, "productMapper", productMapper);
+        ReflectionTestUtils.setField(orderMapper, "productMapper", productMapper);
+
+        Category category = new Category(1L, "Electronics", new ArrayList<>());
+        products = new ArrayList<>();
+        cart = new Cart();
+        cart.setCartId(1L);
+        order = new Order();
+        order.setOrderId(1L);
+        order.setEmail("user1@example.com");
+        order.setOrderDate(LocalDate.now());
+        order.setOrderStatus("Order Accepted !");
+        order.setPayment(new Payment("card", "pg-1", "ok", "approved", "stripe"));
+        order.setAddress(new Address("Main Street", "Building 1", "Istanbul", "TR", "Turkey", "34000"));
+
+        for (long i = 0; i < PAGE_SIZE; i++) {
+            Product product = new Product();
+            product.setProductId(i);
+            product.setProductName("Product " + i);
+            product.setDescription("Description of product " + i);
+            product.setImage("default.png");
+            product.setQuantity(100);
+            product.setPrice(100 + i);
+            product.setDiscount(10);
+            product.setSpecialPrice(90 + i);
+            product.setCategory(category);
+            products.add(product);
+
+            cart.getCartItems().add(new CartItem(i, cart, product, 2, 10, product.getSpecialPrice()));
+            order.getOrderItems().add(new OrderItem(i, product, order, 2, 10, product.getSpecialPrice()));
+        }
+    }
+
+    @Benchmark
+    public List<ProductDTO> productPageModelMapper() {
+        return products.stream().map(p -> modelMapper.map(p, ProductDTO.class)).toList();
+    }
+
+    @Benchmark
+    public List<ProductDTO> productPageMapper() {
+        return products.stream().map(productMapper::toDTO).toList();
+    }
+
+    @Benchmark
+    public CartDTO cartModelMapper() {
+        CartDTO cartDTO = modelMapper.map(cart, CartDTO.class);
+        cartDTO.setProducts(cart.getCartItems().stream().map(item -> {
+            ProductDTO productDTO = modelMapper.map(item.getProduct(), ProductDTO.class);
+            productDTO.setQuantity(item.getQuantity());
+            return productDTO;
+        }).toList());
+        return cartDTO;
+    }
+
+    @Benchmark
+    public CartDTO cartMapper() {
+        return cartMapper.toDTO(cart);
+    }
+
+    @Benchmark
+    public OrderDTO orderModelMapper() {
+        OrderDTO orderDTO = modelMapper.map(order, OrderDTO.class);
+        List<OrderItemDTO> items = new ArrayList<>();
+        order.getOrderItems().forEach(item -> items.add(modelMapper.map(item, OrderItemDTO.class)));
+        orderDTO.setOrderItems(items);
+        return orderDTO;
+    }
+
+    @Benchmark
+    public OrderDTO orderMapper() {
+        return orderMapper.toDTO(order);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DtoMappingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
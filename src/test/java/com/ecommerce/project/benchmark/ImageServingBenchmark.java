@@ -0,0 +1,150 @@
+package com.ecommerce.project.benchmark;
+
+import com.ecommerce.project.SbEcomApplication;
+import com.ecommerce.project.model.User;
+import com.ecommerce.project.repositories.UserRepository;
+import com.ecommerce.project.security.jwt.JwtUtils;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// ImageController'ı (sendfile / FileChannel.transferTo) Spring'in varsayılan statik kaynak işleyicisiyle
+// (ResourceHttpRequestHandler) karşılaştırır. Aynı klasör iki yoldan da sunulur:
+//   /images/{dosya}          -> ImageController
+//   /static-images/{dosya}   -> spring.web.resources.static-locations=file:{klasör}/
+// Uygulama gerçek bir Tomcat ile ayağa kaldırılır; her dosya boyutu için sabit eşzamanlılıkla tam yanıt (200),
+// koşullu istek (If-None-Match / If-Modified-Since) ve 8 KB'lık aralık isteği (Range) gönderilir.
+// Çalıştırmak için:
+//   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+//   java -cp "target/test-classes:target/classes:$(cat target/cp.txt)" com.ecommerce.project.benchmark.ImageServingBenchmark
+// Ayarlar (-D): bench.concurrency (64), bench.requests (10000)
+public class ImageServingBenchmark {
+
+    private static final int CONCURRENCY = Integer.getInteger("bench.concurrency", 64);
+    private static final int REQUESTS = Integer.getInteger("bench.requests", 10000);
+
+    private static final int[] SIZES = { 16 * 1024, 256 * 1024, 2 * 1024 * 1024 };
+
+    public static void main(String[] args) throws Exception {
+        Path imageDir = Files.createTempDirectory("image-bench");
+        Random random = new Random(42);
+        for (int size : SIZES) {
+            byte[] content = new byte[size];
+            random.nextBytes(content);
+            Files.write(imageDir.resolve(fileName(size)), content);
+        }
+
+        // project.image test kaynaklarındaki application.properties'te de tanımlı; varsayılan özellikler onu ezemez.
+        System.setProperty("project.image", imageDir.toString());
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SbEcomApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.web.resources.static-locations=file:" + imageDir + "/",
+                        "spring.mvc.static-path-pattern=/static-images/**",
+                        "spring.datasource.url=jdbc:h2:mem:imagebench;DB_CLOSE_DELAY=-1;MODE=MySQL",
+                        "logging.level.root=WARN")
+                .run();
+        try {
+            String cookie = login(context);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+
+            for (int size : SIZES) {
+                for (String prefix : new String[] { "/static-images/", "/images/" }) {
+                    URI uri = URI.create("http://localhost:" + port + prefix + fileName(size));
+                    HttpResponse<Void> first = client.send(HttpRequest.newBuilder(uri).header("Cookie", cookie).build(),
+                            HttpResponse.BodyHandlers.discarding());
+                    // Varsayılan işleyici ETag üretmez, sadece Last-Modified gönderir; koşullu istek yanıtta ne varsa onu taşır.
+                    HttpRequest.Builder conditional = HttpRequest.newBuilder(uri).header("Cookie", cookie).timeout(Duration.ofSeconds(60));
+                    first.headers().firstValue("ETag").ifPresent(eTag -> conditional.header("If-None-Match", eTag));
+                    first.headers().firstValue("Last-Modified").ifPresent(date -> conditional.header("If-Modified-Since", date));
+                    String handler = prefix.equals("/images/") ? "ImageController" : "default";
+
+                    HttpRequest full = HttpRequest.newBuilder(uri).header("Cookie", cookie).timeout(Duration.ofSeconds(60)).build();
+                    HttpRequest range = HttpRequest.newBuilder(uri).header("Cookie", cookie)
+                            .header("Range", "bytes=0-8191").timeout(Duration.ofSeconds(60)).build();
+
+                    // Isınma
+                    load(client, full, 200, Math.min(2000, REQUESTS));
+                    print(handler, size, "200 full", load(client, full, 200, REQUESTS),
+                            first.headers().firstValue("Cache-Control").orElse("-"));
+                    print(handler, size, "304 cond", load(client, conditional.build(), 304, REQUESTS), "");
+                    print(handler, size, "206 range", load(client, range, 206, REQUESTS), "");
+                }
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    private static String fileName(int size) {
+        return "bench-" + (size / 1024) + "k.jpg";
+    }
+
+    private static String login(ConfigurableApplicationContext context) {
+        context.getBean(UserRepository.class).save(new User("imagebench", "imagebench@example.com", "password"));
+        String cookieName = context.getEnvironment().getProperty("spring.ecom.app.jwtCookieName");
+        return cookieName + "=" + context.getBean(JwtUtils.class).generateTokenFromUsername("imagebench");
+    }
+
+    private static void print(String handler, int size, String kind, Result result, String cacheControl) {
+        System.out.printf("%-15s %5dk %-9s -> %7.0f req/s, %7.1f MB/s, p50=%.2f ms, p99=%.2f ms, errors=%d %s%n",
+                handler, size / 1024, kind, result.throughput(), result.megabytesPerSecond(), result.p50(), result.p99(),
+                result.errors(), cacheControl);
+    }
+
+    private static Result load(HttpClient client, HttpRequest request, int expectedStatus, int requests) throws InterruptedException {
+        long[] latencies = new long[requests];
+        AtomicInteger errors = new AtomicInteger();
+        AtomicInteger bytes = new AtomicInteger();
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+
+        long start = System.nanoTime();
+        try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                int index = i;
+                inFlight.acquire();
+                senders.execute(() -> {
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                        bytes.addAndGet(response.body().length / 1024);
+                        if (response.statusCode() != expectedStatus) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    } finally {
+                        latencies[index] = System.nanoTime() - sent;
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        return new Result(requests / (elapsed / 1e9),
+                bytes.get() / 1024.0 / (elapsed / 1e9),
+                latencies[requests / 2] / 1e6,
+                latencies[(int) (requests * 0.99)] / 1e6,
+                errors.get());
+    }
+
+    private record Result(double throughput, double megabytesPerSecond, double p50, double p99, int errors) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.ecommerce.project.benchmark;
+
+import com.ecommerce.project.security.jwt.JwtUtils;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.util.concurrent.TimeUnit;
+
+// AuthTokenFilter'ın istek başına token işleme maliyetini ölçer.
+// perRequestParserAndKey: eski akış; doğrulama, kullanıcı adı ve oluşturulma zamanı için token üç kez
+//   ayrıştırılır ve her seferinde anahtar türetilip yeni parser kurulur.
+// cachedParserSingleParse: hazır parser ve anahtar ile token bir kez ayrıştırılır.
+// Çalıştırmak için:
+//   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+//   java -cp "target/test-classes:target/classes:$(cat target/cp.txt)" org.openjdk.jmh.Main JwtParsingBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtParsingBenchmark {
+
+    private static final String SECRET = "dGhpc2lzYXRlc3RzZWNyZXRrZXlmb3Jqd3R0b2tlbnNpZ25pbmd0aGF0aXNsb25nZW5vdWdo";
+
+    private final JwtUtils jwtUtils = new JwtUtils();
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 3_000_000);
+        ReflectionTestUtils.setField(jwtUtils, "jwtCookie", "benchmark");
+        jwtUtils.init();
+        token = jwtUtils.generateTokenFromUsername("user1");
+    }
+
+    @Benchmark
+    public void perRequestParserAndKey(Blackhole blackhole) {
+        legacyParse(token);
+        blackhole.consume(legacyParse(token).getSubject());
+        blackhole.consume(legacyParse(token).getIssuedAt());
+    }
+
+    @Benchmark
+    public void cachedParserSingleParse(Blackhole blackhole) {
+        Claims claims = jwtUtils.parseJwtToken(token);
+        blackhole.consume(claims.getSubject());
+        blackhole.consume(claims.getIssuedAt());
+    }
+
+    // Önceki JwtUtils davranışı: her çağrıda anahtar türetilir ve yeni parser oluşturulur.
+    private static Claims legacyParse(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtParsingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
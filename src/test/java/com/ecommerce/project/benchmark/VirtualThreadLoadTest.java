@@ -0,0 +1,156 @@
+package com.ecommerce.project.benchmark;
+
+import com.ecommerce.project.SbEcomApplication;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.model.User;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.repositories.UserRepository;
+import com.ecommerce.project.security.jwt.JwtUtils;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Platform thread ve sanal thread (spring.threads.virtual.enabled) modlarını aynı yük altında karşılaştırır.
+// Uygulama her mod için H2 üzerinde gerçek bir Tomcat ile ayağa kaldırılır ve /api/public/products uç noktasına
+// sabit eşzamanlılıkla istek gönderilir. Uzak bir veritabanının ağ gecikmesi, her SQL ifadesinden önce
+// bekleyen bir StatementInspector ile taklit edilir.
+// Çalıştırmak için:
+//   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+//   java -cp "target/test-classes:target/classes:$(cat target/cp.txt)" com.ecommerce.project.benchmark.VirtualThreadLoadTest
+// Ayarlar (-D): load.concurrency (400), load.requests (20000), load.dbLatencyMs (2), load.poolSize (20), load.tomcatThreads (200)
+public class VirtualThreadLoadTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 400);
+    private static final int REQUESTS = Integer.getInteger("load.requests", 20000);
+    private static final int POOL_SIZE = Integer.getInteger("load.poolSize", 20);
+    private static final int TOMCAT_THREADS = Integer.getInteger("load.tomcatThreads", 200);
+
+    public static void main(String[] args) throws Exception {
+        for (boolean virtualThreads : new boolean[] { false, true }) {
+            run(virtualThreads);
+        }
+    }
+
+    private static void run(boolean virtualThreads) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SbEcomApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "spring.datasource.url=jdbc:h2:mem:load" + virtualThreads + ";DB_CLOSE_DELAY=-1;MODE=MySQL",
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "spring.datasource.hikari.connection-timeout=30000",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" + NetworkLatency.class.getName(),
+                        "logging.level.root=WARN")
+                .run();
+        try {
+            String cookie = seed(context);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + "/api/public/products?pageSize=10");
+
+            // Isınma
+            load(uri, cookie, Math.min(2000, REQUESTS));
+            Result result = load(uri, cookie, REQUESTS);
+            System.out.printf("%-9s concurrency=%d pool=%d tomcatThreads=%d dbLatencyMs=%d -> %.0f req/s, p50=%.1f ms, p99=%.1f ms, errors=%d%n",
+                    virtualThreads ? "virtual" : "platform", CONCURRENCY, POOL_SIZE, TOMCAT_THREADS, NetworkLatency.LATENCY_MS,
+                    result.throughput(), result.p50(), result.p99(), result.errors());
+        } finally {
+            context.close();
+        }
+    }
+
+    private static String seed(ConfigurableApplicationContext context) {
+        Category category = context.getBean(CategoryRepository.class).save(new Category(null, "Load test", null));
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Product product = new Product();
+            product.setProductName("Load product " + i);
+            product.setDescription("Product used by the load test");
+            product.setQuantity(100);
+            product.setPrice(10);
+            product.setSpecialPrice(10);
+            product.setCategory(category);
+            products.add(product);
+        }
+        productRepository.saveAll(products);
+        context.getBean(UserRepository.class).save(new User("loaduser", "loaduser@example.com", "password"));
+        String cookieName = context.getEnvironment().getProperty("spring.ecom.app.jwtCookieName");
+        return cookieName + "=" + context.getBean(JwtUtils.class).generateTokenFromUsername("loaduser");
+    }
+
+    private static Result load(URI uri, String cookie, int requests) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        HttpRequest request = HttpRequest.newBuilder(uri).header("Cookie", cookie).timeout(Duration.ofSeconds(60)).build();
+        long[] latencies = new long[requests];
+        AtomicInteger errors = new AtomicInteger();
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+
+        long start = System.nanoTime();
+        try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                int index = i;
+                inFlight.acquire();
+                senders.execute(() -> {
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    } finally {
+                        latencies[index] = System.nanoTime() - sent;
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        return new Result(requests / (elapsed / 1e9),
+                latencies[requests / 2] / 1e6,
+                latencies[(int) (requests * 0.99)] / 1e6,
+                errors.get());
+    }
+
+    private record Result(double throughput, double p50, double p99, int errors) {
+    }
+
+    // Her SQL ifadesinden önce load.dbLatencyMs kadar bekler (uzak veritabanına gidiş-dönüş süresi).
+    public static class NetworkLatency implements StatementInspector {
+
+        private static final long serialVersionUID = 1L;
+
+        static final long LATENCY_MS = Long.getLong("load.dbLatencyMs", 2);
+
+        @Override
+        public String inspect(String sql) {
+            try {
+                Thread.sleep(LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return sql;
+        }
+    }
+}
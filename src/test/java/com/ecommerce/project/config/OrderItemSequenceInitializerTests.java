@@ -0,0 +1,61 @@
+package com.ecommerce.project.config;
+
+import com.ecommerce.project.model.OrderItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// MySQL'deki sıra tablosu taklidi (order_items_seq) H2 üzerinde elle oluşturularak denenir.
+class OrderItemSequenceInitializerTests {
+
+    JdbcTemplate jdbcTemplate;
+
+    OrderItemSequenceInitializer initializer;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:sequenceseed" + System.nanoTime() + ";DB_CLOSE_DELAY=-1;MODE=MySQL", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE order_items (order_item_id BIGINT PRIMARY KEY)");
+        jdbcTemplate.execute("CREATE TABLE order_items_seq (next_val BIGINT)");
+        jdbcTemplate.update("INSERT INTO order_items_seq VALUES (1)");
+        initializer = new OrderItemSequenceInitializer(jdbcTemplate, new DataSourceTransactionManager(dataSource));
+    }
+
+    @Test
+    void sequenceIsMovedAboveExistingIds() {
+        jdbcTemplate.update("INSERT INTO order_items VALUES (7), (120)");
+
+        initializer.seed();
+
+        // Pooled optimizasyon okunan değeri bloğun son ID'si sayar: 121..170 kullanılacaktır.
+        assertEquals(120 + OrderItem.ID_ALLOCATION_SIZE, nextVal());
+    }
+
+    @Test
+    void sequenceIsNeverMovedBackwards() {
+        jdbcTemplate.update("INSERT INTO order_items VALUES (3)");
+        jdbcTemplate.update("UPDATE order_items_seq SET next_val = 1000");
+
+        initializer.seed();
+
+        assertEquals(1000, nextVal());
+    }
+
+    @Test
+    void nativeSequencesAreLeftAlone() {
+        jdbcTemplate.execute("DROP TABLE order_items_seq");
+        jdbcTemplate.execute("CREATE SEQUENCE order_items_seq START WITH 1 INCREMENT BY 50");
+
+        assertDoesNotThrow(initializer::seed);
+    }
+
+    private long nextVal() {
+        return jdbcTemplate.queryForObject("SELECT next_val FROM order_items_seq", Long.class);
+    }
+}
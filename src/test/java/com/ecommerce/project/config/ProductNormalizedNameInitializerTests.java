@@ -0,0 +1,53 @@
+package com.ecommerce.project.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Kolon eklenmeden önce oluşturulmuş products tablosu H2 üzerinde elle oluşturularak denenir.
+class ProductNormalizedNameInitializerTests {
+
+    JdbcTemplate jdbcTemplate;
+
+    ProductNormalizedNameInitializer initializer;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:normalizedname" + System.nanoTime() + ";DB_CLOSE_DELAY=-1;MODE=MySQL", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE products (product_id BIGINT PRIMARY KEY, product_name VARCHAR(255), " +
+                "category_id BIGINT, normalized_name VARCHAR(255), UNIQUE (category_id, normalized_name))");
+        initializer = new ProductNormalizedNameInitializer(jdbcTemplate, new DataSourceTransactionManager(dataSource));
+    }
+
+    @Test
+    void emptyKeysAreFilledFromTheProductName() {
+        jdbcTemplate.update("INSERT INTO products (product_id, product_name, category_id) VALUES (1, 'Phone', 1), (2, 'Phone', 2)");
+
+        initializer.backfill();
+
+        assertEquals("PHONE", normalizedName(1));
+        assertEquals("PHONE", normalizedName(2));
+    }
+
+    // Aynı kategoride sadece harf büyüklüğü farklı eski ürünlerden biri anahtarı alır; açılış durmaz.
+    @Test
+    void duplicateLegacyNamesAreSkipped() {
+        jdbcTemplate.update("INSERT INTO products (product_id, product_name, category_id) VALUES (1, 'Phone', 1), (2, 'PHONE', 1), (3, 'Tablet', 1)");
+
+        assertDoesNotThrow(initializer::backfill);
+
+        assertEquals("PHONE", normalizedName(1));
+        assertNull(normalizedName(2));
+        assertEquals("TABLET", normalizedName(3));
+    }
+
+    private String normalizedName(long productId) {
+        return jdbcTemplate.queryForObject("SELECT normalized_name FROM products WHERE product_id = ?", String.class, productId);
+    }
+}
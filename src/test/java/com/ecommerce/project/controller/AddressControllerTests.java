@@ -0,0 +1,61 @@
+package com.ecommerce.project.controller;
+
+import com.ecommerce.project.model.User;
+import com.ecommerce.project.repositories.UserRepository;
+import com.ecommerce.project.security.services.UserDetailsImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AddressControllerTests {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    // Kullanıcı kimliği principal'dan alınır; adres eklemek kullanıcı satırını yüklemez.
+    @Test
+    void addressesAreCreatedWithoutLoadingTheUser() throws Exception {
+        User saved = userRepository.save(new User("addressuser", "addressuser@example.com", "password"));
+        UserDetailsImpl principal = new UserDetailsImpl(saved.getUserId(), saved.getUserName(), saved.getEmail(),
+                saved.getPassword(), List.of());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(post("/api/addresses").with(user(principal))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"street": "Main Street", "buildingName": "Tower One", "city": "Ankara",
+                                 "state": "TR", "country": "Turkey", "pincode": "06000"}
+                                """))
+                .andExpect(status().isCreated());
+        assertEquals(0, statistics.getEntityStatistics(User.class.getName()).getLoadCount());
+
+        mockMvc.perform(get("/api/users/addresses").with(user(principal)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].street").value("Main Street"));
+    }
+}
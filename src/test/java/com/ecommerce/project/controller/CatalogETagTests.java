@@ -0,0 +1,203 @@
+package com.ecommerce.project.controller;
+
+import com.ecommerce.project.model.CatalogCounter;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.CategoryDTO;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.repositories.CatalogCounterRepository;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.service.CatalogVersion;
+import com.ecommerce.project.service.CategoryService;
+import com.ecommerce.project.service.InventoryService;
+import com.ecommerce.project.service.ProductService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CatalogETagTests {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    CategoryService categoryService;
+
+    @Autowired
+    ProductService productService;
+
+    @Autowired
+    InventoryService inventoryService;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    CatalogVersion catalogVersion;
+
+    @Autowired
+    CatalogCounterRepository catalogCounterRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    Statistics statistics;
+
+    @BeforeAll
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    // Değişiklik yoksa If-None-Match ile gelen istek 304 alır ve hiç SQL çalışmaz.
+    @Test
+    void unchangedCatalogAnswersNotModifiedWithoutQueries() throws Exception {
+        Category category = categoryRepository.save(new Category(null, "ETag category", null));
+        saveProduct(category, "ETag product");
+
+        for (String url : new String[] { "/api/public/products", "/api/public/categories",
+                "/api/public/categories/" + category.getCategoryId() + "/products" }) {
+            String eTag = eTag(url);
+            statistics.clear();
+            mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                    .andExpect(status().isNotModified());
+            assertEquals(0, statistics.getPrepareStatementCount(), url);
+        }
+    }
+
+    @Test
+    void productAndCategoryWritesChangeTheETags() throws Exception {
+        CategoryDTO first = categoryService.createCategory(new CategoryDTO(null, "ETag first"));
+        CategoryDTO second = categoryService.createCategory(new CategoryDTO(null, "ETag second"));
+        Product phone = saveProduct(categoryRepository.findById(first.getCategoryId()).orElseThrow(), "ETag phone");
+        saveProduct(categoryRepository.findById(second.getCategoryId()).orElseThrow(), "ETag tablet");
+
+        String firstUrl = "/api/public/categories/" + first.getCategoryId() + "/products";
+        String secondUrl = "/api/public/categories/" + second.getCategoryId() + "/products";
+        String products = eTag("/api/public/products");
+        String categories = eTag("/api/public/categories");
+        String firstProducts = eTag(firstUrl);
+        String secondProducts = eTag(secondUrl);
+
+        // Ürün güncellemesi sadece kendi kategorisini ve tüm ürün listesini etkiler.
+        productService.updateProduct(phone.getProductId(),
+                new ProductDTO(null, "ETag phone", null, "Updated phone description", 100, 10, 0, 10));
+        assertNotEquals(products, products = eTag("/api/public/products"));
+        assertNotEquals(firstProducts, firstProducts = eTag(firstUrl));
+        assertEquals(secondProducts, eTag(secondUrl));
+        assertEquals(categories, eTag("/api/public/categories"));
+
+        // Stok değişiminde ürünün kategorisi bilinmediği için tüm ürün listeleri değişir.
+        inventoryService.reserve(Map.of(phone.getProductId(), 1));
+        assertNotEquals(products, eTag("/api/public/products"));
+        assertNotEquals(firstProducts, eTag(firstUrl));
+        assertNotEquals(secondProducts, eTag(secondUrl));
+
+        categoryService.updateCategory(new CategoryDTO(null, "ETag renamed"), second.getCategoryId());
+        assertNotEquals(categories, eTag("/api/public/categories"));
+    }
+
+    // Sayaçlar veritabanında tutulur; başka bir sunucunun yaptığı değişiklik yenileme süresi dolunca bu sunucunun
+    // ETag'ini de değiştirir.
+    @Test
+    void changesMadeByAnotherInstanceChangeTheETag() throws Exception {
+        categoryRepository.save(new Category(null, "ETag shared category", null));
+        String categories = eTag("/api/public/categories");
+
+        // Başka bir sunucu sayacı artırır; bu sunucunun belleğindeki sayaç haberdar değildir.
+        transactionTemplate.executeWithoutResult(status -> {
+            if (catalogCounterRepository.increment("categories", 1) == 0) {
+                catalogCounterRepository.save(new CatalogCounter("categories", 1));
+            }
+        });
+        Object target = AopTestUtils.getUltimateTargetObject(catalogVersion);
+        long refreshMs = (long) ReflectionTestUtils.getField(target, "refreshMs");
+        ReflectionTestUtils.setField(target, "refreshMs", 0L);
+        try {
+            assertNotEquals(categories, eTag("/api/public/categories"));
+        } finally {
+            ReflectionTestUtils.setField(target, "refreshMs", refreshMs);
+        }
+    }
+
+    // Veritabanına yazılamayan artırma kaybolmaz; bir sonraki yazmada sayaca eklenir ve ETag bu arada değişmez.
+    @Test
+    void failedCounterWritesAreRetried() throws Exception {
+        categoryService.createCategory(new CategoryDTO(null, "ETag retried category"));
+        String categories = eTag("/api/public/categories");
+        long stored = storedVersion("categories");
+
+        Object target = AopTestUtils.getUltimateTargetObject(catalogVersion);
+        Object repository = ReflectionTestUtils.getField(target, "catalogCounterRepository");
+        CatalogCounterRepository failing = mock(CatalogCounterRepository.class);
+        when(failing.increment(anyString(), anyLong())).thenThrow(new DataAccessResourceFailureException("down"));
+        ReflectionTestUtils.setField(target, "catalogCounterRepository", failing);
+        try {
+            catalogVersion.flush();
+        } finally {
+            ReflectionTestUtils.setField(target, "catalogCounterRepository", repository);
+        }
+        assertEquals(categories, eTag("/api/public/categories"));
+        assertEquals(stored, storedVersion("categories"));
+
+        catalogVersion.flush();
+        assertTrue(storedVersion("categories") > stored);
+        assertEquals(categories, eTag("/api/public/categories"));
+    }
+
+    private long storedVersion(String name) {
+        return catalogCounterRepository.findById(name).map(CatalogCounter::getVersion).orElse(0L);
+    }
+
+    private String eTag(String url) throws Exception {
+        String eTag = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag, url);
+        return eTag;
+    }
+
+    private Product saveProduct(Category category, String name) {
+        Product product = new Product();
+        product.setProductName(name);
+        product.setDescription("Product used by ETag tests");
+        product.setQuantity(100);
+        product.setPrice(10);
+        product.setSpecialPrice(10);
+        product.setCategory(category);
+        return productRepository.save(product);
+    }
+}
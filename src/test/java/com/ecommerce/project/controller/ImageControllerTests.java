@@ -0,0 +1,154 @@
+package com.ecommerce.project.controller;
+
+import com.ecommerce.project.service.ThumbnailGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+
+class ImageControllerTests {
+
+    static final String HASH = "a".repeat(64);
+
+    @TempDir
+    Path imageDir;
+
+    MockMvc mockMvc;
+
+    byte[] content;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        content = "0123456789abcdefghij".getBytes(StandardCharsets.US_ASCII);
+        Files.write(imageDir.resolve(HASH + ".png"), content);
+        Files.write(imageDir.resolve("legacy.jpg"), content);
+        mockMvc = MockMvcBuilders.standaloneSetup(new ImageController(imageDir.toString())).build();
+    }
+
+    // İçerik özetli görseller bir yıl "immutable" önbelleğe alınır ve ETag özetin kendisidir.
+    @Test
+    void contentHashedImageIsServedWithImmutableCaching() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/images/" + HASH + ".png")).andReturn().getResponse();
+
+        assertEquals(200, response.getStatus());
+        assertArrayEquals(content, response.getContentAsByteArray());
+        assertEquals("image/png", response.getContentType());
+        assertEquals(content.length, response.getContentLength());
+        assertEquals("public, max-age=31536000, immutable", response.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertEquals("\"" + HASH + "\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+        assertEquals("nosniff", response.getHeader("X-Content-Type-Options"));
+
+        MockHttpServletResponse legacy = mockMvc.perform(get("/images/legacy.jpg")).andReturn().getResponse();
+        assertEquals(200, legacy.getStatus());
+        assertEquals("public, max-age=86400", legacy.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertTrue(legacy.getHeader(HttpHeaders.ETAG).startsWith("W/"));
+    }
+
+    @Test
+    void matchingETagAnswersNotModifiedWithoutBody() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/images/" + HASH + ".png")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"" + HASH + "\"")).andReturn().getResponse();
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+
+        MockHttpServletResponse headResponse = mockMvc.perform(head("/images/" + HASH + ".png")).andReturn().getResponse();
+        assertEquals(200, headResponse.getStatus());
+        assertEquals(content.length, headResponse.getContentLength());
+        assertEquals(0, headResponse.getContentAsByteArray().length);
+    }
+
+    @Test
+    void singleRangeIsServedAsPartialContent() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/images/" + HASH + ".png")
+                .header(HttpHeaders.RANGE, "bytes=5-9")).andReturn().getResponse();
+
+        assertEquals(206, response.getStatus());
+        assertArrayEquals(Arrays.copyOfRange(content, 5, 10), response.getContentAsByteArray());
+        assertEquals("bytes 5-9/20", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(5, response.getContentLength());
+
+        MockHttpServletResponse suffix = mockMvc.perform(get("/images/" + HASH + ".png")
+                .header(HttpHeaders.RANGE, "bytes=-4")).andReturn().getResponse();
+        assertEquals(206, suffix.getStatus());
+        assertEquals("ghij", suffix.getContentAsString());
+
+        // If-Range eski bir sürümü gösteriyorsa aralık yok sayılır ve dosyanın tamamı gönderilir.
+        MockHttpServletResponse stale = mockMvc.perform(get("/images/" + HASH + ".png")
+                .header(HttpHeaders.RANGE, "bytes=5-9")
+                .header(HttpHeaders.IF_RANGE, "\"old\"")).andReturn().getResponse();
+        assertEquals(200, stale.getStatus());
+        assertArrayEquals(content, stale.getContentAsByteArray());
+    }
+
+    @Test
+    void unsatisfiableRangeAnswers416() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/images/" + HASH + ".png")
+                .header(HttpHeaders.RANGE, "bytes=100-200")).andReturn().getResponse();
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */20", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    // Küçük resim yoksa orijinal kısa süreli önbellekle, varsa küçük resim uzun süreli önbellekle sunulur.
+    @Test
+    void missingThumbnailFallsBackToOriginal() throws Exception {
+        MockHttpServletResponse fallback = mockMvc.perform(get("/images/thumbs/200/" + HASH + ".png")).andReturn().getResponse();
+        assertEquals(200, fallback.getStatus());
+        assertArrayEquals(content, fallback.getContentAsByteArray());
+        assertEquals("public, max-age=60", fallback.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertEquals("\"" + HASH + "-original\"", fallback.getHeader(HttpHeaders.ETAG));
+
+        Path thumbnail = ThumbnailGenerator.thumbnailPath(imageDir, 200, HASH + ".png");
+        Files.createDirectories(thumbnail.getParent());
+        Files.write(thumbnail, new byte[]{1, 2, 3});
+        MockHttpServletResponse response = mockMvc.perform(get("/images/thumbs/200/" + HASH + ".png")).andReturn().getResponse();
+        assertEquals(200, response.getStatus());
+        assertArrayEquals(new byte[]{1, 2, 3}, response.getContentAsByteArray());
+        assertEquals("public, max-age=31536000, immutable", response.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertEquals("\"" + HASH + "\"", response.getHeader(HttpHeaders.ETAG));
+
+        // Önbellekteki orijinal ile yeniden doğrulama 304 almaz; küçük resim gönderilir.
+        MockHttpServletResponse revalidated = mockMvc.perform(get("/images/thumbs/200/" + HASH + ".png")
+                .header(HttpHeaders.IF_NONE_MATCH, fallback.getHeader(HttpHeaders.ETAG))).andReturn().getResponse();
+        assertEquals(200, revalidated.getStatus());
+        assertArrayEquals(new byte[]{1, 2, 3}, revalidated.getContentAsByteArray());
+
+        assertEquals(404, mockMvc.perform(get("/images/thumbs/123/" + HASH + ".png")).andReturn().getResponse().getStatus());
+    }
+
+    // Klasör dışındaki dosyalara erişilemez.
+    @Test
+    void pathsOutsideImageDirectoryAreNotServed() throws Exception {
+        Files.writeString(imageDir.getParent().resolve("secret.txt"), "secret");
+
+        assertEquals(404, mockMvc.perform(get("/images/..%2Fsecret.txt")).andReturn().getResponse().getStatus());
+        assertEquals(404, mockMvc.perform(get("/images/.hidden")).andReturn().getResponse().getStatus());
+        assertEquals(404, mockMvc.perform(get("/images/missing.png")).andReturn().getResponse().getStatus());
+    }
+
+    // Yükleme kontrolünden önce diske yazılmış olsalar bile raster olmayan dosyalar sunulmaz.
+    @Test
+    void nonRasterFilesAreNotServed() throws Exception {
+        Files.writeString(imageDir.resolve(HASH + ".svg"), "<svg xmlns=\"http://www.w3.org/2000/svg\" onload=\"alert(1)\"/>");
+        Files.writeString(imageDir.resolve("page.html"), "<script>alert(1)</script>");
+
+        assertEquals(404, mockMvc.perform(get("/images/" + HASH + ".svg")).andReturn().getResponse().getStatus());
+        assertEquals(404, mockMvc.perform(get("/images/thumbs/200/" + HASH + ".svg")).andReturn().getResponse().getStatus());
+        assertEquals(404, mockMvc.perform(get("/images/page.html")).andReturn().getResponse().getStatus());
+        assertEquals("image/jpeg", mockMvc.perform(get("/images/legacy.jpg")).andReturn().getResponse().getContentType());
+    }
+}
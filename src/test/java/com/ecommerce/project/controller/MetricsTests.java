@@ -0,0 +1,78 @@
+package com.ecommerce.project.controller;
+
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.service.CategoryCatalogCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.anonymous;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@WithMockUser
+class MetricsTests {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    CategoryCatalogCache categoryCatalogCache;
+
+    // Bir ürün listeleme isteğinden sonra uç nokta gecikmesi, istek başına SQL sayısı, servis süresi ve
+    // uygulama önbellekleri Prometheus çıktısında görünür.
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void prometheusEndpointPublishesRequestServiceAndCacheMetrics() throws Exception {
+        Category category = categoryRepository.save(new Category(null, "Metrics category", null));
+        entityManagerFactory.getCache().evictAll();
+        categoryCatalogCache.invalidate();
+        mockMvc.perform(get("/api/public/categories/" + category.getCategoryId() + "/products"));
+        mockMvc.perform(get("/api/public/categories"));
+
+        String metrics = mockMvc.perform(get("/actuator/prometheus")).andReturn().getResponse().getContentAsString();
+
+        String uri = "uri=\"/api/public/categories/{categoryId}/products\"";
+        assertTrue(metrics.contains("http_server_requests_seconds_bucket{"), "latency histogram");
+        assertTrue(Pattern.compile("http_server_requests_seconds_count\\{[^}]*" + Pattern.quote(uri)).matcher(metrics).find());
+        assertTrue(Pattern.compile("service_method_seconds_count\\{[^}]*class=\"ProductServiceImpl\"[^}]*method=\"searchByCategory\"")
+                .matcher(metrics).find());
+        assertTrue(metrics.contains("cache_gets_total{cache=\"product-page\""));
+        assertTrue(metrics.contains("cache_load_duration_seconds_count{cache=\"category\""), "category rebuild timer");
+        assertTrue(metrics.contains("executor_queued{name=\"thumbnails\""));
+        assertTrue(metrics.contains("hikaricp_connections_max"));
+        assertTrue(metrics.contains("hibernate_statements_total"));
+
+        // Kategori ve ürünler önbellekte değilken istek en az bir SQL ifadesi çalıştırır.
+        Matcher statements = Pattern.compile("http_server_requests_sql_statements_sum\\{[^}]*" + Pattern.quote(uri) + "[^}]*} (\\S+)")
+                .matcher(metrics);
+        assertTrue(statements.find(), "per-request SQL statement summary");
+        assertTrue(Double.parseDouble(statements.group(1)) >= 1);
+    }
+
+    // Uygulama portunda metrikler sadece yöneticilere açıktır; sağlık kontrolü herkese açıktır.
+    @Test
+    void prometheusEndpointRequiresAdminOnTheApplicationPort() throws Exception {
+        assertEquals(403, mockMvc.perform(get("/actuator/prometheus")).andReturn().getResponse().getStatus());
+        assertEquals(401, mockMvc.perform(get("/actuator/prometheus").with(anonymous())).andReturn().getResponse().getStatus());
+        assertEquals(200, mockMvc.perform(get("/actuator/health").with(anonymous())).andReturn().getResponse().getStatus());
+    }
+}
@@ -0,0 +1,106 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.model.AppRole;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.service.InventoryService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// İkinci seviye ve sorgu önbelleğinin veritabanı gidiş-dönüşlerini azalttığını gömülü H2 üzerinde doğrular.
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SecondLevelCacheTests {
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    RoleRepository roleRepository;
+
+    @Autowired
+    InventoryService inventoryService;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    Statistics statistics;
+
+    Category category;
+
+    @BeforeAll
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        category = categoryRepository.save(new Category(null, "Second Level Cache", null));
+    }
+
+    @Test
+    void productAndCategoryLookupsAreServedFromTheCache() {
+        Product product = saveProduct("Cached product");
+        entityManagerFactory.getCache().evictAll();
+
+        statistics.clear();
+        productRepository.findById(product.getProductId()).orElseThrow();
+        categoryRepository.findById(category.getCategoryId()).orElseThrow();
+        long coldStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        productRepository.findById(product.getProductId()).orElseThrow();
+        categoryRepository.findById(category.getCategoryId()).orElseThrow();
+
+        assertEquals(2, coldStatements);
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void roleAndCategoryNameQueriesAreServedFromTheQueryCache() {
+        roleRepository.findByRoleName(AppRole.ROLE_USER).orElseThrow();
+        categoryRepository.findByCategoryName(category.getCategoryName());
+
+        statistics.clear();
+        assertEquals(AppRole.ROLE_USER, roleRepository.findByRoleName(AppRole.ROLE_USER).orElseThrow().getRoleName());
+        assertEquals(category.getCategoryId(), categoryRepository.findByCategoryName(category.getCategoryName()).getCategoryId());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void stockReservationEvictsOnlyTheReservedProducts() {
+        Product reserved = saveProduct("Reserved cached product");
+        Product untouched = saveProduct("Untouched cached product");
+        productRepository.findById(reserved.getProductId()).orElseThrow();
+        productRepository.findById(untouched.getProductId()).orElseThrow();
+
+        inventoryService.reserve(Map.of(reserved.getProductId(), 4));
+
+        assertFalse(entityManagerFactory.getCache().contains(Product.class, reserved.getProductId()));
+        assertTrue(entityManagerFactory.getCache().contains(Product.class, untouched.getProductId()));
+        assertEquals(96, productRepository.findById(reserved.getProductId()).orElseThrow().getQuantity());
+    }
+
+    private Product saveProduct(String name) {
+        Product product = new Product();
+        product.setProductName(name);
+        product.setDescription("Product used by second level cache tests");
+        product.setQuantity(100);
+        product.setPrice(10);
+        product.setSpecialPrice(10);
+        product.setCategory(category);
+        return productRepository.save(product);
+    }
+}
@@ -0,0 +1,70 @@
+package com.ecommerce.project.security.services;
+
+import com.ecommerce.project.exceptions.ServiceUnavailableException;
+import com.ecommerce.project.model.User;
+import com.ecommerce.project.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:hashing;DB_CLOSE_DELAY=-1;MODE=MySQL",
+        "spring.app.auth.bcryptStrength=6"
+})
+class PasswordHashingTests {
+
+    @Autowired
+    AuthenticationManager authenticationManager;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Test
+    void signinRehashesPasswordsStoredWithALowerCost() {
+        userRepository.save(new User("rehash", "rehash@example.com", new BCryptPasswordEncoder(4).encode("secret")));
+
+        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken("rehash", "secret"));
+
+        String stored = userRepository.findByUserName("rehash").orElseThrow().getPassword();
+        assertTrue(stored.startsWith("$2a$06$"), stored);
+        assertTrue(new BCryptPasswordEncoder(6).matches("secret", stored));
+    }
+
+    @Test
+    void saturatedExecutorRejectsImmediately() throws Exception {
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 1, 60_000);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> executor.execute(() -> {
+                started.countDown();
+                release.await();
+                return "first";
+            }));
+            started.await();
+            CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> executor.execute(() -> "second"));
+            while (executor.stats().getQueueDepth() == 0) {
+                Thread.onSpinWait();
+            }
+
+            ServiceUnavailableException e = assertThrows(ServiceUnavailableException.class, () -> executor.execute(() -> "third"));
+            assertEquals(60, e.getRetryAfterSeconds());
+            assertEquals(1, executor.stats().getRejected());
+
+            release.countDown();
+            assertEquals("first", running.get());
+            assertEquals("second", queued.get());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+}
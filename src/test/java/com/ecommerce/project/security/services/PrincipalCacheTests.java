@@ -0,0 +1,90 @@
+package com.ecommerce.project.security.services;
+
+import com.ecommerce.project.model.User;
+import com.ecommerce.project.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:principalcache;DB_CLOSE_DELAY=-1;MODE=MySQL")
+class PrincipalCacheTests {
+
+    @Autowired
+    PrincipalCache principalCache;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    // Bir kullanıcının tüm token kayıtları silinir, diğer kullanıcılarınkine dokunulmaz.
+    @Test
+    void evictRemovesOnlyThatUsersEntries() {
+        PrincipalCache cache = cache(100, 60_000);
+        cache.put("alice", 1, principal("alice"));
+        cache.put("alice", 2, principal("alice"));
+        cache.put("bob", 1, principal("bob"));
+
+        cache.evict("alice");
+
+        assertNull(cache.get("alice", 1));
+        assertNull(cache.get("alice", 2));
+        assertNotNull(cache.get("bob", 1));
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.getEvictionCount());
+    }
+
+    @Test
+    void expiredEntriesAreMissesAndFullCacheMakesRoom() {
+        PrincipalCache expiring = cache(100, -1);
+        expiring.put("alice", 1, principal("alice"));
+        assertNull(expiring.get("alice", 1));
+        assertEquals(0, expiring.size());
+        assertEquals(1, expiring.getMissCount());
+
+        PrincipalCache full = cache(10, 60_000);
+        for (int i = 0; i < 25; i++) {
+            full.put("user" + i, i, principal("user" + i));
+        }
+        assertTrue(full.size() <= 10, "size " + full.size());
+        assertNotNull(full.get("user24", 24));
+    }
+
+    // Kullanıcı güncellenirken işlem onaylanmadan önce önbelleğe konulan eski bilgiler, onaydan sonra silinir.
+    @Test
+    void userUpdateEvictsAgainAfterCommit() {
+        User user = userRepository.save(new User("evicted", "evicted@example.com", "password"));
+        principalCache.put("evicted", 1, principal("evicted"));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            User managed = userRepository.findById(user.getUserId()).orElseThrow();
+            managed.setPassword("changed");
+            userRepository.saveAndFlush(managed);
+            assertNull(principalCache.get("evicted", 1));
+
+            // Eşzamanlı bir istek eski şifreyi tekrar önbelleğe koyar.
+            principalCache.put("evicted", 1, principal("evicted"));
+        });
+
+        assertNull(principalCache.get("evicted", 1));
+    }
+
+    private static PrincipalCache cache(int maxSize, long ttlMs) {
+        PrincipalCache cache = new PrincipalCache();
+        ReflectionTestUtils.setField(cache, "maxSize", maxSize);
+        ReflectionTestUtils.setField(cache, "ttlMs", ttlMs);
+        return cache;
+    }
+
+    private static UserDetails principal(String username) {
+        return new UserDetailsImpl(1L, username, username + "@example.com", "password", List.of());
+    }
+}
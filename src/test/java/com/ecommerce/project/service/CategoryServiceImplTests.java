@@ -0,0 +1,83 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.payload.CategoryDTO;
+import com.ecommerce.project.payload.CategoryResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CategoryServiceImplTests {
+
+    @Autowired
+    CategoryService categoryService;
+
+    @Autowired
+    CategoryCatalogCache categoryCatalogCache;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    Statistics statistics;
+
+    @BeforeAll
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        // Diğer testler kategorileri doğrudan repository ile ekler; önbellek temiz başlamalı.
+        categoryCatalogCache.invalidate();
+    }
+
+    @Test
+    void categoryListIsServedFromMemoryUntilACategoryChanges() {
+        // Test tek başına çalıştığında silmeden sonra liste boş kalmasın.
+        categoryService.createCategory(new CategoryDTO(null, "Cached anchor"));
+        CategoryDTO created = categoryService.createCategory(new CategoryDTO(null, "Cached zeta"));
+        categoryService.getAllCategories(0, 50, "categoryId", "asc");
+
+        statistics.clear();
+        CategoryResponse cached = categoryService.getAllCategories(0, 50, "categoryId", "asc");
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(names(cached).contains("Cached zeta"));
+
+        categoryService.updateCategory(new CategoryDTO(null, "Cached renamed"), created.getCategoryId());
+        List<String> afterUpdate = names(categoryService.getAllCategories(0, 50, "categoryId", "asc"));
+        assertTrue(afterUpdate.contains("Cached renamed"));
+        assertFalse(afterUpdate.contains("Cached zeta"));
+
+        categoryService.deleteCategory(created.getCategoryId());
+        assertFalse(names(categoryService.getAllCategories(0, 50, "categoryId", "asc")).contains("Cached renamed"));
+    }
+
+    @Test
+    void pagingAndSortingAreAppliedInMemory() {
+        categoryService.createCategory(new CategoryDTO(null, "Paged b"));
+        categoryService.createCategory(new CategoryDTO(null, "paged a"));
+        categoryService.createCategory(new CategoryDTO(null, "Paged c"));
+
+        List<String> byNameDesc = names(categoryService.getAllCategories(0, 1000, "categoryName", "desc")).stream()
+                .filter(name -> name.toLowerCase().startsWith("paged"))
+                .toList();
+        assertEquals(List.of("Paged c", "Paged b", "paged a"), byNameDesc);
+
+        CategoryResponse all = categoryService.getAllCategories(0, 1000, "categoryId", "asc");
+        int lastPage = all.getTotalElements().intValue() - 1;
+        CategoryResponse last = categoryService.getAllCategories(lastPage, 1, "categoryId", "asc");
+        assertEquals(all.getTotalElements(), (long) last.getTotalPages());
+        assertTrue(last.isLastPage());
+        assertEquals(all.getContent().get(lastPage), last.getContent().get(0));
+    }
+
+    private static List<String> names(CategoryResponse response) {
+        return response.getContent().stream().map(CategoryDTO::getCategoryName).toList();
+    }
+}
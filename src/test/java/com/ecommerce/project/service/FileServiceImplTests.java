@@ -0,0 +1,136 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.config.AppConstants;
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.payload.ProductDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileServiceImplTests {
+
+    @TempDir
+    Path imageDir;
+
+    FileServiceImpl fileService;
+
+    ThumbnailGenerator thumbnailGenerator;
+
+    @BeforeEach
+    void setUp() {
+        thumbnailGenerator = new ThumbnailGenerator(1, 10, 40_000_000);
+        fileService = new FileServiceImpl();
+        ReflectionTestUtils.setField(fileService, "thumbnailGenerator", thumbnailGenerator);
+    }
+
+    @AfterEach
+    void tearDown() {
+        thumbnailGenerator.shutdown();
+    }
+
+    // Aynı görsel farklı isimlerle tekrar yüklendiğinde diske bir kez yazılır.
+    @Test
+    void sameImageIsStoredOnceUnderItsContentHash() throws Exception {
+        byte[] png = png(800, 400);
+
+        String first = fileService.uploadImage(imageDir.toString(), new MockMultipartFile("image", "front.PNG", "image/png", png));
+        String second = fileService.uploadImage(imageDir.toString(), new MockMultipartFile("image", "copy.png", "image/png", png));
+        String other = fileService.uploadImage(imageDir.toString(), new MockMultipartFile("image", "back.png", "image/png", png(10, 10)));
+
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+        assertTrue(first.matches("[0-9a-f]{64}\\.png"), first);
+        try (Stream<Path> files = Files.list(imageDir)) {
+            assertEquals(2, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    // Tarayıcıda betik çalıştırabilecek dosyalar (SVG, HTML) görsel olarak kabul edilmez.
+    @Test
+    void onlyRasterImageExtensionsAreAccepted() throws Exception {
+        for (String name : new String[]{"logo.svg", "page.html", "image.png.htm", "noextension"}) {
+            assertThrows(APIException.class, () -> fileService.uploadImage(imageDir.toString(),
+                    new MockMultipartFile("image", name, "image/png", "<svg onload=alert(1)>".getBytes())), name);
+        }
+        try (Stream<Path> files = Files.list(imageDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void thumbnailsAreGeneratedInTheBackgroundWithinTheirBox() throws Exception {
+        String fileName = fileService.uploadImage(imageDir.toString(),
+                new MockMultipartFile("image", "wide.png", "image/png", png(1000, 500)));
+
+        for (Integer size : AppConstants.THUMBNAIL_SIZES) {
+            Path thumbnail = ThumbnailGenerator.thumbnailPath(imageDir, size, fileName);
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (!Files.exists(thumbnail) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            BufferedImage image = ImageIO.read(thumbnail.toFile());
+            assertEquals(size, image.getWidth());
+            assertEquals(size / 2, image.getHeight());
+        }
+    }
+
+    // Başlığında çok büyük boyut bildiren küçük bir dosya (sıkıştırma bombası) çözülmez; büyük görsel alt örneklenir.
+    @Test
+    void oversizedImagesAreRejectedAndLargeImagesSubsampled() throws Exception {
+        Path bomb = imageDir.resolve("bomb.png");
+        Files.write(bomb, withDimensions(png(10, 10), 100_000, 100_000));
+        assertThrows(IOException.class, () -> ThumbnailGenerator.read(bomb, 40_000_000, 600));
+
+        Path large = imageDir.resolve("large.png");
+        Files.write(large, png(3000, 1500));
+        BufferedImage image = ThumbnailGenerator.read(large, 40_000_000, 600);
+        assertEquals(1500, image.getWidth());
+        assertEquals(750, image.getHeight());
+    }
+
+    @Test
+    void productJsonExposesUrlsPerImageSize() throws Exception {
+        ProductDTO product = new ProductDTO(1L, "Phone", "abc.png", "A phone", 1, 10, 0, 10);
+
+        String json = new ObjectMapper().writeValueAsString(product);
+
+        assertTrue(json.contains("\"original\":\"/images/abc.png\""), json);
+        assertTrue(json.contains("\"200\":\"/images/thumbs/200/abc.png\""), json);
+        // Adresler sadece okunur; istek gövdesinde gönderilirse yok sayılır.
+        assertEquals("abc.png", new ObjectMapper().readValue(json, ProductDTO.class).getImage());
+    }
+
+    // PNG başlığındaki (IHDR) genişlik ve yüksekliği değiştirir ve sağlama toplamını (CRC) yeniden hesaplar.
+    private static byte[] withDimensions(byte[] png, int width, int height) {
+        ByteBuffer buffer = ByteBuffer.wrap(png);
+        buffer.putInt(16, width).putInt(20, height);
+        CRC32 crc = new CRC32();
+        crc.update(png, 12, 17);
+        buffer.putInt(29, (int) crc.getValue());
+        return png;
+    }
+
+    private static byte[] png(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(width / 2, height / 2, width * 31 + height);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,129 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.exceptions.ServiceUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyStoreTests {
+
+    IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new IdempotencyStore();
+        ReflectionTestUtils.setField(store, "ttlMs", 60_000L);
+        ReflectionTestUtils.setField(store, "maxEntries", 1000);
+        ReflectionTestUtils.setField(store, "replayWaitMs", 10_000L);
+    }
+
+    @Test
+    void replayReturnsStoredResultWithoutRunningActionAgain() {
+        AtomicInteger runs = new AtomicInteger();
+
+        IdempotencyStore.Result<String> first = store.execute(1L, "key-1", "body", () -> "order-" + runs.incrementAndGet());
+        IdempotencyStore.Result<String> replay = store.execute(1L, "key-1", "body", () -> "order-" + runs.incrementAndGet());
+
+        assertEquals("order-1", first.value());
+        assertFalse(first.replayed());
+        assertEquals("order-1", replay.value());
+        assertTrue(replay.replayed());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void keysAreScopedPerUser() {
+        store.execute(1L, "shared", "body", () -> "user-1");
+
+        assertEquals("user-2", store.execute(2L, "shared", "body", () -> "user-2").value());
+    }
+
+    @Test
+    void failedRequestCanBeRetriedWithSameKey() {
+        assertThrows(APIException.class, () -> store.execute(1L, "key-2", "body", () -> {
+            throw new APIException("Insufficient stock");
+        }));
+
+        assertEquals("order", store.execute(1L, "key-2", "body", () -> "order").value());
+    }
+
+    @Test
+    void reusingKeyForDifferentRequestIsRejected() {
+        store.execute(1L, "key-3", "body-a", () -> "order");
+
+        assertThrows(APIException.class, () -> store.execute(1L, "key-3", "body-b", () -> "other"));
+    }
+
+    @Test
+    void concurrentDuplicatesRunActionOnce() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<IdempotencyStore.Result<Integer>>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return store.execute(1L, "key-4", "body", () -> {
+                    sleep();
+                    return runs.incrementAndGet();
+                });
+            }));
+        }
+        start.countDown();
+        for (Future<IdempotencyStore.Result<Integer>> future : futures) {
+            assertEquals(1, future.get(10, TimeUnit.SECONDS).value());
+        }
+        executor.shutdown();
+        assertEquals(1, runs.get());
+    }
+
+    // İlk istek bekleme süresinden uzun sürerse tekrar eden istek süresiz beklemez, 503 alır.
+    @Test
+    void replayWaitingOnSlowOriginalTimesOut() throws Exception {
+        ReflectionTestUtils.setField(store, "replayWaitMs", 50L);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<IdempotencyStore.Result<String>> original = executor.submit(() -> store.execute(1L, "key-5", "body", () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "order";
+        }));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        assertThrows(ServiceUnavailableException.class, () -> store.execute(1L, "key-5", "body", () -> "other"));
+
+        release.countDown();
+        assertEquals("order", original.get(10, TimeUnit.SECONDS).value());
+        assertEquals("order", store.execute(1L, "key-5", "body", () -> "other").value());
+        executor.shutdown();
+    }
+
+    // Ayırıcı içeren değerler farklı alan bölünmeleriyle aynı parmak izini üretmez.
+    @Test
+    void fingerprintKeepsFieldBoundaries() {
+        assertNotEquals(IdempotencyStore.fingerprint("a|b", "c"), IdempotencyStore.fingerprint("a", "b|c"));
+        assertNotEquals(IdempotencyStore.fingerprint(null, "x"), IdempotencyStore.fingerprint("null", "x"));
+        assertEquals(IdempotencyStore.fingerprint("card", 1L), IdempotencyStore.fingerprint("card", 1L));
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
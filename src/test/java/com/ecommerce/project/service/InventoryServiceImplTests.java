@@ -0,0 +1,118 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class InventoryServiceImplTests {
+
+    @Autowired
+    InventoryService inventoryService;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    Category category;
+
+    @BeforeAll
+    void setUp() {
+        category = categoryRepository.save(new Category(null, "Inventory Category", null));
+    }
+
+    @Test
+    void reserveRejectsWholeOrderWhenOneLineIsShort() {
+        Product plenty = saveProduct("Plenty of stock", 10);
+        Product scarce = saveProduct("Scarce stock", 1);
+        double conflicts = meterRegistry.counter("checkout.stock.conflicts").count();
+
+        APIException e = assertThrows(APIException.class, () -> inventoryService.reserve(
+                Map.of(plenty.getProductId(), 2, scarce.getProductId(), 3)));
+
+        assertTrue(e.getMessage().contains("Scarce stock (requested 3, available 1)"));
+        assertFalse(e.getMessage().contains("Plenty of stock"));
+        assertEquals(10, stockOf(plenty));
+        assertEquals(1, stockOf(scarce));
+        assertEquals(conflicts + 1, meterRegistry.counter("checkout.stock.conflicts").count());
+    }
+
+    // Sıcak ürünler üzerinde eşzamanlı siparişler: stok hiçbir zaman sıfırın altına düşmemeli ve
+    // düşülen toplam miktar başarılı siparişlerin toplamına eşit olmalıdır.
+    @Test
+    void concurrentReservationsNeverOversell() throws Exception {
+        int initialStock = 100;
+        Product hot = saveProduct("Hot product", initialStock);
+        Product side = saveProduct("Side product", initialStock);
+
+        int threads = 16;
+        int attemptsPerThread = 25;
+        AtomicInteger successfulOrders = new AtomicInteger();
+        AtomicInteger rejectedOrders = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    try {
+                        // Her sipariş sıcak üründen 2, yan üründen 1 adet ister.
+                        inventoryService.reserve(Map.of(hot.getProductId(), 2, side.getProductId(), 1));
+                        successfulOrders.incrementAndGet();
+                    } catch (APIException e) {
+                        rejectedOrders.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(threads * attemptsPerThread, successfulOrders.get() + rejectedOrders.get());
+        assertEquals(initialStock / 2, successfulOrders.get());
+        assertEquals(0, stockOf(hot));
+        assertEquals(initialStock - successfulOrders.get(), stockOf(side));
+    }
+
+    private int stockOf(Product product) {
+        return productRepository.findById(product.getProductId()).orElseThrow().getQuantity();
+    }
+
+    private Product saveProduct(String name, int stock) {
+        Product product = new Product();
+        product.setProductName(name);
+        product.setDescription("Product used by inventory tests");
+        product.setQuantity(stock);
+        product.setPrice(10);
+        product.setSpecialPrice(10);
+        product.setCategory(category);
+        return productRepository.save(product);
+    }
+}
@@ -0,0 +1,182 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.model.*;
+import com.ecommerce.project.payload.OrderDTO;
+import com.ecommerce.project.repositories.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:orderoutbox;DB_CLOSE_DELAY=-1;MODE=MySQL",
+        "spring.app.order.async.enabled=true",
+        "spring.app.order.async.pollIntervalMs=200"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OrderOutboxProcessorTests {
+
+    @Autowired
+    OrderService orderService;
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @Autowired
+    OrderOutboxRepository outboxRepository;
+
+    @Autowired
+    OrderItemRepository orderItemRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    AddressRepository addressRepository;
+
+    @Autowired
+    CartRepository cartRepository;
+
+    @Autowired
+    OrderOutboxProcessor outboxProcessor;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    Category category;
+
+    @BeforeAll
+    void setUp() {
+        category = categoryRepository.save(new Category(null, "Outbox Category", null));
+    }
+
+    @Test
+    void acceptedOrderIsConfirmedInTheBackground() throws InterruptedException {
+        Product product = saveProduct("Async product", 10);
+        User user = saveUserWithCart("async_ok", product, 4);
+
+        OrderDTO order = orderService.placeOrder(user.getEmail(), saveAddress(user).getAddressId(), "card",
+                "stripe", "pg-async", "succeeded", "ok");
+
+        assertEquals(Order.STATUS_ACCEPTED, order.getOrderStatus());
+        assertEquals(1, order.getOrderItems().size());
+        assertEquals(0, cartRepository.findCartWithItemsByEmail(user.getEmail()).getCartItems().size());
+
+        assertEquals(Order.STATUS_CONFIRMED, awaitFinalStatus(order.getOrderId()));
+        assertEquals(6, productRepository.findById(product.getProductId()).orElseThrow().getQuantity());
+        assertEquals(1, orderItemRepository.findAll().stream()
+                .filter(item -> item.getOrder().getOrderId().equals(order.getOrderId())).count());
+        assertEquals(OutboxStatus.DONE, outboxRepository.findAll().stream()
+                .filter(o -> o.getOrderId().equals(order.getOrderId())).findFirst().orElseThrow().getStatus());
+    }
+
+    @Test
+    void orderIsRejectedWhenStockRunsOut() throws InterruptedException {
+        Product product = saveProduct("Scarce async product", 2);
+        User user = saveUserWithCart("async_short", product, 3);
+
+        OrderDTO order = orderService.placeOrder(user.getEmail(), saveAddress(user).getAddressId(), "card",
+                "stripe", "pg-short", "succeeded", "ok");
+
+        assertEquals(Order.STATUS_ACCEPTED, order.getOrderStatus());
+        assertEquals(Order.STATUS_REJECTED, awaitFinalStatus(order.getOrderId()));
+        assertEquals(2, productRepository.findById(product.getProductId()).orElseThrow().getQuantity());
+    }
+
+    // Yavaş bir işçinin kaydı takılı sanılıp başka bir işçiye verildiğinde, eski işçi sonuçlandırmaya çalışsa bile
+    // stok bir kez düşülür ve sipariş satırları bir kez eklenir.
+    @Test
+    void staleWorkerCannotFulfilReclaimedEntry() {
+        Product product = saveProduct("Reclaimed async product", 10);
+        User user = userRepository.save(new User("async_reclaim", "async_reclaim@example.com", "password"));
+        Order order = new Order();
+        order.setEmail(user.getEmail());
+        order.setOrderDate(LocalDate.now());
+        order.setTotalAmount(20.0);
+        order.setOrderStatus(Order.STATUS_ACCEPTED);
+        order.setAddress(saveAddress(user));
+        order = orderRepository.save(order);
+
+        // Zamanlanmış tarama kaydı almasın diye ilk deneme zamanı ileri bir tarihtir.
+        OrderOutbox outbox = new OrderOutbox();
+        outbox.setOrderId(order.getOrderId());
+        outbox.setPayload("[{\"productId\":" + product.getProductId() + ",\"quantity\":2,\"discount\":0,\"orderedProductPrice\":10}]");
+        outbox.setStatus(OutboxStatus.PENDING);
+        outbox.setCreatedAt(LocalDateTime.now());
+        outbox.setNextAttemptAt(LocalDateTime.now().plusDays(1));
+        Long outboxId = outboxRepository.save(outbox).getOutboxId();
+
+        OrderOutbox slowWorker = outboxProcessor.claim(outboxId);
+        assertNotNull(slowWorker);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> outboxRepository.releaseStale(
+                OutboxStatus.PROCESSING, OutboxStatus.PENDING, LocalDateTime.now().plusMinutes(1)));
+        OrderOutbox secondWorker = outboxProcessor.claim(outboxId);
+        assertNotNull(secondWorker);
+
+        outboxProcessor.handle(secondWorker);
+        outboxProcessor.handle(slowWorker);
+
+        assertEquals(8, productRepository.findById(product.getProductId()).orElseThrow().getQuantity());
+        Long orderId = order.getOrderId();
+        List<OrderItem> items = orderItemRepository.findAll().stream()
+                .filter(item -> item.getOrder().getOrderId().equals(orderId)).toList();
+        assertEquals(1, items.size());
+        assertEquals(Order.STATUS_CONFIRMED, orderRepository.findById(orderId).orElseThrow().getOrderStatus());
+        assertEquals(OutboxStatus.DONE, outboxRepository.findById(outboxId).orElseThrow().getStatus());
+    }
+
+    private String awaitFinalStatus(Long orderId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        String status = null;
+        while (System.currentTimeMillis() < deadline) {
+            status = orderRepository.findById(orderId).orElseThrow().getOrderStatus();
+            if (!Order.STATUS_ACCEPTED.equals(status) && !Order.STATUS_PROCESSING.equals(status)) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+        return status;
+    }
+
+    private User saveUserWithCart(String username, Product product, int quantity) {
+        User user = userRepository.save(new User(username, username + "@example.com", "password"));
+        Cart cart = new Cart();
+        cart.setUser(user);
+        cart.getCartItems().add(new CartItem(null, cart, product, quantity, 0, product.getSpecialPrice()));
+        cart.setTotalPrice(quantity * product.getSpecialPrice());
+        cartRepository.save(cart);
+        return user;
+    }
+
+    private Address saveAddress(User user) {
+        Address address = new Address("Main Street", "Building A", "Istanbul", "Marmara", "Turkey", "34000");
+        address.setUser(user);
+        return addressRepository.save(address);
+    }
+
+    private Product saveProduct(String name, int quantity) {
+        Product product = new Product();
+        product.setProductName(name);
+        product.setDescription("Product used by async checkout tests");
+        product.setQuantity(quantity);
+        product.setPrice(10);
+        product.setSpecialPrice(10);
+        product.setCategory(category);
+        return productRepository.save(product);
+    }
+}
@@ -0,0 +1,132 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.model.*;
+import com.ecommerce.project.payload.OrderDTO;
+import com.ecommerce.project.repositories.*;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OrderServiceImplTests {
+
+    @Autowired
+    OrderService orderService;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    AddressRepository addressRepository;
+
+    @Autowired
+    CartRepository cartRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    Statistics statistics;
+
+    Category category;
+
+    @BeforeAll
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        category = categoryRepository.save(new Category(null, "Checkout Category", null));
+    }
+
+    // Sipariş satırı sayısı arttıkça SQL ifade sayısı değişmemeli: stok tek UPDATE ile düşülür,
+    // sipariş satırları tek JDBC batch ile eklenir ve sepet tek seferde boşaltılır.
+    // İlk sipariş ısınma içindir (sıra bloğu alımı vb.); ölçülen siparişler aynı ID bloğu içinde kalır.
+    @Test
+    void placeOrderStatementCountDoesNotGrowWithCartLines() {
+        placeOrderWithLines("warmup", 1);
+
+        long fewLines = placeOrderWithLines("few", 5);
+        long manyLines = placeOrderWithLines("many", 30);
+
+        assertEquals(fewLines, manyLines);
+    }
+
+    @Test
+    void placeOrderDecrementsStockAndEmptiesCart() {
+        User user = userRepository.save(new User("co_stock", "co_stock@example.com", "password"));
+        Address address = saveAddress(user);
+        Product product = saveProduct("Stocked checkout product");
+        Cart cart = new Cart();
+        cart.setUser(user);
+        cart.getCartItems().add(new CartItem(null, cart, product, 3, 0, product.getSpecialPrice()));
+        cart.setTotalPrice(3 * product.getSpecialPrice());
+        cart = cartRepository.save(cart);
+        double orders = meterRegistry.counter("checkout.orders", "mode", "sync").count();
+        DistributionSummary lines = meterRegistry.summary("checkout.order.lines");
+        long recordedLines = lines.count();
+
+        OrderDTO order = orderService.placeOrder(user.getEmail(), address.getAddressId(), "card",
+                "stripe", "pg-1", "succeeded", "ok");
+
+        assertEquals(1, order.getOrderItems().size());
+        assertEquals(97, productRepository.findById(product.getProductId()).orElseThrow().getQuantity());
+        Cart emptied = cartRepository.findCartWithItemsByEmail(user.getEmail());
+        assertEquals(0, emptied.getCartItems().size());
+        assertEquals(0.0, emptied.getTotalPrice());
+        assertEquals(orders + 1, meterRegistry.counter("checkout.orders", "mode", "sync").count());
+        assertEquals(recordedLines + 1, lines.count());
+    }
+
+    private long placeOrderWithLines(String prefix, int lines) {
+        User user = userRepository.save(new User("co_" + prefix, "co_" + prefix + "@example.com", "password"));
+        Address address = saveAddress(user);
+        Cart cart = new Cart();
+        cart.setUser(user);
+        double total = 0;
+        for (int i = 0; i < lines; i++) {
+            Product product = saveProduct("Checkout " + prefix + " " + i);
+            cart.getCartItems().add(new CartItem(null, cart, product, 1, 0, product.getSpecialPrice()));
+            total += product.getSpecialPrice();
+        }
+        cart.setTotalPrice(total);
+        cartRepository.save(cart);
+
+        statistics.clear();
+        orderService.placeOrder(user.getEmail(), address.getAddressId(), "card", "stripe", "pg-" + prefix,
+                "succeeded", "ok");
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Address saveAddress(User user) {
+        Address address = new Address("Main Street", "Building A", "Istanbul", "Marmara", "Turkey", "34000");
+        address.setUser(user);
+        return addressRepository.save(address);
+    }
+
+    private Product saveProduct(String name) {
+        Product product = new Product();
+        product.setProductName(name);
+        product.setDescription("Product used by checkout tests");
+        product.setQuantity(100);
+        product.setPrice(10);
+        product.setSpecialPrice(10);
+        product.setCategory(category);
+        return productRepository.save(product);
+    }
+}
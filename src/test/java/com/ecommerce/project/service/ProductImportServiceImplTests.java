@@ -0,0 +1,143 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.ProductImportErrorDTO;
+import com.ecommerce.project.payload.ProductImportResultDTO;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProductImportServiceImplTests {
+
+    @Autowired
+    ProductImportService productImportService;
+
+    @Autowired
+    ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    Statistics statistics;
+
+    Category category;
+
+    @BeforeAll
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        category = categoryRepository.save(new Category(null, "Import Category", null));
+        Product existing = new Product();
+        existing.setProductName("Existing import product");
+        existing.setDescription("Already in the catalog");
+        existing.setQuantity(1);
+        existing.setPrice(1);
+        existing.setCategory(category);
+        productRepository.save(existing);
+    }
+
+    // Satırlar JDBC batch ile eklenir: SQL ifade sayısı satır sayısıyla orantılı artmaz.
+    @Test
+    void csvRowsAreInsertedInBatches() throws Exception {
+        StringBuilder csv = new StringBuilder("productName,description,categoryId,quantity,price,discount\n");
+        for (int i = 0; i < 200; i++) {
+            csv.append("\"Batch, item ").append(i).append("\",Imported in batches,")
+                    .append(category.getCategoryId()).append(",5,200,25\n");
+        }
+
+        statistics.clear();
+        ProductImportResultDTO result = import_(csv.toString(), ProductImportService.Format.CSV);
+
+        assertEquals(200, result.getRowsRead());
+        assertEquals(200, result.getImported());
+        assertEquals(0, result.getFailed());
+        assertTrue(statistics.getPrepareStatementCount() < 20, "statements: " + statistics.getPrepareStatementCount());
+        assertEquals(200, productRepository.findProductNamesByCategoryId(category.getCategoryId()).stream()
+                .filter(name -> name.startsWith("Batch, item")).count());
+
+        // Özel fiyat indirimle hesaplanır ve ürün arama indeksinde bulunur.
+        long[] found = productSearchIndex.search("batch item 199");
+        assertEquals(1, found.length);
+        assertEquals(150.0, productRepository.findById(found[0]).orElseThrow().getSpecialPrice());
+    }
+
+    // Aynı isim kontrolü tek ürün eklemede olduğu gibi büyük/küçük harf duyarsızdır.
+    @Test
+    void invalidAndDuplicateRowsAreReportedAndSkipped() throws Exception {
+        Long categoryId = category.getCategoryId();
+        String ndjson = String.join("\n",
+                "{\"categoryId\":" + categoryId + ",\"productName\":\"Ndjson keyboard\",\"description\":\"Mechanical keyboard\",\"quantity\":3,\"price\":80}",
+                "{\"categoryId\":" + categoryId + ",\"productName\":\"EXISTING import product\",\"description\":\"Duplicate of catalog\",\"quantity\":3,\"price\":80}",
+                "{\"categoryId\":" + categoryId + ",\"productName\":\"ndjson Keyboard\",\"description\":\"Duplicate in the same file\",\"quantity\":3,\"price\":80}",
+                "",
+                "{\"categoryId\":999999,\"productName\":\"Orphan mouse\",\"description\":\"Unknown category\",\"quantity\":3,\"price\":80}",
+                "{\"categoryId\":" + categoryId + ",\"productName\":\"Ndjson mouse\",\"description\":\"short\",\"quantity\":3,\"price\":80}",
+                "{not json}");
+
+        ProductImportResultDTO result = import_(ndjson, ProductImportService.Format.NDJSON);
+
+        assertEquals(6, result.getRowsRead());
+        assertEquals(1, result.getImported());
+        assertEquals(5, result.getFailed());
+        assertEquals(List.of(2L, 3L, 5L, 6L, 7L), result.getErrors().stream().map(ProductImportErrorDTO::getLine).toList());
+        assertEquals(1, productRepository.findProductNamesByCategoryId(categoryId).stream()
+                .filter("Ndjson keyboard"::equals).count());
+    }
+
+    // Veritabanı hatası alan parçanın satırları aynı dosyada tekrar gönderilirse mükerrer sayılmaz.
+    @Test
+    void rowsOfAFailedBatchCanBeSentAgainInTheSameFile() throws Exception {
+        Object target = AopTestUtils.getUltimateTargetObject(productImportService);
+        int batchSize = (int) ReflectionTestUtils.getField(target, "batchSize");
+        ReflectionTestUtils.setField(target, "batchSize", 2);
+        try {
+            Long categoryId = category.getCategoryId();
+            // Açıklama kolon uzunluğunu aştığı için ilk parçanın eklenmesi veritabanında başarısız olur.
+            String ndjson = String.join("\n",
+                    "{\"categoryId\":" + categoryId + ",\"productName\":\"Retried import product\",\"description\":\"First attempt\",\"quantity\":3,\"price\":80}",
+                    "{\"categoryId\":" + categoryId + ",\"productName\":\"Too long import product\",\"description\":\"" + "x".repeat(300) + "\",\"quantity\":3,\"price\":80}",
+                    "{\"categoryId\":" + categoryId + ",\"productName\":\"Retried import product\",\"description\":\"Second attempt\",\"quantity\":3,\"price\":80}");
+
+            ProductImportResultDTO result = import_(ndjson, ProductImportService.Format.NDJSON);
+
+            assertEquals(1, result.getImported());
+            assertEquals(List.of(1L, 2L), result.getErrors().stream().map(ProductImportErrorDTO::getLine).toList());
+            assertEquals(1, productRepository.findProductNamesByCategoryId(categoryId).stream()
+                    .filter("Retried import product"::equals).count());
+        } finally {
+            ReflectionTestUtils.setField(target, "batchSize", batchSize);
+        }
+    }
+
+    @Test
+    void splitCsvHandlesQuotedFields() {
+        assertEquals(List.of("a", "b, c", "say \"hi\"", ""), ProductImportServiceImpl.splitCsv("a,\"b, c\",\"say \"\"hi\"\"\","));
+    }
+
+    private ProductImportResultDTO import_(String body, ProductImportService.Format format) throws Exception {
+        return productImportService.importProducts(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format);
+    }
+}
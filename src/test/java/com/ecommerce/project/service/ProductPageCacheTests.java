@@ -0,0 +1,157 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.payload.ProductResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductPageCacheTests {
+
+    ProductPageCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ProductPageCache(2, 1024, 1_000_000);
+        ReflectionTestUtils.setField(cache, "objectMapper", new ObjectMapper());
+    }
+
+    @Test
+    void samePageIsLoadedOnceUntilTheCatalogVersionChanges() {
+        AtomicInteger loads = new AtomicInteger();
+        String key = ProductPageCache.allProductsKey(0, 50, "productId", "ASC");
+
+        byte[] first = cache.get(key, "v1", () -> page(loads.incrementAndGet()));
+        byte[] second = cache.get(ProductPageCache.allProductsKey(0, 50, "productId", "asc"), "v1",
+                () -> page(loads.incrementAndGet()));
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+
+        byte[] afterWrite = cache.get(key, "v2", () -> page(loads.incrementAndGet()));
+        assertEquals(2, loads.get());
+        assertNotEquals(new String(first), new String(afterWrite));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void leastRecentlyUsedPageIsEvicted() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("a", "v1", () -> page(loads.incrementAndGet()));
+        cache.get("b", "v1", () -> page(loads.incrementAndGet()));
+        cache.get("a", "v1", () -> page(loads.incrementAndGet()));
+        cache.get("c", "v1", () -> page(loads.incrementAndGet()));
+        assertEquals(3, loads.get());
+
+        // "b" en uzun süredir kullanılmayan sayfaydı.
+        cache.get("a", "v1", () -> page(loads.incrementAndGet()));
+        assertEquals(3, loads.get());
+        cache.get("b", "v1", () -> page(loads.incrementAndGet()));
+        assertEquals(4, loads.get());
+        assertEquals(2, cache.size());
+        assertEquals(2, cache.getEvictionCount());
+    }
+
+    // Sayfa sayısı sınırın altında olsa da toplam boyut aşılırsa en uzun süredir kullanılmayan sayfalar silinir.
+    @Test
+    void totalBytesAreBounded() {
+        int pageBytes = cache.serialize(page(1)).length;
+        ProductPageCache bounded = new ProductPageCache(100, 1024, 2L * pageBytes);
+        ReflectionTestUtils.setField(bounded, "objectMapper", new ObjectMapper());
+
+        for (int i = 1; i <= 5; i++) {
+            int pageNumber = i;
+            bounded.get("page-" + i, "v1", () -> page(pageNumber));
+        }
+
+        assertEquals(2, bounded.size());
+        assertEquals(2L * pageBytes, bounded.bytes());
+        assertEquals(3, bounded.getEvictionCount());
+        AtomicInteger loads = new AtomicInteger();
+        bounded.get("page-5", "v1", () -> page(loads.incrementAndGet()));
+        bounded.get("page-1", "v1", () -> page(loads.incrementAndGet()));
+        assertEquals(1, loads.get());
+
+        bounded.clear();
+        assertEquals(0, bounded.bytes());
+    }
+
+    // Aynı sayfa için eşzamanlı ıskalamalarda sadece bir istek yükleme yapar.
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        int requests = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(requests);
+        try {
+            List<Future<byte[]>> results = new ArrayList<>();
+            results.add(pool.submit(() -> cache.get("hot", "v1", () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return page(1);
+            })));
+            loading.await();
+            for (int i = 1; i < requests; i++) {
+                results.add(pool.submit(() -> cache.get("hot", "v1", () -> page(loads.incrementAndGet()))));
+            }
+            // Bekleyen isteklerin yüklemeye katılması için süre tanınır.
+            while (cache.getCoalescedCount() < requests - 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            byte[] expected = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<byte[]> result : results) {
+                assertArrayEquals(expected, result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedLoadsAreNotCached() {
+        assertThrows(APIException.class, () -> cache.get("empty", "v1", () -> {
+            throw new APIException("no products");
+        }));
+        assertEquals(0, cache.size());
+        assertNotNull(cache.get("empty", "v1", () -> page(1)));
+    }
+
+    @Test
+    void oversizedPagesAreServedButNotStored() {
+        ProductResponse large = page(1);
+        large.setContent(Collections.nCopies(100, new ProductDTO(
+                1L, "Large product", null, "Description", 1, 1, 0, 1)));
+        byte[] body = cache.get("large", "v1", () -> large);
+        assertTrue(body.length > 1024);
+        assertEquals(0, cache.size());
+    }
+
+    private static ProductResponse page(int pageNumber) {
+        ProductResponse response = new ProductResponse();
+        response.setContent(List.of());
+        response.setPageNumber(pageNumber);
+        return response;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSearchIndexTests {
+
+    ProductSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new ProductSearchIndex();
+        searchIndex.index(product(3L, "Akıllı Telefon", "Çift SIM, 128GB"));
+        searchIndex.index(product(1L, "Telefon kılıfı", "Silikon"));
+        searchIndex.index(product(2L, "Tablet", "10 inç ekran, telefon ile eşleşir"));
+    }
+
+    // Metin küçük harfe çevrilir, harf ve rakam dışındaki karakterlerden bölünür ve tekrarlar atılır.
+    @Test
+    void tokenizeLowercasesAndSplitsOnNonAlphanumerics() {
+        assertArrayEquals(new String[]{"çift", "sim", "128gb"}, ProductSearchIndex.tokenize("Çift SIM, 128GB  sim"));
+        assertArrayEquals(new String[]{"usb", "c", "kablo"}, ProductSearchIndex.tokenize("USB-C/kablo!"));
+        assertEquals(0, ProductSearchIndex.tokenize("  ").length);
+        assertEquals(0, ProductSearchIndex.tokenize(null).length);
+    }
+
+    // Her kelime önek olarak eşleşir, kelimeler arasında AND uygulanır ve sonuç artan ID sırasındadır.
+    @Test
+    void searchMatchesEveryTermAsPrefix() {
+        assertArrayEquals(new long[]{1, 2, 3}, searchIndex.search("tele"));
+        assertArrayEquals(new long[]{1, 2, 3}, searchIndex.search("TELEFON -"));
+        assertArrayEquals(new long[]{1}, searchIndex.search("kılıf tele"));
+        assertArrayEquals(new long[]{3}, searchIndex.search("telefon akıl"));
+        assertArrayEquals(new long[]{2}, searchIndex.search("tab ekr"));
+        assertEquals(0, searchIndex.search("telefon yok").length);
+        // Aranabilir kelime yoksa null döner; çağıran LIKE sorgusuna düşer.
+        assertNull(searchIndex.search("%%"));
+    }
+
+    // Güncellemede eski kelimeler çıkarılır, silinen ürün hiçbir aramada dönmez.
+    @Test
+    void updateReplacesTokensAndRemoveDropsTheProduct() {
+        searchIndex.index(product(1L, "Şarj aleti", "Hızlı şarj"));
+
+        assertArrayEquals(new long[]{2, 3}, searchIndex.search("telefon"));
+        assertArrayEquals(new long[]{1}, searchIndex.search("şarj"));
+
+        searchIndex.remove(3L);
+        assertArrayEquals(new long[]{2}, searchIndex.search("tele"));
+        assertEquals(0, searchIndex.search("akıllı").length);
+
+        // İndekste olmayan bir ürünü silmek bir şey yapmaz.
+        assertDoesNotThrow(() -> searchIndex.remove(42L));
+    }
+
+    // İşlem içindeki değişiklik işlem onaylanınca uygulanır; geri alınan işlemin değişikliği indekse girmez.
+    @Test
+    void changesInsideATransactionWaitForTheCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            searchIndex.index(product(5L, "Hoparlör", "Geri alınan ürün"));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(0, searchIndex.search("hoparlör").length);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            searchIndex.index(product(4L, "Kulaklık", "Kablosuz"));
+            searchIndex.remove(1L);
+            assertEquals(0, searchIndex.search("kulaklık").length);
+            assertArrayEquals(new long[]{1, 2, 3}, searchIndex.search("tele"));
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertArrayEquals(new long[]{4}, searchIndex.search("kulaklık"));
+        assertArrayEquals(new long[]{2, 3}, searchIndex.search("tele"));
+    }
+
+    private static Product product(Long id, String name, String description) {
+        Product product = new Product();
+        product.setProductId(id);
+        product.setProductName(name);
+        product.setDescription(description);
+        return product;
+    }
+}
@@ -0,0 +1,261 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.mapper.ProductMapper;
+import com.ecommerce.project.model.*;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.payload.ProductResponse;
+import com.ecommerce.project.repositories.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProductServiceImplTests {
+
+    @Autowired
+    ProductService productService;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    CartRepository cartRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    CartItemRepository cartItemRepository;
+
+    @Autowired
+    ProductMapper productMapper;
+
+    @Autowired
+    ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    Statistics statistics;
+
+    Category category;
+
+    @BeforeAll
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        category = categoryRepository.save(new Category(null, "Statement Count Category", null));
+
+        // Her ürün birkaç sepette bulunur; katalog sorguları bu sepet satırlarını yüklememelidir.
+        for (int i = 0; i < 30; i++) {
+            Product product = new Product();
+            product.setProductName("Counted product " + i);
+            product.setDescription("Product used by statement count tests");
+            product.setQuantity(100);
+            product.setPrice(10 + i);
+            product.setSpecialPrice(10 + i);
+            product.setCategory(category);
+            product = productRepository.save(product);
+
+            for (int c = 0; c < 3; c++) {
+                User user = userRepository.save(new User("sc" + i + "_" + c, "sc" + i + "_" + c + "@example.com", "password"));
+                Cart cart = new Cart();
+                cart.setUser(user);
+                CartItem item = new CartItem(null, cart, product, 1, 0, product.getSpecialPrice());
+                cart.getCartItems().add(item);
+                cartRepository.save(cart);
+            }
+        }
+    }
+
+    @Test
+    void getAllProductsRunsOnlyPageAndCountQueries() {
+        statistics.clear();
+
+        ProductResponse response = productService.getAllProducts(0, 10, "productId", "asc");
+
+        assertEquals(10, response.getContent().size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void searchByCategoryRunsOnlyCategoryPageAndCountQueries() {
+        // Kategori başka bir testte ikinci seviye önbelleğe girmiş olabilir; ölçüm soğuk önbellekle yapılır.
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        ProductResponse response = productService.searchByCategory(category.getCategoryId(), 0, 10, "productId", "asc");
+
+        assertEquals(10, response.getContent().size());
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    // Eşleşen ürün sayısı IN listesi sınırını aşarsa ID'ler parçalar halinde gönderilir; sonuç ve toplam aynı kalır.
+    @Test
+    void keywordSearchWithTooManyMatchesDoesNotBindEveryId() {
+        productSearchIndex.rebuild();
+        Object target = AopTestUtils.getUltimateTargetObject(productService);
+        int maxInListIds = (int) ReflectionTestUtils.getField(target, "searchMaxInListIds");
+        ProductResponse expected = productService.searchProductByKeyword("Counted product", 1, 5, "price", "desc");
+        ReflectionTestUtils.setField(target, "searchMaxInListIds", 5);
+        try {
+            ProductResponse response = productService.searchProductByKeyword("Counted product", 1, 5, "price", "desc");
+
+            // Sonuç, ID'ler tek sorguda gönderildiğindeki ile aynıdır.
+            assertEquals(30L, (long) response.getTotalElements());
+            assertEquals(expected.getTotalElements(), response.getTotalElements());
+            assertEquals(expected.getContent().stream().map(ProductDTO::getPrice).toList(),
+                    response.getContent().stream().map(ProductDTO::getPrice).toList());
+            assertEquals(34.0, response.getContent().get(0).getPrice());
+            assertEquals(5, response.getContent().size());
+        } finally {
+            ReflectionTestUtils.setField(target, "searchMaxInListIds", maxInListIds);
+        }
+    }
+
+    // Sıralama alanı null olan ürünler de imleçli sayfalamada atlanmadan ve tekrarlanmadan bir kez gelir.
+    @Test
+    void cursorPagingVisitsEveryProductOnceWhenSortValuesAreNull() {
+        List<Product> products = productRepository.findAll();
+        for (int i = 0; i < 3; i++) {
+            products.get(i).setImage("cursor-" + i + ".png");
+        }
+        productRepository.saveAll(products.subList(0, 3));
+
+        for (String sortOrder : new String[] { "asc", "desc" }) {
+            List<Long> seen = new ArrayList<>();
+            String cursor = "";
+            do {
+                ProductResponse page = productService.getAllProductsByCursor(cursor, 7, "image", sortOrder, false);
+                page.getContent().forEach(product -> seen.add(product.getProductId()));
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+
+            assertEquals(products.size(), seen.size(), sortOrder);
+            assertEquals(products.size(), seen.stream().distinct().count(), sortOrder);
+        }
+        assertThrows(APIException.class, () -> productService.getAllProductsByCursor("", 0, "image", "asc", false));
+    }
+
+    @Test
+    void updateProductRepricesEveryCartContainingTheProduct() {
+        Product repriced = saveProduct("Repriced product", 50);
+        Product other = saveProduct("Other cart product", 20);
+        List<Long> cartIds = new ArrayList<>();
+        for (int c = 0; c < 3; c++) {
+            User user = userRepository.save(new User("rp" + c, "rp" + c + "@example.com", "password"));
+            Cart cart = new Cart();
+            cart.setUser(user);
+            cart.getCartItems().add(new CartItem(null, cart, repriced, 2, 0, 50));
+            cart.getCartItems().add(new CartItem(null, cart, other, 1, 0, 20));
+            cart.setTotalPrice(2 * 50.0 + 20.0);
+            cartIds.add(cartRepository.save(cart).getCartId());
+        }
+
+        ProductDTO productDTO = productMapper.toDTO(repriced);
+        productDTO.setSpecialPrice(39.99);
+        productService.updateProduct(repriced.getProductId(), productDTO);
+
+        for (Long cartId : cartIds) {
+            Cart cart = cartRepository.findById(cartId).orElseThrow();
+            assertEquals(120.0 - (50.0 * 2) + (39.99 * 2), cart.getTotalPrice());
+            CartItem item = cartItemRepository.findCartItemByProductIdAndCartId(cartId, repriced.getProductId());
+            assertEquals(39.99, item.getProductPrice());
+        }
+    }
+
+    // Aynı isim kontrolü kategorinin ürün listesini yüklemez; kategori ne kadar büyük olursa olsun
+    // kategori okuma, varlık sorgusu ve ekleme dışında SQL çalışmaz.
+    @Test
+    void addProductChecksDuplicateNamesWithoutLoadingTheCategoryProducts() {
+        ProductDTO productDTO = new ProductDTO(null, "Added product", null, "Product added by duplicate check test", 5, 40, 10, 0);
+
+        statistics.clear();
+        ProductDTO added = productService.addProduct(category.getCategoryId(), productDTO);
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertEquals(36.0, added.getSpecialPrice());
+
+        statistics.clear();
+        assertThrows(APIException.class, () -> productService.addProduct(category.getCategoryId(), productDTO));
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertEquals(0, statistics.getEntityInsertCount());
+
+        // Büyük/küçük harf farkı olan isim de aynı ürün sayılır (toplu içe aktarmadaki kuralla aynı).
+        ProductDTO upperCase = new ProductDTO(null, "ADDED PRODUCT", null, "Product added by duplicate check test", 5, 40, 10, 0);
+        assertThrows(APIException.class, () -> productService.addProduct(category.getCategoryId(), upperCase));
+    }
+
+    // Güncellemede de kategoride aynı isim olamaz; (category_id, normalized_name) kısıtı ihlali APIException olur.
+    @Test
+    void updateProductRejectsTheNameOfAnotherProductInTheCategory() {
+        ProductDTO first = productService.addProduct(category.getCategoryId(),
+                new ProductDTO(null, "Renamed first", null, "Product renamed by the update test", 5, 40, 0, 0));
+        ProductDTO second = productService.addProduct(category.getCategoryId(),
+                new ProductDTO(null, "Renamed second", null, "Product renamed by the update test", 5, 40, 0, 0));
+
+        second.setProductName("RENAMED FIRST");
+        assertThrows(APIException.class, () -> productService.updateProduct(second.getProductId(), second));
+        assertEquals("Renamed second", productRepository.findById(second.getProductId()).orElseThrow().getProductName());
+        assertEquals("Renamed first", productRepository.findById(first.getProductId()).orElseThrow().getProductName());
+    }
+
+    // MySQL'de fetch size yerine sürücünün akış modu kullanılır (useCursorFetch gerekmez); diğer veritabanlarında
+    // ayar olduğu gibi verilir.
+    @Test
+    void exportUsesTheMySqlDriverStreamingMode() {
+        assertEquals(Integer.MIN_VALUE, ProductServiceImpl.jdbcFetchSize(new MySQLDialect(), 500));
+        assertEquals(500, ProductServiceImpl.jdbcFetchSize(new H2Dialect(), 500));
+    }
+
+    // Dışa aktarma tek bir sorgu ile tüm ürünleri satır satır yazar; sepet satırları veya kategoriler yüklenmez.
+    @Test
+    void exportProductsStreamsEveryProductAsOneJsonLineWithASingleQuery() throws Exception {
+        long products = productRepository.count();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        statistics.clear();
+        long exported = productService.exportProducts(out);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(products, exported);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(products, lines.length);
+        ProductDTO first = new ObjectMapper().readValue(lines[0], ProductDTO.class);
+        assertEquals(productRepository.findAll(Sort.by("productId")).get(0).getProductId(), first.getProductId());
+    }
+
+    private Product saveProduct(String name, double price) {
+        Product product = new Product();
+        product.setProductName(name);
+        product.setDescription("Product used by repricing test");
+        product.setQuantity(100);
+        product.setPrice(price);
+        product.setSpecialPrice(price);
+        product.setCategory(category);
+        return productRepository.save(product);
+    }
+}
@@ -0,0 +1,194 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.model.*;
+import com.ecommerce.project.payload.CartDTO;
+import com.ecommerce.project.repositories.*;
+import com.ecommerce.project.security.services.UserDetailsImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:writebehind;DB_CLOSE_DELAY=-1;MODE=MySQL",
+        "spring.app.cart.writeBehind.enabled=true",
+        "spring.app.cart.writeBehind.durability=INTERVAL",
+        "spring.app.cart.writeBehind.flushIntervalMs=3600000"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class WriteBehindCartServiceImplTests {
+
+    @Autowired
+    CartService cartService;
+
+    @Autowired
+    WriteBehindCartStore cartStore;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    CartRepository cartRepository;
+
+    @Autowired
+    CartItemRepository cartItemRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    Category category;
+
+    @BeforeAll
+    void setUp() {
+        category = categoryRepository.save(new Category(null, "Write Behind Category", null));
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void cartChangesAreKeptInMemoryUntilFlushed() {
+        User user = login("wb1");
+        Product product = saveProduct("Write behind product", 25);
+
+        CartDTO cartDTO = cartService.addProductToCart(product.getProductId(), 2);
+        cartService.updateProductQuantityInCart(product.getProductId(), 1);
+
+        assertEquals(75.0, cartService.getCartByEmail(user.getEmail()).getTotalPrice());
+        assertNull(cartItemRepository.findCartItemByProductIdAndCartId(cartDTO.getCartId(), product.getProductId()));
+
+        cartStore.flushDirtyCarts();
+
+        CartItem item = cartItemRepository.findCartItemByProductIdAndCartId(cartDTO.getCartId(), product.getProductId());
+        assertEquals(3, item.getQuantity());
+        assertEquals(75.0, cartRepository.findById(cartDTO.getCartId()).orElseThrow().getTotalPrice());
+    }
+
+    @Test
+    void checkoutFlushesPendingChangesAndDropsTheCachedCart() {
+        User user = login("wb2");
+        Product first = saveProduct("Checkout product A", 10);
+        Product second = saveProduct("Checkout product B", 5);
+
+        CartDTO cartDTO = cartService.addProductToCart(first.getProductId(), 1);
+        cartService.addProductToCart(second.getProductId(), 4);
+        cartService.deleteProductFromCart(cartDTO.getCartId(), first.getProductId());
+
+        cartService.prepareCartForCheckout(user.getEmail());
+
+        assertNull(cartItemRepository.findCartItemByProductIdAndCartId(cartDTO.getCartId(), first.getProductId()));
+        assertEquals(4, cartItemRepository.findCartItemByProductIdAndCartId(cartDTO.getCartId(), second.getProductId()).getQuantity());
+        assertEquals(20.0, cartRepository.findById(cartDTO.getCartId()).orElseThrow().getTotalPrice());
+    }
+
+    // Ödeme işlemi sürerken gelen sepet isteği işlemin bitmesini bekler ve boşaltılmış sepete yazılır;
+    // ne değişiklik kaybolur ne de sipariş edilen satırlar geri gelir.
+    @Test
+    void cartEditsDuringCheckoutAreAppliedAfterTheCheckoutCommits() throws Exception {
+        User user = login("wb4");
+        Product ordered = saveProduct("Ordered during checkout", 10);
+        Product addedLater = saveProduct("Added during checkout", 7);
+        CartDTO cartDTO = cartService.addProductToCart(ordered.getProductId(), 2);
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+
+        CompletableFuture<CartDTO> edit = new CompletableFuture<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            cartService.prepareCartForCheckout(user.getEmail());
+            cartService.clearCart(cartDTO.getCartId());
+            CompletableFuture.runAsync(() -> {
+                SecurityContextHolder.setContext(securityContext);
+                try {
+                    edit.complete(cartService.addProductToCart(addedLater.getProductId(), 3));
+                } catch (RuntimeException e) {
+                    edit.completeExceptionally(e);
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            });
+            assertThrows(TimeoutException.class, () -> edit.get(300, TimeUnit.MILLISECONDS));
+        });
+
+        CartDTO edited = edit.get(10, TimeUnit.SECONDS);
+        assertEquals(1, edited.getProducts().size());
+        assertEquals(21.0, edited.getTotalPrice());
+
+        cartStore.flushDirtyCarts();
+        assertNull(cartItemRepository.findCartItemByProductIdAndCartId(cartDTO.getCartId(), ordered.getProductId()));
+        assertEquals(3, cartItemRepository.findCartItemByProductIdAndCartId(cartDTO.getCartId(), addedLater.getProductId()).getQuantity());
+    }
+
+    @Test
+    void repricingUpdatesCachedCarts() {
+        User user = login("wb3");
+        Product product = saveProduct("Repriced in memory", 40);
+
+        cartService.addProductToCart(product.getProductId(), 2);
+        cartService.updateProductPriceInCarts(product.getProductId(), 30);
+
+        CartDTO cartDTO = cartService.getCartByEmail(user.getEmail());
+        assertEquals(60.0, cartDTO.getTotalPrice());
+        assertEquals(30.0, cartDTO.getProducts().get(0).getSpecialPrice());
+    }
+
+    // Geri alınan ürün güncellemesi ve silmesi bellekteki sepetleri değiştirmez; sonraki yazma eski fiyatı korur.
+    @Test
+    void rolledBackProductChangesLeaveCachedCartsAlone() {
+        User user = login("wb5");
+        Product product = saveProduct("Rolled back reprice", 40);
+        CartDTO cartDTO = cartService.addProductToCart(product.getProductId(), 2);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            cartService.updateProductPriceInCarts(product.getProductId(), 30);
+            cartService.removeProductFromCarts(product.getProductId());
+            status.setRollbackOnly();
+        });
+
+        CartDTO cached = cartService.getCartByEmail(user.getEmail());
+        assertEquals(80.0, cached.getTotalPrice());
+        assertEquals(40.0, cached.getProducts().get(0).getSpecialPrice());
+        cartStore.flushDirtyCarts();
+        assertEquals(40.0, cartItemRepository.findCartItemByProductIdAndCartId(cartDTO.getCartId(), product.getProductId())
+                .getProductPrice());
+    }
+
+    private User login(String username) {
+        User user = userRepository.save(new User(username, username + "@example.com", "password"));
+        UserDetailsImpl principal = new UserDetailsImpl(user.getUserId(), user.getUserName(), user.getEmail(),
+                user.getPassword(), List.of());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        return user;
+    }
+
+    private Product saveProduct(String name, double price) {
+        Product product = new Product();
+        product.setProductName(name);
+        product.setDescription("Product used by write-behind cart tests");
+        product.setQuantity(100);
+        product.setPrice(price);
+        product.setSpecialPrice(price);
+        product.setCategory(category);
+        return productRepository.save(product);
+    }
+}
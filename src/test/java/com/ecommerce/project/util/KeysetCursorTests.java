@@ -0,0 +1,72 @@
+package com.ecommerce.project.util;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.model.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetCursorTests {
+
+    @Test
+    void encodedCursorDecodesToTheSameSortValueAndId() {
+        String token = KeysetCursor.encode(product(42L, "Phone, 128GB ç"), "productName", true, 42L);
+
+        KeysetCursor cursor = KeysetCursor.decode(token, "productName", true);
+
+        assertEquals("Phone, 128GB ç", ReflectionTestUtils.getField(cursor, "lastValue"));
+        assertEquals(42L, ReflectionTestUtils.getField(cursor, "lastId"));
+        assertFalse(token.contains("="), "URL-safe without padding");
+    }
+
+    // null sıralama değeri "null" metninden ayrı kodlanır.
+    @Test
+    void nullSortValueIsEncodedExplicitly() {
+        Product withNullImage = product(7L, "No image");
+        Product withNullText = product(8L, "Text image");
+        withNullText.setImage("null");
+
+        KeysetCursor nullCursor = KeysetCursor.decode(KeysetCursor.encode(withNullImage, "image", false, 7L), "image", false);
+        KeysetCursor textCursor = KeysetCursor.decode(KeysetCursor.encode(withNullText, "image", false, 8L), "image", false);
+
+        assertNull(ReflectionTestUtils.getField(nullCursor, "lastValue"));
+        assertEquals("null", ReflectionTestUtils.getField(textCursor, "lastValue"));
+    }
+
+    @Test
+    void cursorForAnotherSortOrGarbageIsRejected() {
+        String token = KeysetCursor.encode(product(1L, "Phone"), "productName", true, 1L);
+
+        assertThrows(APIException.class, () -> KeysetCursor.decode(token, "productName", false));
+        assertThrows(APIException.class, () -> KeysetCursor.decode(token, "price", true));
+        assertThrows(APIException.class, () -> KeysetCursor.decode("not a cursor!", "productName", true));
+        String oldFormat = Base64.getUrlEncoder().encodeToString("productName\u001Ftrue\u001FPhone\u001F1".getBytes());
+        assertThrows(APIException.class, () -> KeysetCursor.decode(oldFormat, "productName", true));
+        assertNull(KeysetCursor.decode(" ", "productName", true));
+    }
+
+    // Bir fazla kayıt geldiyse imleç sayfanın son elemanından üretilir; sayfa boyutu en az 1 olmalıdır.
+    @Test
+    void nextCursorPointsAtTheLastElementOfThePage() {
+        List<Product> fetched = List.of(product(1L, "A"), product(2L, "B"), product(3L, "C"));
+
+        String next = KeysetCursor.nextCursor(fetched, 2, "productName", true, Product::getProductId);
+
+        assertEquals(2L, ReflectionTestUtils.getField(KeysetCursor.decode(next, "productName", true), "lastId"));
+        assertNull(KeysetCursor.nextCursor(fetched, 3, "productName", true, Product::getProductId));
+        assertThrows(APIException.class, () -> KeysetCursor.nextCursor(fetched, 0, "productName", true, Product::getProductId));
+        assertThrows(APIException.class, () -> KeysetCursor.checkPageSize(-1));
+        assertThrows(APIException.class, () -> KeysetCursor.checkPageSize(null));
+    }
+
+    private static Product product(Long id, String name) {
+        Product product = new Product();
+        product.setProductId(id);
+        product.setProductName(name);
+        return product;
+    }
+}